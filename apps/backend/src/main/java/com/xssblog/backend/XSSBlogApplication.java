@@ -1,13 +1,19 @@
 package com.xssblog.backend;
 
+import com.xssblog.backend.monitoring.StartupProfiling;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class XSSBlogApplication {
     public static void main(String[] args) {
-        SpringApplication.run(XSSBlogApplication.class, args);
+        SpringApplication application = new SpringApplication(XSSBlogApplication.class);
+        // 记录启动步骤耗时，管理员可通过 /api/admin/startup 查看
+        StartupProfiling.configure(application);
+        application.run(args);
     }
 }
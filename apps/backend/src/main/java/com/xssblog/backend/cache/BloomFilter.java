@@ -0,0 +1,130 @@
+package com.xssblog.backend.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程安全的布隆过滤器（字符串键）
+ *
+ * - 位数组基于 AtomicLongArray，put 使用 CAS 置位，读写无锁
+ * - k 个下标由两个 64 位哈希组合得到（Kirsch-Mitzenmacher：h1 + i * h2）
+ * - 只会误判存在（false positive），不会漏判；不支持删除，需要定期重建
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final LongAdder bitsSet = new LongAdder();
+
+    private BloomFilter(long bitCount, int hashFunctions) {
+        this.bitCount = bitCount;
+        this.hashFunctions = hashFunctions;
+        this.words = new AtomicLongArray(Math.toIntExact((bitCount + 63) >>> 6));
+    }
+
+    /**
+     * 按预期元素数和目标误判率创建过滤器
+     *
+     * @param expectedInsertions 预期元素数
+     * @param fpp 目标误判率（0, 1）
+     * @return 空过滤器
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp must be in (0, 1): " + fpp);
+        }
+        long n = Math.max(1, expectedInsertions);
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int k = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, k);
+    }
+
+    /**
+     * 加入元素
+     *
+     * @return 是否有位发生变化（false 表示该元素很可能已存在）
+     */
+    public boolean put(String key) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL);
+        boolean changed = false;
+        for (int i = 0; i < hashFunctions; i++) {
+            changed |= setBit(index(h1, h2, i));
+        }
+        return changed;
+    }
+
+    /**
+     * 判断元素是否可能存在
+     *
+     * @return false 表示一定不存在；true 表示可能存在
+     */
+    public boolean mightContain(String key) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = index(h1, h2, i);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按当前置位比例估算的误判率：(置位数 / 总位数)^k
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitsSet.sum() / bitCount, hashFunctions);
+    }
+
+    /**
+     * 位数组大小（位）
+     */
+    public long bitCount() {
+        return bitCount;
+    }
+
+    /**
+     * 哈希函数个数
+     */
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    private long index(long h1, long h2, int i) {
+        return ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+    }
+
+    private boolean setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        while (true) {
+            long current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(word, current, current | mask)) {
+                bitsSet.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 字符逐个混入后做 murmur3 fmix64 终混
+     */
+    private static long hash(String key, long seed) {
+        long h = seed ^ key.length();
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
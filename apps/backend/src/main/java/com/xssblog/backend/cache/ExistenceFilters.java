@@ -0,0 +1,271 @@
+package com.xssblog.backend.cache;
+
+import com.xssblog.backend.config.BloomFilterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 存在性过滤器（文章 slug、用户名、邮箱）
+ *
+ * 扫描器大量请求随机的 slug / 用户名，每次都要查询一次数据库才能返回 404。
+ * 这里为每类键维护一个布隆过滤器，过滤器判定“一定不存在”时直接返回，不访问数据库：
+ * - 启动后在调度线程中构建，构建完成前所有查询照常访问数据库
+ * - 应用内新增（注册用户）时同步加入过滤器
+ * - 定期重建以清除已删除的键，并纳入绕过应用直接写库的数据（如 datagen、手工 SQL）
+ *
+ * 重建期间的新增先记入最近新增队列，新过滤器替换前后各回放一次，
+ * 保证扫描快照之外的新键不会丢失（丢失会导致已存在的数据被判定为 404）。
+ *
+ * 键按排序规则归一化：表使用 utf8mb4_unicode_ci，除大小写外还忽略重音和末尾空格，
+ * "Alice"、"alicé" 与 "alice " 在数据库中视为同一个值。归一化只允许比排序规则更粗
+ * （多出的碰撞只会多一次数据库查询），不允许更细（否则已存在的数据会被判定为 404）。
+ *
+ * 指标：
+ * - xssblog.bloom.checks{filter, result=negative|positive}：查询次数
+ * - xssblog.bloom.false.positives{filter}：过滤器判定可能存在、数据库中却不存在的次数
+ * - xssblog.bloom.expected.fpp{filter}：按置位比例估算的误判率
+ */
+@Component
+public class ExistenceFilters {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(ExistenceFilters.class);
+
+    /**
+     * 最近新增的保留时间，应长于任何写事务的持续时间
+     */
+    private static final long RECENT_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    /**
+     * 归一化时丢弃的字符：组合附加符号（重音）、格式字符（零宽字符等）、控制字符
+     */
+    private static final Pattern IGNORABLE = Pattern.compile("[\\p{M}\\p{Cf}\\p{Cc}]+");
+
+    /**
+     * 过滤器类型
+     */
+    public enum Key {
+        ARTICLE_SLUG("articles", "slug"),
+        USERNAME("users", "username"),
+        EMAIL("users", "email");
+
+        private final String table;
+        private final String column;
+
+        Key(String table, String column) {
+            this.table = table;
+            this.column = column;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BloomFilterProperties properties;
+    private final Map<Key, Filter> filters = new EnumMap<>(Key.class);
+
+    /**
+     * 构造函数注入依赖并注册指标
+     */
+    public ExistenceFilters(JdbcTemplate jdbcTemplate, BloomFilterProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        for (Key key : Key.values()) {
+            String name = key.name().toLowerCase(Locale.ROOT);
+            Filter filter = new Filter(
+                Counter.builder("xssblog.bloom.checks").tag("filter", name).tag("result", "negative").register(meterRegistry),
+                Counter.builder("xssblog.bloom.checks").tag("filter", name).tag("result", "positive").register(meterRegistry),
+                Counter.builder("xssblog.bloom.false.positives").tag("filter", name).register(meterRegistry));
+            Gauge.builder("xssblog.bloom.expected.fpp", filter, f -> f.current == null ? 0 : f.current.expectedFpp())
+                .tag("filter", name)
+                .register(meterRegistry);
+            filters.put(key, filter);
+        }
+    }
+
+    /**
+     * 判断键是否可能存在
+     *
+     * @return false 表示一定不存在，可以不查询数据库；过滤器未就绪或已关闭时总是返回 true
+     */
+    public boolean mightExist(Key key, String value) {
+        Filter filter = filters.get(key);
+        BloomFilter current = filter.current;
+        if (current == null || value == null || !properties.getEnabled()) {
+            return true;
+        }
+        if (current.mightContain(normalize(value))) {
+            filter.positives.increment();
+            return true;
+        }
+        filter.negatives.increment();
+        return false;
+    }
+
+    /**
+     * 过滤器判定可能存在、但数据库中不存在（用于统计实际误判率）
+     */
+    public void recordFalsePositive(Key key) {
+        filters.get(key).falsePositives.increment();
+    }
+
+    /**
+     * 新增键（在写入数据库的事务中调用；事务回滚只会多一个误判，不影响正确性）
+     */
+    public void add(Key key, String value) {
+        if (value == null) {
+            return;
+        }
+        String normalized = normalize(value);
+        Filter filter = filters.get(key);
+        // 先记入最近新增，再写入当前过滤器，与重建时的两次回放配合保证不丢失
+        long now = System.nanoTime();
+        filter.recent.add(new RecentKey(normalized, now));
+        pruneRecent(filter, now);
+        BloomFilter current = filter.current;
+        if (current != null) {
+            current.put(normalized);
+        }
+    }
+
+    /**
+     * 重建所有过滤器（启动后立即执行一次，之后按 bloom.rebuild-interval-ms 定期执行）
+     */
+    @Scheduled(fixedDelayString = "${bloom.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!properties.getEnabled()) {
+            return;
+        }
+        for (Key key : Key.values()) {
+            try {
+                rebuild(key);
+            } catch (RuntimeException e) {
+                // 保留旧过滤器（或保持未就绪），下次重建再试
+                log.warn("Failed to rebuild {} bloom filter: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private void rebuild(Key key) {
+        Filter filter = filters.get(key);
+        long startedAt = System.nanoTime();
+        Long rows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + key.table + " WHERE " + key.column + " IS NOT NULL", Long.class);
+        long expected = Math.max(properties.getMinExpectedInsertions(),
+            (long) (rows * properties.getGrowthFactor()));
+        BloomFilter next = BloomFilter.create(expected, properties.getFpp());
+
+        String sql = "SELECT id, " + key.column + " FROM " + key.table
+            + " WHERE id > ? AND " + key.column + " IS NOT NULL ORDER BY id LIMIT ?";
+        long[] lastId = {0};
+        int batchSize = properties.getScanBatchSize();
+        int[] fetched = new int[1];
+        do {
+            fetched[0] = 0;
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                lastId[0] = rs.getLong(1);
+                next.put(normalize(rs.getString(2)));
+                fetched[0]++;
+            }, lastId[0], batchSize);
+        } while (fetched[0] == batchSize);
+
+        // 替换前后各回放一次最近新增：覆盖扫描快照之外（尚未提交）以及替换过程中的新增
+        replayRecent(filter, next, startedAt);
+        filter.current = next;
+        replayRecent(filter, next, startedAt);
+        pruneRecent(filter, System.nanoTime());
+
+        log.info("Rebuilt {} bloom filter: {} keys, {} bits, {} hash functions in {} ms", key, rows,
+            next.bitCount(), next.hashFunctions(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private static void replayRecent(Filter filter, BloomFilter target, long scanStartedAt) {
+        for (RecentKey recent : filter.recent) {
+            if (recent.addedAt - (scanStartedAt - RECENT_RETENTION_NANOS) >= 0) {
+                target.put(recent.value);
+            }
+        }
+    }
+
+    private static void pruneRecent(Filter filter, long now) {
+        RecentKey head;
+        while ((head = filter.recent.peek()) != null && now - head.addedAt > RECENT_RETENTION_NANOS) {
+            filter.recent.poll();
+        }
+    }
+
+    /**
+     * 按 utf8mb4_unicode_ci 的比较规则归一化：忽略大小写、重音（含兼容字符与连字）和末尾空格
+     */
+    private static String normalize(String value) {
+        String lower = value.toLowerCase(Locale.ROOT);
+        if (isPrintableAscii(lower)) {
+            return lower.stripTrailing();
+        }
+        String folded = IGNORABLE.matcher(Normalizer.normalize(lower, Normalizer.Form.NFKD)).replaceAll("");
+        StringBuilder result = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            switch (c) {
+                // 排序规则中按多个字母比较的字符
+                case 'ß' -> result.append("ss");
+                case 'æ' -> result.append("ae");
+                case 'œ' -> result.append("oe");
+                // 不能分解的带笔画字母，折叠到基本字母（比排序规则粗，只会多一次查询）
+                case 'ø' -> result.append('o');
+                case 'đ' -> result.append('d');
+                case 'ł' -> result.append('l');
+                case 'ħ' -> result.append('h');
+                case 'ı' -> result.append('i');
+                default -> result.append(c);
+            }
+        }
+        return result.toString().stripTrailing();
+    }
+
+    private static boolean isPrintableAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c > 0x7e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record RecentKey(String value, long addedAt) {
+    }
+
+    /**
+     * 单个过滤器及其指标
+     */
+    private static final class Filter {
+        private volatile BloomFilter current;
+        private final Queue<RecentKey> recent = new ConcurrentLinkedQueue<>();
+        private final Counter negatives;
+        private final Counter positives;
+        private final Counter falsePositives;
+
+        private Filter(Counter negatives, Counter positives, Counter falsePositives) {
+            this.negatives = negatives;
+            this.positives = positives;
+            this.falsePositives = falsePositives;
+        }
+    }
+}
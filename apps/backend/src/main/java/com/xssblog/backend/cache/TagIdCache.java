@@ -0,0 +1,70 @@
+package com.xssblog.backend.cache;
+
+import com.xssblog.backend.entity.Tag;
+import com.xssblog.backend.repository.TagRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 标签名称 -> ID 缓存
+ *
+ * 批量导入时每篇文章都带若干标签，逐个 findByName 会让查询数随文章数线性增长。
+ * 标签数量少且几乎不删除，这里在 TagRepository.findByName 前加一层内存缓存：
+ * - 命中缓存直接返回 ID
+ * - 未命中时查询一次，不存在则插入（并发插入同名标签时唯一约束冲突，改为重新查询）
+ *
+ * 键转为小写：tags.name 使用大小写不敏感的排序规则。
+ */
+@Component
+public class TagIdCache {
+
+    /**
+     * 新建标签的默认颜色
+     */
+    private static final String[] COLORS = {"#3498DB", "#42B883", "#E67E22", "#9B59B6", "#1ABC9C", "#95A5A6"};
+
+    private final TagRepository tagRepository;
+    private final Map<String, Long> ids = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数注入依赖
+     */
+    public TagIdCache(TagRepository tagRepository) {
+        this.tagRepository = tagRepository;
+    }
+
+    /**
+     * 获取标签 ID，标签不存在时创建
+     *
+     * 不能在外层事务中调用：插入冲突会使外层事务无法继续使用。
+     *
+     * @param name 标签名称（已去除首尾空白）
+     * @return 标签 ID
+     */
+    public Long resolve(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        Long cached = ids.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Long id = tagRepository.findByName(name).map(Tag::getId).orElseGet(() -> insert(name));
+        ids.put(key, id);
+        return id;
+    }
+
+    private Long insert(String name) {
+        Tag tag = new Tag();
+        tag.setName(name);
+        tag.setColor(COLORS[Math.floorMod(name.toLowerCase(Locale.ROOT).hashCode(), COLORS.length)]);
+        try {
+            return tagRepository.saveAndFlush(tag).getId();
+        } catch (DataIntegrityViolationException e) {
+            // 其他请求刚刚插入了同名标签
+            return tagRepository.findByName(name).map(Tag::getId).orElseThrow(() -> e);
+        }
+    }
+}
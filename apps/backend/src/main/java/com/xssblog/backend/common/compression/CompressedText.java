@@ -0,0 +1,116 @@
+package com.xssblog.backend.common.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 文本列压缩编码
+ *
+ * 较长的 HTML 用 JDK Deflater 压缩后 Base64 编码，仍然存放在原来的 TEXT / LONGTEXT 列中，格式为：
+ * <pre>
+ * U+0001 "deflate:" {UTF-8 原始字节数} ":" {Base64(zlib 数据)}
+ * </pre>
+ * 前缀自描述压缩算法，不带前缀的值按原文读取，因此旧数据无需迁移即可读取，之后由 TextRecompressor 逐块压缩。
+ *
+ * 原文本身以前缀开头时总是压缩存储，保证解码结果与原文一致；带前缀但无法解码的值按原文返回。
+ */
+public final class CompressedText {
+
+    /**
+     * 压缩值前缀（以控制字符开头，正常 HTML 不会以此开头）
+     */
+    public static final String PREFIX = "\u0001deflate:";
+
+    /**
+     * 解码时允许的最大原始字节数（防止损坏或伪造的长度导致超大分配）
+     */
+    private static final int MAX_DECODED_BYTES = 64 * 1024 * 1024;
+
+    private CompressedText() {
+    }
+
+    /**
+     * 是否为压缩值
+     */
+    public static boolean isCompressed(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    /**
+     * 压缩文本
+     *
+     * @param text 原文
+     * @param minChars 不低于该长度才压缩
+     * @param level Deflater 压缩级别（1-9）
+     * @return 压缩值；原文过短或压缩后不比原文（UTF-8 字节数）更短时返回原文
+     */
+    public static String compress(String text, int minChars, int level) {
+        if (text == null) {
+            return null;
+        }
+        boolean ambiguous = isCompressed(text);
+        if (!ambiguous && text.length() < minChars) {
+            return text;
+        }
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            String encoded = PREFIX + raw.length + ':' + Base64.getEncoder().encodeToString(out.toByteArray());
+            return ambiguous || encoded.length() < raw.length ? encoded : text;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 解码存储值
+     *
+     * @param stored 数据库中的值
+     * @return 原文（不是压缩值或无法解码时原样返回）
+     */
+    public static String decompress(String stored) {
+        if (!isCompressed(stored)) {
+            return stored;
+        }
+        int separator = stored.indexOf(':', PREFIX.length());
+        if (separator < 0) {
+            return stored;
+        }
+        try {
+            int length = Integer.parseInt(stored, PREFIX.length(), separator, 10);
+            if (length < 0 || length > MAX_DECODED_BYTES) {
+                return stored;
+            }
+            byte[] compressed = Base64.getDecoder().decode(stored.substring(separator + 1));
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                byte[] raw = new byte[length];
+                int read = 0;
+                while (read < length) {
+                    int n = inflater.inflate(raw, read, length - read);
+                    if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    read += n;
+                }
+                return read == length ? new String(raw, StandardCharsets.UTF_8) : stored;
+            } finally {
+                inflater.end();
+            }
+        } catch (IllegalArgumentException | DataFormatException e) {
+            return stored;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.xssblog.backend.common.compression;
+
+import com.xssblog.backend.config.CompressionProperties;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 大文本压缩转换器
+ *
+ * 用于文章正文、评论内容、用户简介：写入时超过 compression.min-chars 的值压缩存储，
+ * 读取时识别 CompressedText 前缀解压，未压缩的旧数据原样返回。
+ * 由 Hibernate 通过 Spring 容器创建，注入压缩配置。
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    private final CompressionProperties properties;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public CompressedTextConverter(CompressionProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        // 关闭压缩时只处理以前缀开头的原文，保证读写一致
+        int minChars = properties.isEnabled() ? properties.getMinChars() : Integer.MAX_VALUE;
+        return CompressedText.compress(attribute, minChars, properties.getLevel());
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return CompressedText.decompress(dbData);
+    }
+}
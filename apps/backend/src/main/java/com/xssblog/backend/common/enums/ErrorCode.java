@@ -25,6 +25,11 @@ public enum ErrorCode {
      */
     RESOURCE_NOT_FOUND("RESOURCE_NOT_FOUND", "Resource not found", 404),
     
+    /**
+     * 服务暂时不可用（容量已满等）
+     */
+    SERVICE_UNAVAILABLE("SERVICE_UNAVAILABLE", "Service temporarily unavailable", 503),
+    
     // ==================== 认证错误 ====================
     
     /**
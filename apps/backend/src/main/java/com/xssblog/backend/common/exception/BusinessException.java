@@ -7,9 +7,18 @@ import com.xssblog.backend.common.enums.ErrorCode;
  * 
  * 用于封装业务层的异常信息，包括错误码、错误消息和 HTTP 状态码。
  * 所有具体的业务异常应该继承此类。
+ * 
+ * 预期内的异常（资源不存在、凭证错误、用户已存在等）由子类以 expected = true 构造，
+ * 不记录堆栈：扫描器制造的大量 404/401 不再为每个请求遍历一次调用栈。
+ * 排查问题时可通过 -Dbusiness-exception.stack-traces=true 恢复堆栈。
  */
 public class BusinessException extends RuntimeException {
     
+    /**
+     * 是否为预期内的异常记录堆栈
+     */
+    private static final boolean EXPECTED_STACK_TRACES = Boolean.getBoolean("business-exception.stack-traces");
+    
     /**
      * 错误码
      */
@@ -56,6 +65,19 @@ public class BusinessException extends RuntimeException {
         this.status = status;
     }
     
+    /**
+     * 构造预期内（或非预期）的业务异常
+     * 
+     * @param errorCode 错误码枚举
+     * @param message 错误消息
+     * @param expected 是否为预期内的控制流异常（true 时不记录堆栈、不支持 suppressed 异常）
+     */
+    protected BusinessException(ErrorCode errorCode, String message, boolean expected) {
+        super(message, null, !expected, !expected || EXPECTED_STACK_TRACES);
+        this.code = errorCode.getCode();
+        this.status = errorCode.getStatus();
+    }
+    
     public String getCode() {
         return code;
     }
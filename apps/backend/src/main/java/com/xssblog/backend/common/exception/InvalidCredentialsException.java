@@ -6,6 +6,7 @@ import com.xssblog.backend.common.enums.ErrorCode;
  * 无效凭证异常
  * 
  * 当用户登录时提供的用户名或密码错误时抛出此异常。
+ * 属于预期内的异常，不记录堆栈。
  */
 public class InvalidCredentialsException extends BusinessException {
     
@@ -13,7 +14,7 @@ public class InvalidCredentialsException extends BusinessException {
      * 使用默认错误码和消息构造异常
      */
     public InvalidCredentialsException() {
-        super(ErrorCode.INVALID_CREDENTIALS);
+        super(ErrorCode.INVALID_CREDENTIALS, ErrorCode.INVALID_CREDENTIALS.getMessage(), true);
     }
     
     /**
@@ -22,6 +23,6 @@ public class InvalidCredentialsException extends BusinessException {
      * @param message 自定义错误消息
      */
     public InvalidCredentialsException(String message) {
-        super(ErrorCode.INVALID_CREDENTIALS, message);
+        super(ErrorCode.INVALID_CREDENTIALS, message, true);
     }
 }
@@ -9,6 +9,8 @@ import com.xssblog.backend.common.enums.ErrorCode;
  * - 文章不存在
  * - 用户不存在
  * - 评论不存在
+ * 
+ * 属于预期内的异常，不记录堆栈。
  */
 public class ResourceNotFoundException extends BusinessException {
     
@@ -16,7 +18,7 @@ public class ResourceNotFoundException extends BusinessException {
      * 使用默认错误码构造异常
      */
     public ResourceNotFoundException() {
-        super(ErrorCode.RESOURCE_NOT_FOUND);
+        super(ErrorCode.RESOURCE_NOT_FOUND, ErrorCode.RESOURCE_NOT_FOUND.getMessage(), true);
     }
     
     /**
@@ -25,7 +27,7 @@ public class ResourceNotFoundException extends BusinessException {
      * @param message 自定义错误消息
      */
     public ResourceNotFoundException(String message) {
-        super(ErrorCode.RESOURCE_NOT_FOUND, message);
+        super(ErrorCode.RESOURCE_NOT_FOUND, message, true);
     }
     
     /**
@@ -36,6 +38,6 @@ public class ResourceNotFoundException extends BusinessException {
      */
     public ResourceNotFoundException(String resourceType, Object resourceId) {
         super(ErrorCode.RESOURCE_NOT_FOUND, 
-              String.format("%s not found with id: %s", resourceType, resourceId));
+              String.format("%s not found with id: %s", resourceType, resourceId), true);
     }
 }
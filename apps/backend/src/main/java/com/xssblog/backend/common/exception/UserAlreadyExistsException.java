@@ -6,6 +6,7 @@ import com.xssblog.backend.common.enums.ErrorCode;
  * 用户已存在异常
  * 
  * 当注册时用户名或邮箱已被占用时抛出此异常。
+ * 属于预期内的异常，不记录堆栈。
  */
 public class UserAlreadyExistsException extends BusinessException {
     
@@ -13,7 +14,7 @@ public class UserAlreadyExistsException extends BusinessException {
      * 使用默认错误码和消息构造异常
      */
     public UserAlreadyExistsException() {
-        super(ErrorCode.USER_ALREADY_EXISTS);
+        super(ErrorCode.USER_ALREADY_EXISTS, ErrorCode.USER_ALREADY_EXISTS.getMessage(), true);
     }
     
     /**
@@ -22,7 +23,7 @@ public class UserAlreadyExistsException extends BusinessException {
      * @param message 自定义错误消息
      */
     public UserAlreadyExistsException(String message) {
-        super(ErrorCode.USER_ALREADY_EXISTS, message);
+        super(ErrorCode.USER_ALREADY_EXISTS, message, true);
     }
     
     /**
@@ -32,6 +33,6 @@ public class UserAlreadyExistsException extends BusinessException {
      */
     public UserAlreadyExistsException(String field, String value) {
         super(ErrorCode.USER_ALREADY_EXISTS, 
-              String.format("%s '%s' is already in use", field, value));
+              String.format("%s '%s' is already in use", field, value), true);
     }
 }
@@ -0,0 +1,118 @@
+package com.xssblog.backend.common.response;
+
+import com.xssblog.backend.common.enums.ErrorCode;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 错误响应体序列化
+ *
+ * 输出与 Jackson 序列化 ErrorResponse 逐字节相同的 JSON，但不经过 Jackson：
+ * - 字段顺序与 Jackson 一致：构造函数参数（code、message、path）在前，timestamp 在后
+ * - 每个 ErrorCode 使用默认消息时，{"code":...,"message":...,"path": 前缀在类加载时预先序列化
+ * - 每次请求只追加 path 和 timestamp
+ * - 字符串转义规则与 Jackson 默认一致（ErrorBodiesTest 逐字节比对）
+ *
+ * 用于扫描流量触发的大量 404/401 等错误路径。
+ */
+public final class ErrorBodies {
+
+    private static final byte[] TIMESTAMP_FIELD = ",\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 错误码 -> 默认消息对应的预序列化前缀
+     */
+    private static final Map<String, Prefix> PREFIXES = new HashMap<>();
+
+    static {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            PREFIXES.put(errorCode.getCode(),
+                new Prefix(errorCode.getMessage(), prefix(errorCode.getCode(), errorCode.getMessage())));
+        }
+    }
+
+    private ErrorBodies() {
+    }
+
+    /**
+     * 序列化错误响应体
+     *
+     * @param code 错误码
+     * @param message 错误消息
+     * @param path 请求路径
+     * @return UTF-8 编码的 JSON
+     */
+    public static byte[] render(String code, String message, String path) {
+        return render(code, message, LocalDateTime.now(), path);
+    }
+
+    /**
+     * 序列化指定时间的错误响应体（timestamp 格式与 ErrorResponse 相同）
+     */
+    static byte[] render(String code, String message, LocalDateTime now, String path) {
+        Prefix cached = PREFIXES.get(code);
+        byte[] prefix = cached != null && cached.message().equals(message) ? cached.bytes() : prefix(code, message);
+        byte[] timestamp = now.format(DateTimeFormatter.ISO_DATE_TIME).getBytes(StandardCharsets.US_ASCII);
+        byte[] escapedPath = quote(path).getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+            prefix.length + escapedPath.length + TIMESTAMP_FIELD.length + timestamp.length + END.length);
+        out.writeBytes(prefix);
+        out.writeBytes(escapedPath);
+        out.writeBytes(TIMESTAMP_FIELD);
+        out.writeBytes(timestamp);
+        out.writeBytes(END);
+        return out.toByteArray();
+    }
+
+    /**
+     * 使用错误码的默认消息序列化错误响应体
+     */
+    public static byte[] render(ErrorCode errorCode, String path) {
+        return render(errorCode.getCode(), errorCode.getMessage(), path);
+    }
+
+    private static byte[] prefix(String code, String message) {
+        return ("{\"code\":" + quote(code) + ",\"message\":" + quote(message) + ",\"path\":")
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * JSON 字符串字面量（null 输出为 null）
+     */
+    static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04X", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private record Prefix(String message, byte[] bytes) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.xssblog.backend.common.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 统一分页响应类
+ *
+ * 替代直接返回 Spring Data 的 Page（PageImpl 的 JSON 结构包含 pageable、sort 等冗余字段，
+ * Spring 也提示其结构不保证稳定）。输出固定为：
+ * <pre>
+ * {"content":[...],"page":0,"size":10,"totalElements":42,"totalPages":5}
+ * </pre>
+ * content 字段名与原结构一致，前端无需修改。
+ *
+ * 序列化使用 JsonGenerator 逐个字段写出，内容列表直接引用 Page 的 content，不复制、不构造中间对象。
+ *
+ * @param <T> 元素类型
+ */
+@JsonSerialize(using = PageResponse.Serializer.class)
+public final class PageResponse<T> {
+
+    private final List<T> content;
+    private final int page;
+    private final int size;
+    private final long totalElements;
+    private final int totalPages;
+
+    private PageResponse(List<T> content, int page, int size, long totalElements, int totalPages) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+
+    /**
+     * 从 Spring Data 分页结果创建
+     *
+     * @param page 分页结果
+     * @return 分页响应
+     */
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(),
+            page.getTotalElements(), page.getTotalPages());
+    }
+
+    // Getter 方法
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    /**
+     * 流式序列化器
+     *
+     * 元素序列化器按元素类型查找一次（同一页的元素类型相同），之后逐个写出。
+     */
+    static final class Serializer extends JsonSerializer<PageResponse<?>> {
+
+        @Override
+        public void serialize(PageResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName("content");
+            List<?> content = value.content;
+            gen.writeStartArray(content, content.size());
+            Class<?> elementType = null;
+            JsonSerializer<Object> elementSerializer = null;
+            for (Object element : content) {
+                if (element == null) {
+                    gen.writeNull();
+                    continue;
+                }
+                if (element.getClass() != elementType) {
+                    elementType = element.getClass();
+                    elementSerializer = provider.findValueSerializer(elementType);
+                }
+                elementSerializer.serialize(element, gen, provider);
+            }
+            gen.writeEndArray();
+            gen.writeNumberField("page", value.page);
+            gen.writeNumberField("size", value.size);
+            gen.writeNumberField("totalElements", value.totalElements);
+            gen.writeNumberField("totalPages", value.totalPages);
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章批量导入配置类
+ *
+ * 配置来源：application.yml 中的 article-import
+ */
+@Configuration
+@ConfigurationProperties(prefix = "article-import")
+public class ArticleImportProperties {
+
+    /**
+     * 每批写入的文章数（一个事务、一次 id 块分配、一次 JDBC 批量插入），每批完成后输出该批结果
+     * 默认值：500
+     */
+    private Integer batchSize = 500;
+
+    /**
+     * 每篇文章最多的标签数
+     * 默认值：10
+     */
+    private Integer maxTagsPerArticle = 10;
+
+    // Getter 和 Setter 方法
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Integer getMaxTagsPerArticle() {
+        return maxTagsPerArticle;
+    }
+
+    public void setMaxTagsPerArticle(Integer maxTagsPerArticle) {
+        this.maxTagsPerArticle = maxTagsPerArticle;
+    }
+}
@@ -0,0 +1,40 @@
+package com.xssblog.backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * 二进制格式配置类
+ *
+ * 移动端、爬虫、后台工具解析大页面 JSON 开销较大，API 同时支持：
+ * - CBOR：Accept / Content-Type 为 application/cbor
+ * - Smile：Accept / Content-Type 为 application/x-jackson-smile
+ *
+ * 与 JSON 使用同一套 DTO，ObjectMapper 由 Spring Boot 的 Jackson2ObjectMapperBuilder（原型作用域，每次注入一个新实例）创建，
+ * spring.jackson.* 配置（日期格式、模块等）对三种格式一致生效。
+ * 未指定 Accept 或 Accept 为 application/json 时仍返回 JSON。
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    /**
+     * CBOR 消息转换器（响应与请求体）
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Smile 消息转换器（响应与请求体）
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
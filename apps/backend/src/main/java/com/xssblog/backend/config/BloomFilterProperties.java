@@ -0,0 +1,102 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 布隆过滤器配置类
+ *
+ * 内存中维护已存在的文章 slug、用户名、邮箱，查询一定不存在的键时直接返回 404，不访问数据库。
+ *
+ * 配置来源：application.yml 中的 bloom
+ */
+@Configuration
+@ConfigurationProperties(prefix = "bloom")
+public class BloomFilterProperties {
+
+    /**
+     * 是否启用（关闭后所有查询照常访问数据库）
+     * 默认值：true
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 目标误判率
+     * 默认值：0.01
+     */
+    private Double fpp = 0.01;
+
+    /**
+     * 重建时按现有行数乘以该系数确定容量，为两次重建之间的新增留出余量
+     * 默认值：2.0
+     */
+    private Double growthFactor = 2.0;
+
+    /**
+     * 最小容量
+     * 默认值：10000
+     */
+    private Long minExpectedInsertions = 10_000L;
+
+    /**
+     * 重建间隔（毫秒），重建会清除已删除的键，并纳入绕过应用直接写库的数据
+     * 默认值：600000（10 分钟）
+     */
+    private Long rebuildIntervalMs = 600_000L;
+
+    /**
+     * 重建时按 ID 分批扫描的行数
+     * 默认值：10000
+     */
+    private Integer scanBatchSize = 10_000;
+
+    // Getter 和 Setter 方法
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Double getFpp() {
+        return fpp;
+    }
+
+    public void setFpp(Double fpp) {
+        this.fpp = fpp;
+    }
+
+    public Double getGrowthFactor() {
+        return growthFactor;
+    }
+
+    public void setGrowthFactor(Double growthFactor) {
+        this.growthFactor = growthFactor;
+    }
+
+    public Long getMinExpectedInsertions() {
+        return minExpectedInsertions;
+    }
+
+    public void setMinExpectedInsertions(Long minExpectedInsertions) {
+        this.minExpectedInsertions = minExpectedInsertions;
+    }
+
+    public Long getRebuildIntervalMs() {
+        return rebuildIntervalMs;
+    }
+
+    public void setRebuildIntervalMs(Long rebuildIntervalMs) {
+        this.rebuildIntervalMs = rebuildIntervalMs;
+    }
+
+    public Integer getScanBatchSize() {
+        return scanBatchSize;
+    }
+
+    public void setScanBatchSize(Integer scanBatchSize) {
+        this.scanBatchSize = scanBatchSize;
+    }
+}
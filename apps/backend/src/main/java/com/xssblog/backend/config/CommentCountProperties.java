@@ -0,0 +1,47 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章评论数对账配置类
+ *
+ * articles.comments_count 在评论增删时同事务维护，
+ * 对账任务定期按 ID 区间重新计算，修正手工改库、批量导入等造成的偏差。
+ *
+ * 配置来源：application.yml 中的 comment-count
+ */
+@Configuration
+@ConfigurationProperties(prefix = "comment-count")
+public class CommentCountProperties {
+
+    /**
+     * 对账任务 cron 表达式，设为 "-" 可关闭
+     * 默认值：每天 03:30
+     */
+    private String reconcileCron = "0 30 3 * * *";
+
+    /**
+     * 每个事务处理的文章 ID 区间大小，控制单次 UPDATE 的锁范围和耗时
+     * 默认值：1000
+     */
+    private Integer reconcileChunkSize = 1000;
+
+    // Getter 和 Setter 方法
+
+    public String getReconcileCron() {
+        return reconcileCron;
+    }
+
+    public void setReconcileCron(String reconcileCron) {
+        this.reconcileCron = reconcileCron;
+    }
+
+    public Integer getReconcileChunkSize() {
+        return reconcileChunkSize;
+    }
+
+    public void setReconcileChunkSize(Integer reconcileChunkSize) {
+        this.reconcileChunkSize = reconcileChunkSize;
+    }
+}
@@ -0,0 +1,87 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 评论实时推送（SSE）配置类
+ *
+ * 配置来源：application.yml 中的 comment-stream
+ */
+@Configuration
+@ConfigurationProperties(prefix = "comment-stream")
+public class CommentStreamProperties {
+
+    /**
+     * 每个订阅者的待发送事件缓冲区大小，缓冲区满时视为慢消费者并断开
+     * 默认值：32
+     */
+    private Integer bufferSize = 32;
+
+    /**
+     * 心跳间隔（秒），用于保活和及时发现已断开的连接
+     * 默认值：15
+     */
+    private Integer heartbeatSeconds = 15;
+
+    /**
+     * 单个连接的最长存活时间（分钟），到期后由客户端 EventSource 自动重连
+     * 默认值：30
+     */
+    private Integer timeoutMinutes = 30;
+
+    /**
+     * 单节点最大订阅数，超出时返回 503
+     * 每个订阅占用一个 HTTP 连接，应低于 server.tomcat.max-connections，为普通请求留出连接
+     * 默认值：15000
+     */
+    private Integer maxSubscribers = 15000;
+
+    /**
+     * 推送线程数（只在有事件待发送时占用线程，空闲连接不占用线程）
+     * 默认值：4
+     */
+    private Integer dispatchThreads = 4;
+
+    // Getter 和 Setter 方法
+
+    public Integer getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(Integer bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Integer getHeartbeatSeconds() {
+        return heartbeatSeconds;
+    }
+
+    public void setHeartbeatSeconds(Integer heartbeatSeconds) {
+        this.heartbeatSeconds = heartbeatSeconds;
+    }
+
+    public Integer getTimeoutMinutes() {
+        return timeoutMinutes;
+    }
+
+    public void setTimeoutMinutes(Integer timeoutMinutes) {
+        this.timeoutMinutes = timeoutMinutes;
+    }
+
+    public Integer getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(Integer maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public Integer getDispatchThreads() {
+        return dispatchThreads;
+    }
+
+    public void setDispatchThreads(Integer dispatchThreads) {
+        this.dispatchThreads = dispatchThreads;
+    }
+}
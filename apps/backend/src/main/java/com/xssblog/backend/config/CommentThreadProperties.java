@@ -0,0 +1,56 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 评论楼中楼配置类
+ *
+ * 物化路径每级占 12 个字符，comments.path 为 VARCHAR(255)，最多容纳 21 级；
+ * 但删除讨论串时回复经 fk_comments_parent 级联删除，MySQL 的级联深度上限为 15，
+ * 因此嵌套深度不能超过 15。
+ *
+ * 配置来源：application.yml 中的 comment-thread
+ */
+@Configuration
+@ConfigurationProperties(prefix = "comment-thread")
+public class CommentThreadProperties {
+
+    /**
+     * 允许配置的最大嵌套深度（MySQL 外键级联深度上限）
+     */
+    public static final int DEPTH_LIMIT = 15;
+
+    /**
+     * 最大嵌套深度（顶层评论为 0），超过时拒绝回复
+     * 默认值：8
+     */
+    private Integer maxDepth = 8;
+
+    /**
+     * 单条评论的最大直接回复数，超过时拒绝回复
+     * 默认值：500
+     */
+    private Integer maxReplies = 500;
+
+    // Getter 和 Setter 方法
+
+    public Integer getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(Integer maxDepth) {
+        if (maxDepth > DEPTH_LIMIT) {
+            throw new IllegalArgumentException("comment-thread.max-depth must not exceed " + DEPTH_LIMIT);
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    public Integer getMaxReplies() {
+        return maxReplies;
+    }
+
+    public void setMaxReplies(Integer maxReplies) {
+        this.maxReplies = maxReplies;
+    }
+}
@@ -0,0 +1,89 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 大文本压缩配置类
+ *
+ * 文章正文、评论内容、用户简介超过阈值时压缩存储（见 CompressedTextConverter），
+ * 压缩前写入的旧数据由 TextRecompressor 定期按 ID 区间分块压缩。
+ *
+ * 配置来源：application.yml 中的 compression
+ */
+@Configuration
+@ConfigurationProperties(prefix = "compression")
+public class CompressionProperties {
+
+    /**
+     * 是否压缩新写入的值（关闭后已压缩的数据仍可正常读取）
+     * 默认值：true
+     */
+    private boolean enabled = true;
+
+    /**
+     * 不低于该字符数才压缩，短文本压缩后加 Base64 往往不会变小
+     * 默认值：1024
+     */
+    private int minChars = 1024;
+
+    /**
+     * Deflater 压缩级别（1 最快，9 压缩率最高）
+     * 默认值：6
+     */
+    private int level = 6;
+
+    /**
+     * 存量数据压缩任务 cron 表达式，设为 "-" 可关闭
+     * 默认值：每天 04:00
+     */
+    private String recompressCron = "0 0 4 * * *";
+
+    /**
+     * 存量压缩每个事务处理的 ID 区间大小
+     * 默认值：500
+     */
+    private int recompressChunkSize = 500;
+
+    // Getter 和 Setter 方法
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinChars() {
+        return minChars;
+    }
+
+    public void setMinChars(int minChars) {
+        this.minChars = minChars;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public String getRecompressCron() {
+        return recompressCron;
+    }
+
+    public void setRecompressCron(String recompressCron) {
+        this.recompressCron = recompressCron;
+    }
+
+    public int getRecompressChunkSize() {
+        return recompressChunkSize;
+    }
+
+    public void setRecompressChunkSize(int recompressChunkSize) {
+        this.recompressChunkSize = recompressChunkSize;
+    }
+}
@@ -0,0 +1,104 @@
+package com.xssblog.backend.config;
+
+import com.xssblog.backend.datasource.ReadWriteRoutingDataSource;
+import com.xssblog.backend.datasource.ReadYourWritesTracker;
+import com.xssblog.backend.datasource.ReplicaDataSource;
+import com.xssblog.backend.datasource.ReplicaHealthChecker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离数据源配置
+ *
+ * datasource.routing.enabled=true 时替换 Spring Boot 默认的 DataSource：
+ * - 主库：spring.datasource（连接池参数仍读取 spring.datasource.hikari）
+ * - 从库：datasource.routing.replicas，每个从库一个只读 Hikari 连接池
+ * - 对外暴露的 dataSource 为 LazyConnectionDataSourceProxy(ReadWriteRoutingDataSource)
+ *
+ * 从库连接池延迟初始化，从库在启动时不可用不会导致应用启动失败。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig implements DisposableBean {
+
+    private final DataSourceRoutingProperties routingProperties;
+    private final DataSourceProperties dataSourceProperties;
+    private final Environment environment;
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final List<ReplicaDataSource> replicas = new ArrayList<>();
+
+    /**
+     * 构造函数注入依赖并创建从库连接池
+     */
+    public DataSourceRoutingConfig(DataSourceRoutingProperties routingProperties,
+                                   DataSourceProperties dataSourceProperties,
+                                   Environment environment) {
+        this.routingProperties = routingProperties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.environment = environment;
+        for (DataSourceRoutingProperties.Replica replica : routingProperties.getReplicas()) {
+            replicas.add(new ReplicaDataSource(replica.getName(), createReplicaPool(replica)));
+        }
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(Duration.ofSeconds(routingProperties.getStickyWindowSeconds()));
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(ReadYourWritesTracker tracker) {
+        return new ReplicaHealthChecker(replicas, routingProperties, tracker);
+    }
+
+    /**
+     * 应用主 DataSource（bean 名称保持为 dataSource，SQL 监控代理依赖该名称）
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadYourWritesTracker tracker) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        pools.add(primary);
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicas, tracker));
+    }
+
+    private HikariDataSource createReplicaPool(DataSourceRoutingProperties.Replica replica) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica-" + replica.getName());
+        pool.setJdbcUrl(replica.getUrl());
+        pool.setUsername(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername());
+        pool.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword());
+        pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+        pool.setReadOnly(true);
+        // 从库故障时尽快失败并回退主库，而不是阻塞请求
+        pool.setConnectionTimeout(Duration.ofSeconds(routingProperties.getValidationTimeoutSeconds()).toMillis());
+        pool.setInitializationFailTimeout(-1);
+        pools.add(pool);
+        return pool;
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,192 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置类
+ *
+ * 开启后只读事务（@Transactional(readOnly = true)）路由到从库，其余请求路由到主库（spring.datasource）。
+ *
+ * 配置来源：application.yml 中的 datasource.routing
+ */
+@Configuration
+@ConfigurationProperties(prefix = "datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * 是否启用读写分离
+     * 默认值：false（所有请求走主库）
+     */
+    private Boolean enabled = false;
+
+    /**
+     * 从库列表，只读事务在可用从库之间轮询
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 从库健康检查间隔（毫秒）
+     * 默认值：5000
+     */
+    private Long healthCheckIntervalMs = 5000L;
+
+    /**
+     * 健康检查时 Connection.isValid 的超时时间（秒）
+     * 默认值：2
+     */
+    private Integer validationTimeoutSeconds = 2;
+
+    /**
+     * 复制延迟查询（返回延迟秒数），为空时不检查延迟
+     *
+     * 可以是返回单个数值的 SELECT（如心跳表），
+     * 也可以是 SHOW REPLICA STATUS（读取 Seconds_Behind_Source 列）
+     */
+    private String lagQuery;
+
+    /**
+     * 允许的最大复制延迟（秒），超出时该从库暂不参与路由
+     * 默认值：5
+     */
+    private Integer maxLagSeconds = 5;
+
+    /**
+     * 读己之写窗口（秒）：用户提交写事务后，该时间内的只读事务仍走主库
+     * 默认值：5，应不小于正常情况下的复制延迟
+     */
+    private Integer stickyWindowSeconds = 5;
+
+    // Getter 和 Setter 方法
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    public Long getHealthCheckIntervalMs() {
+        return healthCheckIntervalMs;
+    }
+
+    public void setHealthCheckIntervalMs(Long healthCheckIntervalMs) {
+        this.healthCheckIntervalMs = healthCheckIntervalMs;
+    }
+
+    public Integer getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public void setValidationTimeoutSeconds(Integer validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+
+    public Integer getMaxLagSeconds() {
+        return maxLagSeconds;
+    }
+
+    public void setMaxLagSeconds(Integer maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public Integer getStickyWindowSeconds() {
+        return stickyWindowSeconds;
+    }
+
+    public void setStickyWindowSeconds(Integer stickyWindowSeconds) {
+        this.stickyWindowSeconds = stickyWindowSeconds;
+    }
+
+    /**
+     * 单个从库配置
+     */
+    public static class Replica {
+
+        /**
+         * 从库名称（用于路由键和日志）
+         */
+        private String name;
+
+        /**
+         * JDBC URL
+         */
+        private String url;
+
+        /**
+         * 用户名，为空时使用主库用户名
+         */
+        private String username;
+
+        /**
+         * 密码，为空时使用主库密码
+         */
+        private String password;
+
+        /**
+         * 连接池最大连接数
+         * 默认值：10
+         */
+        private Integer maximumPoolSize = 10;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public Integer getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(Integer maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
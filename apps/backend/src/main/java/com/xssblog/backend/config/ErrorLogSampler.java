@@ -0,0 +1,51 @@
+package com.xssblog.backend.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按键（错误码）限流并采样的日志判定
+ *
+ * 每秒窗口内前 perSecond 次允许记录，之后每 sampleRate 次允许一次；
+ * 允许记录时返回上次记录以来被省略的次数。窗口切换不加锁，边界上可能多记一两条。
+ */
+class ErrorLogSampler {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int perSecond;
+    private final int sampleRate;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    ErrorLogSampler(int perSecond, int sampleRate) {
+        this.perSecond = perSecond;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return 允许记录时返回被省略的次数（>= 0），不允许记录时返回 -1
+     */
+    long sample(String key) {
+        Window window = windows.computeIfAbsent(key, k -> new Window());
+        long now = System.nanoTime() / WINDOW_NANOS;
+        long current = window.second.get();
+        if (current != now && window.second.compareAndSet(current, now)) {
+            window.count.set(0);
+        }
+        int n = window.count.incrementAndGet();
+        if (n <= perSecond || (sampleRate > 0 && (n - perSecond) % sampleRate == 0)) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    private static final class Window {
+        private final AtomicLong second = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+    }
+}
@@ -0,0 +1,47 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 业务异常日志配置类
+ *
+ * 扫描器会在短时间内制造大量 404/401，每个都记录一条 warn 日志会占满磁盘和日志管道。
+ * 每个错误码每秒最多记录 warnPerSecond 条，超出后每 sampleRate 条采样记录一条，并注明期间省略的条数。
+ *
+ * 配置来源：application.yml 中的 error-logging
+ */
+@Configuration
+@ConfigurationProperties(prefix = "error-logging")
+public class ErrorLoggingProperties {
+
+    /**
+     * 每个错误码每秒最多记录的 warn 日志条数
+     * 默认值：10
+     */
+    private Integer warnPerSecond = 10;
+
+    /**
+     * 超出限制后每多少条采样记录一条（0 表示超出后不再记录）
+     * 默认值：1000
+     */
+    private Integer sampleRate = 1000;
+
+    // Getter 和 Setter 方法
+
+    public Integer getWarnPerSecond() {
+        return warnPerSecond;
+    }
+
+    public void setWarnPerSecond(Integer warnPerSecond) {
+        this.warnPerSecond = warnPerSecond;
+    }
+
+    public Integer getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(Integer sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
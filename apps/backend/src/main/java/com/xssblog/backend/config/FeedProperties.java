@@ -0,0 +1,117 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 订阅源与站点地图配置类
+ *
+ * /feed.xml（Atom）和 /sitemap.xml 由 FeedService 生成并以 gzip 字节缓存，
+ * 供爬虫发现内容，替代逐页抓取 /api/articles。
+ *
+ * 配置来源：application.yml 中的 feed
+ */
+@Configuration
+@ConfigurationProperties(prefix = "feed")
+public class FeedProperties {
+
+    /**
+     * 站点对外地址（前端地址），用于生成文章链接，不以 / 结尾
+     * 默认值：http://localhost:5173
+     */
+    private String baseUrl = "http://localhost:5173";
+
+    /**
+     * 订阅源标题
+     * 默认值：XSSBlog
+     */
+    private String title = "XSSBlog";
+
+    /**
+     * 订阅源包含的最新文章数
+     * 默认值：50
+     */
+    private Integer feedSize = 50;
+
+    /**
+     * 每个站点地图分片的最大 URL 数（sitemaps.org 协议上限为 50000）
+     * 默认值：50000
+     */
+    private Integer shardSize = 50_000;
+
+    /**
+     * 按键集游标分批读取文章时每批的行数
+     * 默认值：1000
+     */
+    private Integer batchSize = 1000;
+
+    /**
+     * 检查新发布文章并增量更新缓存的间隔（毫秒）
+     * 默认值：60000
+     */
+    private Long refreshIntervalMs = 60_000L;
+
+    /**
+     * 响应的 Cache-Control max-age（秒）
+     * 默认值：300
+     */
+    private Integer maxAgeSeconds = 300;
+
+    // Getter 和 Setter 方法
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Integer getFeedSize() {
+        return feedSize;
+    }
+
+    public void setFeedSize(Integer feedSize) {
+        this.feedSize = feedSize;
+    }
+
+    public Integer getShardSize() {
+        return shardSize;
+    }
+
+    public void setShardSize(Integer shardSize) {
+        this.shardSize = shardSize;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Long getRefreshIntervalMs() {
+        return refreshIntervalMs;
+    }
+
+    public void setRefreshIntervalMs(Long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    public Integer getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    public void setMaxAgeSeconds(Integer maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+}
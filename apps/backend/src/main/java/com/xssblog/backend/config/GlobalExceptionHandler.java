@@ -2,11 +2,13 @@ package com.xssblog.backend.config;
 
 import com.xssblog.backend.common.enums.ErrorCode;
 import com.xssblog.backend.common.exception.BusinessException;
+import com.xssblog.backend.common.response.ErrorBodies;
 import com.xssblog.backend.common.response.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
@@ -29,6 +31,9 @@ import java.util.Map;
  * - AccessDeniedException: 权限不足
  * - RuntimeException: 其他运行时异常
  * - Exception: 未预期的系统异常（兜底处理）
+ * 
+ * 业务异常、认证失败、权限不足是扫描流量最常触发的错误，这三类响应体直接输出预序列化的 JSON（见 ErrorBodies），
+ * 业务异常日志按错误码限流采样（见 ErrorLoggingProperties）。
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -38,6 +43,17 @@ public class GlobalExceptionHandler {
      */
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     
+    private final ErrorLogSampler businessLogSampler;
+    
+    /**
+     * 构造函数注入依赖
+     * @param errorLoggingProperties 业务异常日志配置
+     */
+    public GlobalExceptionHandler(ErrorLoggingProperties errorLoggingProperties) {
+        this.businessLogSampler = new ErrorLogSampler(
+            errorLoggingProperties.getWarnPerSecond(), errorLoggingProperties.getSampleRate());
+    }
+    
     /**
      * 处理自定义业务异常
      * @param ex 业务异常对象
@@ -45,15 +61,17 @@ public class GlobalExceptionHandler {
      * @return 包含错误码、消息、时间戳和路径的响应
      */
     @ExceptionHandler(BusinessException.class)
-    public ResponseEntity<ErrorResponse> handleBusinessException(
+    public ResponseEntity<byte[]> handleBusinessException(
             BusinessException ex, HttpServletRequest request) {
-        log.warn("Business exception [{}]: {}", ex.getCode(), ex.getMessage());
-        ErrorResponse errorResponse = ErrorResponse.of(
-            ex.getCode(),
-            ex.getMessage(),
-            request.getRequestURI()
-        );
-        return ResponseEntity.status(ex.getStatus()).body(errorResponse);
+        long suppressed = businessLogSampler.sample(ex.getCode());
+        if (suppressed > 0) {
+            log.warn("Business exception [{}]: {} ({} similar suppressed)", ex.getCode(), ex.getMessage(), suppressed);
+        } else if (suppressed == 0) {
+            log.warn("Business exception [{}]: {}", ex.getCode(), ex.getMessage());
+        } else if (log.isDebugEnabled()) {
+            log.debug("Business exception [{}]: {}", ex.getCode(), ex.getMessage());
+        }
+        return json(ex.getStatus(), ErrorBodies.render(ex.getCode(), ex.getMessage(), request.getRequestURI()));
     }
     
     /**
@@ -92,15 +110,10 @@ public class GlobalExceptionHandler {
      * @return 401 Unauthorized 响应
      */
     @ExceptionHandler(AuthenticationException.class)
-    public ResponseEntity<ErrorResponse> handleAuthenticationException(
+    public ResponseEntity<byte[]> handleAuthenticationException(
             AuthenticationException ex, HttpServletRequest request) {
         log.warn("Authentication failed: {}", ex.getMessage());
-        ErrorResponse errorResponse = ErrorResponse.of(
-            ErrorCode.UNAUTHORIZED.getCode(),
-            ErrorCode.UNAUTHORIZED.getMessage(),
-            request.getRequestURI()
-        );
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+        return json(HttpStatus.UNAUTHORIZED.value(), ErrorBodies.render(ErrorCode.UNAUTHORIZED, request.getRequestURI()));
     }
     
     /**
@@ -110,15 +123,10 @@ public class GlobalExceptionHandler {
      * @return 403 Forbidden 响应
      */
     @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<ErrorResponse> handleAccessDeniedException(
+    public ResponseEntity<byte[]> handleAccessDeniedException(
             AccessDeniedException ex, HttpServletRequest request) {
         log.warn("Access denied: {}", ex.getMessage());
-        ErrorResponse errorResponse = ErrorResponse.of(
-            ErrorCode.FORBIDDEN.getCode(),
-            ErrorCode.FORBIDDEN.getMessage(),
-            request.getRequestURI()
-        );
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+        return json(HttpStatus.FORBIDDEN.value(), ErrorBodies.render(ErrorCode.FORBIDDEN, request.getRequestURI()));
     }
     
     /**
@@ -156,4 +164,11 @@ public class GlobalExceptionHandler {
         );
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
+    
+    /**
+     * 以 JSON 内容类型返回已序列化的响应体
+     */
+    private static ResponseEntity<byte[]> json(int status, byte[] body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 }
@@ -0,0 +1,86 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL 查询监控配置类
+ *
+ * 用于配置每个 HTTP 请求的 SQL 语句计数、行数统计和 N+1 检测。
+ *
+ * 配置来源：application.yml 中的 monitoring.query
+ */
+@Configuration
+@ConfigurationProperties(prefix = "monitoring.query")
+public class QueryMonitorProperties {
+
+    /**
+     * 是否启用 SQL 查询监控（包装 DataSource）
+     * 默认值：true
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 单个请求允许执行的 SQL 语句数上限，超出时输出告警日志
+     * 默认值：10
+     */
+    private Integer statementBudget = 10;
+
+    /**
+     * 按接口覆盖的语句预算，键为 "METHOD /uri/pattern"，例如 "GET /api/articles"
+     */
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    /**
+     * 是否在响应头中返回统计结果（X-Query-Count / X-Query-Rows / X-Query-Time-Ms）
+     * 默认值：false，仅建议在 debug profile 中开启
+     */
+    private Boolean exposeHeaders = false;
+
+    /**
+     * 根据接口获取语句预算
+     *
+     * @param endpoint 接口标识（"METHOD /uri/pattern"）
+     * @return 该接口的语句预算
+     */
+    public int budgetFor(String endpoint) {
+        return budgets.getOrDefault(endpoint, statementBudget);
+    }
+
+    // Getter 和 Setter 方法
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Integer getStatementBudget() {
+        return statementBudget;
+    }
+
+    public void setStatementBudget(Integer statementBudget) {
+        this.statementBudget = statementBudget;
+    }
+
+    public Map<String, Integer> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(Map<String, Integer> budgets) {
+        this.budgets = budgets;
+    }
+
+    public Boolean getExposeHeaders() {
+        return exposeHeaders;
+    }
+
+    public void setExposeHeaders(Boolean exposeHeaders) {
+        this.exposeHeaders = exposeHeaders;
+    }
+}
@@ -0,0 +1,103 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章静态快照配置类
+ *
+ * 已发布文章渲染为本地磁盘上的静态 HTML（按 slug 命名），
+ * 匿名读者通过 /snapshots/{slug}.html 访问时直接零拷贝发送文件，不经过 JPA。
+ *
+ * 配置来源：application.yml 中的 snapshot
+ */
+@Configuration
+@ConfigurationProperties(prefix = "snapshot")
+public class SnapshotProperties {
+
+    /**
+     * 快照目录（不存在时自动创建）
+     * 默认值：data/snapshots
+     */
+    private String directory = "data/snapshots";
+
+    /**
+     * 检查文章修改并重新生成快照的间隔（毫秒）
+     * 默认值：30000
+     */
+    private Long refreshIntervalMs = 30_000L;
+
+    /**
+     * 每次检查时向前多回看的秒数，覆盖检查时刻尚未提交、修改时间却更早的事务
+     * 默认值：60
+     */
+    private Integer refreshOverlapSeconds = 60;
+
+    /**
+     * 全量清理的间隔（毫秒）：删除已删除、已取消发布或已更换 slug 的文章留下的快照
+     * 默认值：600000
+     */
+    private Long purgeIntervalMs = 600_000L;
+
+    /**
+     * 每个事务重新生成的文章数
+     * 默认值：100
+     */
+    private Integer batchSize = 100;
+
+    /**
+     * 响应的 Cache-Control max-age（秒），过期后凭 ETag 重新验证
+     * 默认值：60
+     */
+    private Integer maxAgeSeconds = 60;
+
+    // Getter 和 Setter 方法
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public Long getRefreshIntervalMs() {
+        return refreshIntervalMs;
+    }
+
+    public void setRefreshIntervalMs(Long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    public Integer getRefreshOverlapSeconds() {
+        return refreshOverlapSeconds;
+    }
+
+    public void setRefreshOverlapSeconds(Integer refreshOverlapSeconds) {
+        this.refreshOverlapSeconds = refreshOverlapSeconds;
+    }
+
+    public Long getPurgeIntervalMs() {
+        return purgeIntervalMs;
+    }
+
+    public void setPurgeIntervalMs(Long purgeIntervalMs) {
+        this.purgeIntervalMs = purgeIntervalMs;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Integer getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    public void setMaxAgeSeconds(Integer maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+}
@@ -0,0 +1,33 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 启动配置类
+ *
+ * 启动步骤记录本身（startup.buffer-capacity、startup.jfr-file）需要在读取配置文件之前确定，
+ * 只能通过 JVM 系统属性设置，见 StartupProfiling。
+ *
+ * 配置来源：application.yml 中的 startup
+ */
+@Configuration
+@ConfigurationProperties(prefix = "startup")
+public class StartupProperties {
+
+    /**
+     * 启动时预先建立的数据库连接数，设为 0 关闭预热
+     * 默认值：4，不应超过连接池最大连接数
+     */
+    private Integer warmupConnections = 4;
+
+    // Getter 和 Setter 方法
+
+    public Integer getWarmupConnections() {
+        return warmupConnections;
+    }
+
+    public void setWarmupConnections(Integer warmupConnections) {
+        this.warmupConnections = warmupConnections;
+    }
+}
@@ -0,0 +1,104 @@
+package com.xssblog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 首页时间线配置类
+ *
+ * 粉丝数低于 fanOutThreshold 的作者发布文章时写入每个粉丝的 timeline_entries（写扩散）；
+ * 达到阈值的作者只在粉丝读取时间线时按作者查询合并（读扩散），避免一次发布写入海量行。
+ * 阈值只影响之后的发布与关注，已写入的时间线条目保持不变。
+ *
+ * 配置来源：application.yml 中的 timeline
+ */
+@Configuration
+@ConfigurationProperties(prefix = "timeline")
+public class TimelineProperties {
+
+    /**
+     * 写扩散的粉丝数上限，达到该值的作者改为读扩散
+     * 默认值：10000
+     */
+    private Integer fanOutThreshold = 10000;
+
+    /**
+     * 关注时回填到时间线的该作者最近文章数
+     * 默认值：100
+     */
+    private Integer backfillSize = 100;
+
+    /**
+     * 默认每页条数
+     * 默认值：20
+     */
+    private Integer pageSize = 20;
+
+    /**
+     * 每页最大条数
+     * 默认值：50
+     */
+    private Integer maxPageSize = 50;
+
+    /**
+     * 每个用户物化时间线保留的最新条目数，超出部分由定期裁剪删除
+     * 默认值：1000
+     */
+    private Integer maxEntriesPerUser = 1000;
+
+    /**
+     * 裁剪时间线的执行间隔（毫秒）
+     * 默认值：600000（10 分钟）
+     */
+    private Long trimIntervalMs = 600_000L;
+
+    // Getter 和 Setter 方法
+
+    public Integer getFanOutThreshold() {
+        return fanOutThreshold;
+    }
+
+    public void setFanOutThreshold(Integer fanOutThreshold) {
+        this.fanOutThreshold = fanOutThreshold;
+    }
+
+    public Integer getBackfillSize() {
+        return backfillSize;
+    }
+
+    public void setBackfillSize(Integer backfillSize) {
+        this.backfillSize = backfillSize;
+    }
+
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public Integer getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(Integer maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    public Integer getMaxEntriesPerUser() {
+        return maxEntriesPerUser;
+    }
+
+    public void setMaxEntriesPerUser(Integer maxEntriesPerUser) {
+        this.maxEntriesPerUser = maxEntriesPerUser;
+    }
+
+    public Long getTrimIntervalMs() {
+        return trimIntervalMs;
+    }
+
+    public void setTrimIntervalMs(Long trimIntervalMs) {
+        this.trimIntervalMs = trimIntervalMs;
+    }
+}
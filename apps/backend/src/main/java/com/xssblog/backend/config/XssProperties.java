@@ -10,8 +10,11 @@ import org.springframework.context.annotation.Configuration;
  * - VULN 模式：不过滤用户输入，用于演示 XSS 攻击
  * - SECURE 模式：启用 HTML 转义和 DOMPurify 过滤，防御 XSS 攻击
  * 
- * 配置来源：application.yml 中的 xss.mode
+ * 配置来源：application.yml 中的 xss.mode（config_changes 表中没有记录时的初始模式）
  * 切换接口：POST /api/config/mode
+ * 
+ * 多实例部署时模式由 XssModeRegistry 通过 config_changes 表同步，这里只保存本实例当前生效的模式，
+ * 请求路径上的判断仍然只是一次 volatile 读。
  */
 @Configuration
 @ConfigurationProperties(prefix = "xss")
@@ -19,6 +22,12 @@ public class XssProperties {
     // 使用 volatile 保证多线程环境下的可见性，支持运行时切换
     private volatile String mode = "vuln";
     
+    /**
+     * 轮询 config_changes 的间隔（毫秒），即其他实例的模式切换最迟多久在本实例生效
+     * 默认值：2000
+     */
+    private Long pollIntervalMs = 2000L;
+    
     /**
      * 获取当前 XSS 模式
      * @return 模式名称（vuln 或 secure）
@@ -52,4 +61,12 @@ public class XssProperties {
             this.mode = mode.toLowerCase();
         }
     }
+    
+    public Long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+    
+    public void setPollIntervalMs(Long pollIntervalMs) {
+        this.pollIntervalMs = pollIntervalMs;
+    }
 }
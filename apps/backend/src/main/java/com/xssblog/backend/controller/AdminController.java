@@ -1,19 +1,31 @@
 package com.xssblog.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xssblog.backend.common.response.PageResponse;
+import com.xssblog.backend.dto.ArticleImportResult;
 import com.xssblog.backend.dto.FeedbackDto;
+import com.xssblog.backend.monitoring.StartupTimelineReport;
+import com.xssblog.backend.service.ArticleImportService;
 import com.xssblog.backend.service.FeedbackService;
-import org.springframework.data.domain.Page;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
  * 管理员控制器
- * 提供管理员专用的API接口，包括反馈管理和仪表板数据展示
+ * 提供管理员专用的API接口，包括反馈管理、文章批量导入和仪表板数据展示
  * 所有接口都需要ADMIN角色才能访问
  */
 @RestController
@@ -23,12 +35,21 @@ public class AdminController {
     
     // 通过构造函数注入FeedbackService服务
     private final FeedbackService feedbackService;
+    private final StartupTimelineReport startupTimelineReport;
+    private final ArticleImportService articleImportService;
+    private final ObjectMapper objectMapper;
     
     /**
      * 构造函数注入依赖
      */
-    public AdminController(FeedbackService feedbackService) {
+    public AdminController(FeedbackService feedbackService,
+                           StartupTimelineReport startupTimelineReport,
+                           ArticleImportService articleImportService,
+                           ObjectMapper objectMapper) {
         this.feedbackService = feedbackService;
+        this.startupTimelineReport = startupTimelineReport;
+        this.articleImportService = articleImportService;
+        this.objectMapper = objectMapper;
     }
     
     /**
@@ -36,14 +57,14 @@ public class AdminController {
      * 
      * @param page 页码，从0开始，默认为0
      * @param size 每页大小，默认为20
-     * @return 分页的反馈数据
+     * @return 分页的反馈数据（PageResponse 结构）
      */
     @GetMapping("/feedbacks")
-    public ResponseEntity<Page<FeedbackDto>> getAllFeedbacks(
+    public ResponseEntity<PageResponse<FeedbackDto>> getAllFeedbacks(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(feedbackService.getAllFeedbacks(pageable));
+        return ResponseEntity.ok(PageResponse.of(feedbackService.getAllFeedbacks(pageable)));
     }
     
     /**
@@ -75,4 +96,59 @@ public class AdminController {
             "pendingFeedbacks", 2     // 待处理反馈数
         ));
     }
+    
+    /**
+     * 获取应用启动耗时（Bean 实例化、仓库初始化、Hibernate 元模型构建、数据源预热等步骤）
+     * 
+     * @param limit 返回的步骤明细数量，按耗时倒序，默认为50
+     * @param minMillis 只返回耗时不少于该值（毫秒）的步骤，默认为0
+     * @return 启动耗时报告
+     */
+    @GetMapping("/startup")
+    public ResponseEntity<Map<String, Object>> getStartupTimeline(
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "0") long minMillis) {
+        return ResponseEntity.ok(startupTimelineReport.generate(limit, minMillis));
+    }
+    
+    /**
+     * 批量导入文章
+     * 
+     * 请求体为文章 JSON 数组（见 ArticleImportItem），边读边写入，不整体缓冲；
+     * 响应为 NDJSON，每个条目一行结果（见 ArticleImportResult），每批提交后立即输出。
+     * 请求体在中途不是合法 JSON 时，最后输出一行 {"status":"ABORTED","error":...}。
+     * 
+     * @param request HTTP 请求（读取请求体）
+     * @param response HTTP 响应（逐行写出结果）
+     * @param authentication 当前管理员（条目未指定作者时作为作者）
+     */
+    @PostMapping(value = "/articles/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void importArticles(HttpServletRequest request,
+                               HttpServletResponse response,
+                               Authentication authentication) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        try {
+            articleImportService.importArticles(request.getInputStream(), authentication.getName(), results -> {
+                try {
+                    for (ArticleImportResult result : results) {
+                        writeLine(out, result);
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    // 客户端断开：停止导入，已提交的批次保留
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            writeLine(out, Map.of("status", "ABORTED", "error", String.valueOf(e.getMessage())));
+        }
+        out.flush();
+    }
+    
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
 }
\ No newline at end of file
@@ -1,16 +1,18 @@
 package com.xssblog.backend.controller;
 
+import com.xssblog.backend.common.response.PageResponse;
 import com.xssblog.backend.dto.ArticleDto;
 import com.xssblog.backend.dto.CommentDto;
 import com.xssblog.backend.dto.CommentRequest;
 import com.xssblog.backend.service.ArticleService;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -21,7 +23,9 @@ import java.util.List;
  * 权限说明：
  * - 文章查询：公开访问，无需登录
  * - 评论查询：公开访问，无需登录
+ * - 评论实时推送（SSE）：公开访问，无需登录
  * - 评论提交：需要登录（JWT 认证）
+ * - 评论删除：评论作者或管理员
  */
 @RestController
 @RequestMapping("/api/articles")
@@ -42,14 +46,14 @@ public class ArticleController {
      * 
      * @param page 页码，从 0 开始，默认为 0
      * @param size 每页大小，默认为 10
-     * @return 分页的文章数据
+     * @return 分页的文章数据（PageResponse 结构）
      */
     @GetMapping
-    public ResponseEntity<Page<ArticleDto>> getAllArticles(
+    public ResponseEntity<PageResponse<ArticleDto>> getAllArticles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(articleService.getAllArticles(pageable));
+        return ResponseEntity.ok(PageResponse.of(articleService.getAllArticles(pageable)));
     }
     
     /**
@@ -85,6 +89,38 @@ public class ArticleController {
         return ResponseEntity.ok(articleService.getArticleComments(id));
     }
     
+    /**
+     * 获取文章讨论串（楼中楼，按渲染顺序，公开访问）
+     * 
+     * 父评论在其回复之前，同级回复按发表先后，每条评论带 parentId 与 depth。
+     * 
+     * @param id 文章 ID
+     * @param root 子树根评论 ID（可选，只返回该评论及其全部回复）
+     * @param depth 相对根的最大深度（可选）
+     * @return 评论列表
+     */
+    @GetMapping("/{id}/comments/thread")
+    public ResponseEntity<List<CommentDto>> getCommentThread(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long root,
+            @RequestParam(required = false) Integer depth) {
+        return ResponseEntity.ok(articleService.getCommentThread(id, root, depth));
+    }
+    
+    /**
+     * 订阅文章的新评论（Server-Sent Events，公开访问）
+     * 
+     * 客户端使用 EventSource 连接，新评论以 "comment" 事件推送，
+     * 替代轮询 GET /api/articles/{id}/comments 重新加载整个列表。
+     * 
+     * @param id 文章 ID
+     * @return SSE 连接
+     */
+    @GetMapping(path = "/{id}/comments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamArticleComments(@PathVariable Long id) {
+        return articleService.streamArticleComments(id);
+    }
+    
     /**
      * 提交文章评论（需要登录）
      * 
@@ -106,4 +142,23 @@ public class ArticleController {
         CommentDto comment = articleService.createComment(id, username, request);
         return ResponseEntity.ok(comment);
     }
+    
+    /**
+     * 删除文章评论及其全部回复（评论作者或管理员）
+     * 
+     * @param id 文章 ID
+     * @param commentId 评论 ID
+     * @param authentication 当前认证用户（由 Spring Security 自动注入）
+     * @return 204 No Content
+     */
+    @DeleteMapping("/{id}/comments/{commentId}")
+    public ResponseEntity<Void> deleteComment(
+            @PathVariable Long id,
+            @PathVariable Long commentId,
+            Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream()
+            .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        articleService.deleteComment(id, commentId, authentication.getName(), admin);
+        return ResponseEntity.noContent().build();
+    }
 }
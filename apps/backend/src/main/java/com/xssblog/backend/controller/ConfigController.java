@@ -1,6 +1,7 @@
 package com.xssblog.backend.controller;
 
 import com.xssblog.backend.config.XssProperties;
+import com.xssblog.backend.service.XssModeRegistry;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,18 +16,22 @@ import java.util.Map;
  * - POST /api/config/mode - 切换 XSS 模式（VULN/SECURE）
  * 
  * 注意：所有接口均为公开访问，无需登录
+ * 
+ * 模式切换通过 XssModeRegistry 写入 config_changes，集群中的其他实例在一个轮询周期内同步。
  */
 @RestController
 @RequestMapping("/api")
 public class ConfigController {
     
     private final XssProperties xssProperties;
+    private final XssModeRegistry xssModeRegistry;
     
     /**
      * 构造函数注入依赖
      */
-    public ConfigController(XssProperties xssProperties) {
+    public ConfigController(XssProperties xssProperties, XssModeRegistry xssModeRegistry) {
         this.xssProperties = xssProperties;
+        this.xssModeRegistry = xssModeRegistry;
     }
     
     /**
@@ -46,16 +51,17 @@ public class ConfigController {
      * 请求体示例：{"mode": "vuln"} 或 {"mode": "secure"}
      * 
      * @param request 包含 mode 字段的请求体
-     * @return 成功时返回新模式和提示信息，失败时返回错误信息
+     * @return 成功时返回新模式、变更版本号和提示信息，失败时返回错误信息
      */
     @PostMapping("/config/mode")
     public ResponseEntity<Map<String, Object>> switchMode(@RequestBody Map<String, String> request) {
         String newMode = request.get("mode");
         // 验证模式参数（仅接受 vuln 或 secure）
         if ("vuln".equalsIgnoreCase(newMode) || "secure".equalsIgnoreCase(newMode)) {
-            xssProperties.setMode(newMode);
+            long version = xssModeRegistry.switchMode(newMode);
             return ResponseEntity.ok(Map.of(
                 "xssMode", xssProperties.getMode(),
+                "version", version,
                 "message", "Mode switched to " + xssProperties.getMode()
             ));
         }
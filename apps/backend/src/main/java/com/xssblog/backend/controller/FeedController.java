@@ -0,0 +1,86 @@
+package com.xssblog.backend.controller;
+
+import com.xssblog.backend.config.FeedProperties;
+import com.xssblog.backend.service.FeedService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 订阅源与站点地图控制器（公开访问）
+ *
+ * 响应体直接取自 FeedService 缓存的 gzip 字节：
+ * - 客户端支持 gzip 时原样返回（Content-Encoding: gzip），不再压缩
+ * - 否则解压后返回
+ * - 支持 If-None-Match 条件请求（304）
+ */
+@RestController
+public class FeedController {
+
+    private static final MediaType ATOM_XML = MediaType.parseMediaType("application/atom+xml;charset=UTF-8");
+    private static final MediaType XML = MediaType.parseMediaType("application/xml;charset=UTF-8");
+
+    private final FeedService feedService;
+    private final FeedProperties feedProperties;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public FeedController(FeedService feedService, FeedProperties feedProperties) {
+        this.feedService = feedService;
+        this.feedProperties = feedProperties;
+    }
+
+    /**
+     * Atom 订阅源（最新发布的文章）
+     */
+    @GetMapping("/feed.xml")
+    public ResponseEntity<byte[]> getFeed(WebRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return serve(feedService.getFeed(), ATOM_XML, request, acceptEncoding);
+    }
+
+    /**
+     * 站点地图索引
+     */
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> getSitemapIndex(WebRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return serve(feedService.getSitemapIndex(), XML, request, acceptEncoding);
+    }
+
+    /**
+     * 站点地图分片
+     *
+     * @param number 分片编号，从 1 开始
+     */
+    @GetMapping("/sitemap-{number}.xml")
+    public ResponseEntity<byte[]> getSitemapShard(@PathVariable int number, WebRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return serve(feedService.getSitemapShard(number), XML, request, acceptEncoding);
+    }
+
+    private ResponseEntity<byte[]> serve(FeedService.CachedDocument document, MediaType mediaType,
+                                         WebRequest request, String acceptEncoding) {
+        // 命中时已写入 304 及 ETag 响应头，返回 null 即可
+        if (request.checkNotModified(document.etag())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(mediaType)
+            .cacheControl(CacheControl.maxAge(feedProperties.getMaxAgeSeconds(), TimeUnit.SECONDS).cachePublic())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(document.gzip());
+        }
+        return response.body(document.decompressed());
+    }
+}
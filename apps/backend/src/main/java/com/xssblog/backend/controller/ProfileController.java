@@ -1,8 +1,10 @@
 package com.xssblog.backend.controller;
 
+import com.xssblog.backend.common.response.PageResponse;
 import com.xssblog.backend.dto.ArticleDto;
 import com.xssblog.backend.dto.UserDto;
 import com.xssblog.backend.service.ArticleService;
+import com.xssblog.backend.service.FollowService;
 import com.xssblog.backend.service.UserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -25,13 +27,16 @@ public class ProfileController {
     private final UserService userService;
     // 文章服务，处理文章查询的业务逻辑
     private final ArticleService articleService;
+    // 关注服务，处理关注关系与时间线回填
+    private final FollowService followService;
     
     /**
      * 构造函数注入依赖
      */
-    public ProfileController(UserService userService, ArticleService articleService) {
+    public ProfileController(UserService userService, ArticleService articleService, FollowService followService) {
         this.userService = userService;
         this.articleService = articleService;
+        this.followService = followService;
     }
     
     /**
@@ -54,7 +59,7 @@ public class ProfileController {
         
         return ResponseEntity.ok(Map.of(
             "user", user,
-            "articles", articles
+            "articles", PageResponse.of(articles)
         ));
     }
     
@@ -80,4 +85,34 @@ public class ProfileController {
         
         return ResponseEntity.ok(Map.of("ok", true, "user", updated));
     }
+    
+    /**
+     * 关注用户（需要登录，重复关注不报错）
+     * 
+     * @param username 被关注的用户名
+     * @param authentication 当前认证用户
+     * @return 关注状态和被关注用户的粉丝数
+     */
+    @PostMapping("/{username}/follow")
+    public ResponseEntity<Map<String, Object>> follow(
+            @PathVariable String username,
+            Authentication authentication) {
+        int followersCount = followService.follow(authentication.getName(), username);
+        return ResponseEntity.ok(Map.of("following", true, "followersCount", followersCount));
+    }
+    
+    /**
+     * 取消关注（需要登录，未关注时不报错）
+     * 
+     * @param username 被取消关注的用户名
+     * @param authentication 当前认证用户
+     * @return 关注状态和被取消关注用户的粉丝数
+     */
+    @DeleteMapping("/{username}/follow")
+    public ResponseEntity<Map<String, Object>> unfollow(
+            @PathVariable String username,
+            Authentication authentication) {
+        int followersCount = followService.unfollow(authentication.getName(), username);
+        return ResponseEntity.ok(Map.of("following", false, "followersCount", followersCount));
+    }
 }
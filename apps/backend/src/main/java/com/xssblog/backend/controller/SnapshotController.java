@@ -0,0 +1,107 @@
+package com.xssblog.backend.controller;
+
+import com.xssblog.backend.config.SnapshotProperties;
+import com.xssblog.backend.service.ArticleSnapshotService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章静态快照控制器（公开访问）
+ *
+ * 优先使用 Tomcat sendfile 零拷贝发送快照文件（整个文件或单个 Range），
+ * 连接器不支持 sendfile 或请求多个 Range 时，交给 Spring 的 Resource 处理（同样支持 Range）。
+ * 支持 If-None-Match / If-Modified-Since 条件请求。
+ */
+@RestController
+public class SnapshotController {
+
+    private static final MediaType TEXT_HTML_UTF8 = MediaType.parseMediaType("text/html;charset=UTF-8");
+
+    // Tomcat sendfile 请求属性
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ArticleSnapshotService snapshotService;
+    private final SnapshotProperties snapshotProperties;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public SnapshotController(ArticleSnapshotService snapshotService, SnapshotProperties snapshotProperties) {
+        this.snapshotService = snapshotService;
+        this.snapshotProperties = snapshotProperties;
+    }
+
+    /**
+     * 获取文章静态快照
+     *
+     * @param slug 文章 Slug
+     * @return 快照 HTML
+     */
+    @GetMapping("/snapshots/{slug}.html")
+    public ResponseEntity<Resource> getSnapshot(@PathVariable String slug,
+                                                HttpServletRequest request,
+                                                WebRequest webRequest) {
+        ArticleSnapshotService.SnapshotFile file = snapshotService.getSnapshot(slug);
+        // 命中时已写入 304 及 ETag/Last-Modified 响应头，返回 null 即可
+        if (webRequest.checkNotModified(file.etag(), file.lastModified())) {
+            return null;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(TEXT_HTML_UTF8);
+        headers.setCacheControl(CacheControl.maxAge(snapshotProperties.getMaxAgeSeconds(), TimeUnit.SECONDS).cachePublic());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(request.getHeader(HttpHeaders.RANGE));
+        } catch (IllegalArgumentException e) {
+            return rangeNotSatisfiable(file.length());
+        }
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) || ranges.size() > 1) {
+            return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file.path()));
+        }
+
+        long start = 0;
+        long end = file.length() - 1;
+        HttpStatus status = HttpStatus.OK;
+        if (ranges.size() == 1) {
+            try {
+                start = ranges.get(0).getRangeStart(file.length());
+                end = ranges.get(0).getRangeEnd(file.length());
+            } catch (IllegalArgumentException e) {
+                return rangeNotSatisfiable(file.length());
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + file.length());
+        }
+        // 响应头提交时 Tomcat 读取这些属性，由连接器直接把文件区间发送到 socket（结束位置不含）
+        request.setAttribute(SENDFILE_FILENAME, file.path().toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, end + 1);
+        headers.setContentLength(end - start + 1);
+        return ResponseEntity.status(status).headers(headers).build();
+    }
+
+    private static ResponseEntity<Resource> rangeNotSatisfiable(long length) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+            .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.xssblog.backend.controller;
+
+import com.xssblog.backend.dto.TimelinePage;
+import com.xssblog.backend.service.TimelineService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 首页时间线控制器（需要登录）
+ * 返回当前用户关注的作者发布的文章
+ */
+@RestController
+@RequestMapping("/api/timeline")
+public class TimelineController {
+
+    private final TimelineService timelineService;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public TimelineController(TimelineService timelineService) {
+        this.timelineService = timelineService;
+    }
+
+    /**
+     * 获取当前用户的时间线（按发布时间倒序，游标分页）
+     *
+     * @param cursor 上一页响应中的 nextCursor，第一页省略
+     * @param size 每页条数（可选，默认 timeline.page-size，不超过 timeline.max-page-size）
+     * @param authentication 当前认证用户
+     * @return 文章列表和下一页游标
+     */
+    @GetMapping
+    public ResponseEntity<TimelinePage> getTimeline(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        return ResponseEntity.ok(timelineService.getTimeline(authentication.getName(), cursor, size));
+    }
+}
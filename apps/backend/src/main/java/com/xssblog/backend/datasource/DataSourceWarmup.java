@@ -0,0 +1,83 @@
+package com.xssblog.backend.datasource;
+
+import com.xssblog.backend.config.StartupProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 数据源预热
+ *
+ * Hikari 连接池启动后只建立一个连接，其余连接在后台逐步补齐，
+ * 应用刚就绪时的第一批并发请求会排队等待建连（TCP + 认证 + 会话初始化）。
+ * 启动时同时持有 startup.warmup-connections 个连接并各执行一次 SELECT 1，
+ * 把建连耗时和驱动类加载提前到启动阶段（记录为 xssblog.datasource.warmup 启动步骤）。
+ *
+ * 预热失败只输出告警，不影响启动。
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class DataSourceWarmup implements InitializingBean {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(DataSourceWarmup.class);
+
+    private final DataSource dataSource;
+    private final StartupProperties properties;
+    private final ApplicationStartup applicationStartup;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public DataSourceWarmup(DataSource dataSource, StartupProperties properties, ApplicationStartup applicationStartup) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        int target = properties.getWarmupConnections();
+        if (target <= 0) {
+            return;
+        }
+        StartupStep step = applicationStartup.start("xssblog.datasource.warmup");
+        List<Connection> connections = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Data source warm-up stopped after {} connection(s): {}", connections.size(), e.getMessage());
+        } finally {
+            connections.forEach(DataSourceWarmup::closeQuietly);
+            step.tag("connections", String.valueOf(connections.size()));
+            step.end();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to release warm-up connection", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.xssblog.backend.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 主键分配表初始化
+ *
+ * 实体主键由 Hibernate 从 id_sequences 表按块分配（pooled-lo：next_val 为下一块的起始值，每块 50 个）。
+ * 不使用 IDENTITY：IDENTITY 需要逐条 INSERT 才能拿到主键，会让 Hibernate 关闭 JDBC 批量插入；
+ * MySQL 没有原生序列，因此使用表生成器。
+ *
+ * id_sequences 是 users / articles / comments / feedbacks 唯一的主键来源：
+ * 实体经 TableGenerator，批量导入（ArticleImportService）和合成数据生成器在同一行上 SELECT ... FOR UPDATE 预留整段主键，
+ * 写入时都显式指定 id。列上保留的 AUTO_INCREMENT 只服务于迁移之前的数据和 V2 演示数据，
+ * 应用运行期间不得再依赖自增主键写入这些表（手工 SQL 也需先从 id_sequences 预留），
+ * 否则自增值可能落入某个实例已取走的块，稍后的 INSERT 会主键冲突。
+ *
+ * 启动时把每个序列推进到 MAX(id) + 1 之后，修正迁移之外写入的行：
+ * - 序列行不存在时按 MAX(id) + 1 创建
+ * - 序列落后于 MAX(id) 时向前推进（只增不减）
+ * 两者由同一条 INSERT ... ON DUPLICATE KEY UPDATE 完成，多实例同时启动也是安全的。
+ *
+ * 在 Flyway 迁移之后执行，确保各表已存在。
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class IdSequenceInitializer implements InitializingBean {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    /**
+     * 使用 id_sequences 分配主键的表（与实体 @TableGenerator 的 pkColumnValue 一致）
+     */
+    public static final List<String> TABLES = List.of("users", "articles", "comments", "feedbacks");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (String table : TABLES) {
+            long floor = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+            // 一条语句完成"不存在则创建、落后则推进"，多个实例同时执行也不会主键冲突
+            jdbcTemplate.update("INSERT INTO id_sequences (sequence_name, next_val) VALUES (?, ?) "
+                + "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))", table, floor);
+            log.debug("Id sequence {} is at or beyond {}", table, floor);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.xssblog.backend.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离路由数据源
+ *
+ * 路由规则：
+ * - 只读事务：在可用从库之间轮询；无可用从库或用户处于读己之写窗口内时走主库
+ * - 其他情况（写事务、无事务）：走主库
+ * - 从库获取连接失败时立即标记为不可用，本次回退主库，等待健康检查恢复
+ *
+ * 必须外包一层 LazyConnectionDataSourceProxy 使用：事务管理器在事务开始时就会获取连接，
+ * 而只读标记要到事务同步初始化后才可见，延迟到第一条 SQL 时再选库才能拿到正确的标记。
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * 主库路由键
+     */
+    public static final String PRIMARY = "primary";
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final List<ReplicaDataSource> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      List<ReplicaDataSource> replicas,
+                                      ReadYourWritesTracker tracker) {
+        this.replicas = List.copyOf(replicas);
+        this.tracker = tracker;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaDataSource replica : this.replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            ReplicaDataSource replica = replicaOf(target);
+            if (replica == null) {
+                throw e;
+            }
+            replica.update(false, null);
+            log.warn("Replica {} failed to provide a connection, falling back to primary", replica.getName(), e);
+            return getResolvedDefaultDataSource().getConnection();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            tracker.recordWriteOnCommit();
+            return PRIMARY;
+        }
+        if (tracker.isSticky()) {
+            return PRIMARY;
+        }
+        ReplicaDataSource replica = nextAvailableReplica();
+        return replica != null ? replica.getName() : PRIMARY;
+    }
+
+    /**
+     * 轮询选择下一个可用从库
+     */
+    private ReplicaDataSource nextAvailableReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaDataSource replica = replicas.get((start + i) % size);
+            if (replica.isAvailable()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private ReplicaDataSource replicaOf(DataSource target) {
+        for (ReplicaDataSource replica : replicas) {
+            if (replica.getDataSource() == target) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public List<ReplicaDataSource> getReplicas() {
+        return replicas;
+    }
+}
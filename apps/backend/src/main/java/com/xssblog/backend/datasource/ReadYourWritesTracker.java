@@ -0,0 +1,88 @@
+package com.xssblog.backend.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 读己之写（read-your-writes）跟踪器
+ *
+ * 记录每个登录用户最近一次写事务的提交时间。窗口期内该用户的只读事务仍走主库，
+ * 避免刚发表的评论因复制延迟在从库上"消失"。匿名请求不做粘滞。
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final Map<String, Long> lastCommits = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * 在当前写事务上登记提交回调（同一事务只登记一次）
+     */
+    public void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        String username = currentUsername();
+        if (username == null) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, username);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesTracker.this);
+                if (status == STATUS_COMMITTED) {
+                    lastCommits.put(username, System.nanoTime());
+                }
+            }
+        });
+    }
+
+    /**
+     * 当前用户是否处于读己之写窗口内
+     */
+    public boolean isSticky() {
+        String username = currentUsername();
+        if (username == null) {
+            return false;
+        }
+        Long committedAt = lastCommits.get(username);
+        if (committedAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - committedAt < windowNanos) {
+            return true;
+        }
+        lastCommits.remove(username, committedAt);
+        return false;
+    }
+
+    /**
+     * 清理已过期的记录（由健康检查定期调用）
+     */
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        lastCommits.entrySet().removeIf(entry -> now - entry.getValue() >= windowNanos);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
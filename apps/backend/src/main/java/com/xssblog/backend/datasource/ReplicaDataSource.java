@@ -0,0 +1,51 @@
+package com.xssblog.backend.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * 从库数据源及其当前状态
+ *
+ * 状态由 ReplicaHealthChecker 定期更新，初始为不可用，首次健康检查通过后才参与路由。
+ */
+public class ReplicaDataSource {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean available;
+    private volatile Long lagSeconds;
+
+    public ReplicaDataSource(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 更新状态
+     *
+     * @param available 是否可用（连接正常且延迟在允许范围内）
+     * @param lagSeconds 复制延迟（秒），未检查或无法获取时为 null
+     * @return 可用状态是否发生变化
+     */
+    boolean update(boolean available, Long lagSeconds) {
+        boolean changed = this.available != available;
+        this.available = available;
+        this.lagSeconds = lagSeconds;
+        return changed;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public Long getLagSeconds() {
+        return lagSeconds;
+    }
+}
@@ -0,0 +1,104 @@
+package com.xssblog.backend.datasource;
+
+import com.xssblog.backend.config.DataSourceRoutingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 从库健康检查
+ *
+ * 定期检查每个从库：
+ * - 连接是否可用（Connection.isValid）
+ * - 配置了 lag-query 时，复制延迟是否在 max-lag-seconds 以内
+ *
+ * 不满足条件的从库暂停参与路由，只读事务回退到其他从库或主库；恢复后自动重新加入。
+ */
+public class ReplicaHealthChecker {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthChecker.class);
+
+    private final List<ReplicaDataSource> replicas;
+    private final DataSourceRoutingProperties properties;
+    private final ReadYourWritesTracker tracker;
+
+    public ReplicaHealthChecker(List<ReplicaDataSource> replicas,
+                                DataSourceRoutingProperties properties,
+                                ReadYourWritesTracker tracker) {
+        this.replicas = replicas;
+        this.properties = properties;
+        this.tracker = tracker;
+    }
+
+    /**
+     * 检查所有从库并清理过期的读己之写记录
+     */
+    @Scheduled(fixedDelayString = "${datasource.routing.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (ReplicaDataSource replica : replicas) {
+            check(replica);
+        }
+        tracker.purgeExpired();
+    }
+
+    private void check(ReplicaDataSource replica) {
+        boolean available;
+        Long lag = null;
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            if (!connection.isValid(properties.getValidationTimeoutSeconds())) {
+                available = false;
+            } else if (properties.getLagQuery() == null || properties.getLagQuery().isBlank()) {
+                available = true;
+            } else {
+                lag = queryLag(connection);
+                // 复制停止时延迟为 NULL，视为不可用
+                available = lag != null && lag <= properties.getMaxLagSeconds();
+            }
+        } catch (SQLException e) {
+            log.debug("Replica {} health check failed", replica.getName(), e);
+            available = false;
+        }
+        if (replica.update(available, lag)) {
+            if (available) {
+                log.info("Replica {} is available again (lag {}s)", replica.getName(), lag);
+            } else {
+                log.warn("Replica {} removed from read routing (lag {}s)", replica.getName(), lag);
+            }
+        }
+    }
+
+    /**
+     * 执行延迟查询：SHOW REPLICA STATUS 读取 Seconds_Behind_Source 列，其他查询读取第一列
+     */
+    private Long queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(properties.getLagQuery())) {
+            if (!rs.next()) {
+                return null;
+            }
+            int column = lagColumn(rs);
+            long lag = rs.getLong(column);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+
+    private static int lagColumn(ResultSet rs) throws SQLException {
+        for (String name : new String[] {"Seconds_Behind_Source", "Seconds_Behind_Master"}) {
+            try {
+                return rs.findColumn(name);
+            } catch (SQLException ignored) {
+                // 不是 SHOW REPLICA STATUS 的结果集
+            }
+        }
+        return 1;
+    }
+}
@@ -1,5 +1,7 @@
 package com.xssblog.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -29,8 +31,9 @@ public class ArticleDto {
     private String excerpt;
     
     /**
-     * 文章内容（HTML 格式）
+     * 文章内容（HTML 格式，只有详情接口返回；列表中省略该字段）
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String contentHtml;
     
     /**
@@ -38,6 +41,11 @@ public class ArticleDto {
      */
     private Integer likesCount;
     
+    /**
+     * 评论数
+     */
+    private Integer commentsCount;
+    
     /**
      * 发布时间
      */
@@ -108,6 +116,14 @@ public class ArticleDto {
         this.likesCount = likesCount;
     }
 
+    public Integer getCommentsCount() {
+        return commentsCount;
+    }
+
+    public void setCommentsCount(Integer commentsCount) {
+        this.commentsCount = commentsCount;
+    }
+
     public LocalDateTime getPublishedAt() {
         return publishedAt;
     }
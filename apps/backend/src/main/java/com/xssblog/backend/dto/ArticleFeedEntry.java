@@ -0,0 +1,63 @@
+package com.xssblog.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 订阅源条目（JPQL 构造器投影，只读取生成 Atom 条目所需的列）
+ */
+public class ArticleFeedEntry {
+    /**
+     * 文章 ID
+     */
+    private final Long id;
+    
+    /**
+     * 文章标题
+     */
+    private final String title;
+    
+    /**
+     * 文章摘要
+     */
+    private final String excerpt;
+    
+    /**
+     * 作者用户名
+     */
+    private final String authorUsername;
+    
+    /**
+     * 发布时间
+     */
+    private final LocalDateTime publishedAt;
+
+    public ArticleFeedEntry(Long id, String title, String excerpt, String authorUsername, LocalDateTime publishedAt) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.authorUsername = authorUsername;
+        this.publishedAt = publishedAt;
+    }
+
+    // Getter 方法
+    
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public String getAuthorUsername() {
+        return authorUsername;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+}
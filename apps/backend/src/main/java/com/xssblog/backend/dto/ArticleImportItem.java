@@ -0,0 +1,104 @@
+package com.xssblog.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文章导入条目
+ * 用于 POST /api/admin/articles/import 请求体（JSON 数组中的一个元素）
+ */
+public class ArticleImportItem {
+
+    /**
+     * 标题（必填，最长 120 个字符）
+     */
+    private String title;
+
+    /**
+     * slug（可选，不填时根据标题生成）
+     */
+    private String slug;
+
+    /**
+     * 摘要（可选，不填时从正文提取，最长 240 个字符）
+     */
+    private String excerpt;
+
+    /**
+     * 正文（HTML 格式）
+     */
+    private String contentHtml;
+
+    /**
+     * 标签名称列表（不存在的标签自动创建）
+     */
+    private List<String> tags;
+
+    /**
+     * 发布时间（可选，不填表示草稿）
+     */
+    private LocalDateTime publishedAt;
+
+    /**
+     * 作者用户名（可选，默认为当前管理员）
+     */
+    private String author;
+
+    // Getter 和 Setter 方法
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public String getContentHtml() {
+        return contentHtml;
+    }
+
+    public void setContentHtml(String contentHtml) {
+        this.contentHtml = contentHtml;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+}
@@ -0,0 +1,71 @@
+package com.xssblog.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 文章导入结果（每个条目一行 NDJSON）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArticleImportResult {
+
+    /**
+     * 条目在请求数组中的下标（从 0 开始）
+     */
+    private final int index;
+
+    /**
+     * 结果状态（CREATED / FAILED）
+     */
+    private final String status;
+
+    /**
+     * 新文章 ID（成功时）
+     */
+    private final Long id;
+
+    /**
+     * 最终使用的 slug（成功时）
+     */
+    private final String slug;
+
+    /**
+     * 失败原因（失败时）
+     */
+    private final String error;
+
+    private ArticleImportResult(int index, String status, Long id, String slug, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.slug = slug;
+        this.error = error;
+    }
+
+    public static ArticleImportResult created(int index, Long id, String slug) {
+        return new ArticleImportResult(index, "CREATED", id, slug, null);
+    }
+
+    public static ArticleImportResult failed(int index, String error) {
+        return new ArticleImportResult(index, "FAILED", null, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
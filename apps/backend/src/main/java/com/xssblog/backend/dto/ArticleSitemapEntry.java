@@ -0,0 +1,33 @@
+package com.xssblog.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 站点地图条目（JPQL 构造器投影），同时作为 (publishedAt, id) 键集游标
+ */
+public class ArticleSitemapEntry {
+    /**
+     * 文章 ID
+     */
+    private final Long id;
+    
+    /**
+     * 发布时间
+     */
+    private final LocalDateTime publishedAt;
+
+    public ArticleSitemapEntry(Long id, LocalDateTime publishedAt) {
+        this.id = id;
+        this.publishedAt = publishedAt;
+    }
+
+    // Getter 方法
+    
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+}
@@ -1,5 +1,7 @@
 package com.xssblog.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 
 /**
@@ -12,6 +14,17 @@ public class CommentDto {
      */
     private Long id;
     
+    /**
+     * 父评论 ID（顶层评论省略该字段）
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long parentId;
+    
+    /**
+     * 嵌套深度（顶层评论为 0，前端据此缩进）
+     */
+    private Integer depth;
+    
     /**
      * 评论内容（HTML 格式）
      */
@@ -37,6 +50,22 @@ public class CommentDto {
         this.id = id;
     }
 
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
     public String getContentHtml() {
         return contentHtml;
     }
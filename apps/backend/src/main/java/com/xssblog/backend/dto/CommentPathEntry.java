@@ -0,0 +1,51 @@
+package com.xssblog.backend.dto;
+
+/**
+ * 评论路径信息（JPQL 构造器投影，回复和读取子树时使用，不读取评论内容）
+ */
+public class CommentPathEntry {
+    /**
+     * 评论 ID
+     */
+    private final Long id;
+    
+    /**
+     * 所属文章 ID
+     */
+    private final Long articleId;
+    
+    /**
+     * 物化路径
+     */
+    private final String path;
+    
+    /**
+     * 嵌套深度
+     */
+    private final Integer depth;
+
+    public CommentPathEntry(Long id, Long articleId, String path, Integer depth) {
+        this.id = id;
+        this.articleId = articleId;
+        this.path = path;
+        this.depth = depth;
+    }
+
+    // Getter 方法
+    
+    public Long getId() {
+        return id;
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+}
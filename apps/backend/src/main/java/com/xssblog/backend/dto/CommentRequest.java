@@ -14,6 +14,11 @@ public class CommentRequest {
     @NotBlank(message = "评论内容不能为空")
     @Size(max = 2000, message = "评论内容不能超过 2000 个字符")
     private String content;
+    
+    /**
+     * 回复的父评论 ID（可选，为空表示顶层评论）
+     */
+    private Long parentId;
 
     // Getter 和 Setter 方法
     
@@ -24,4 +29,12 @@ public class CommentRequest {
     public void setContent(String content) {
         this.content = content;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
 }
@@ -0,0 +1,36 @@
+package com.xssblog.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * 首页时间线的一页（键集游标分页）
+ */
+public class TimelinePage {
+    /**
+     * 文章列表（按发布时间倒序，不含正文）
+     */
+    private final List<ArticleDto> content;
+    
+    /**
+     * 下一页游标（作为 cursor 参数原样传回），没有更多内容时省略
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String nextCursor;
+
+    public TimelinePage(List<ArticleDto> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getter 方法
+    
+    public List<ArticleDto> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
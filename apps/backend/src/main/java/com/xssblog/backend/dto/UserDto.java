@@ -1,5 +1,7 @@
 package com.xssblog.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 
 /**
@@ -47,6 +49,18 @@ public class UserDto {
      * 创建时间
      */
     private LocalDateTime createdAt;
+    
+    /**
+     * 粉丝数（只有用户主页返回；嵌套的作者信息中省略）
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer followersCount;
+    
+    /**
+     * 关注数（同上）
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer followingCount;
 
     // Getter 和 Setter 方法
     
@@ -113,4 +127,20 @@ public class UserDto {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Integer getFollowersCount() {
+        return followersCount;
+    }
+
+    public void setFollowersCount(Integer followersCount) {
+        this.followersCount = followersCount;
+    }
+
+    public Integer getFollowingCount() {
+        return followingCount;
+    }
+
+    public void setFollowingCount(Integer followingCount) {
+        this.followingCount = followingCount;
+    }
 }
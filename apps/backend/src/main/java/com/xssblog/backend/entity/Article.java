@@ -2,6 +2,7 @@ package com.xssblog.backend.entity;
 
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
@@ -11,6 +12,8 @@ import java.util.Set;
 /**
  * 文章实体类
  * 用于存储博客文章信息
+ * 
+ * 正文存放在 article_bodies 表（见 ArticleBody），加载文章时不读取正文。
  */
 @Entity
 @Table(name = "articles")
@@ -18,10 +21,13 @@ import java.util.Set;
 public class Article {
     
     /**
-     * 文章 ID（数据库自增主键）
+     * 文章 ID（id_sequences 表按块分配，见 IdSequenceInitializer）
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "article_id")
+    @TableGenerator(name = "article_id", table = "id_sequences",
+        pkColumnName = "sequence_name", valueColumnName = "next_val",
+        pkColumnValue = "articles", allocationSize = 50)
     private Long id;
     
     /**
@@ -49,18 +55,21 @@ public class Article {
     @Column(length = 240)
     private String excerpt;
     
-    /**
-     * 文章内容（HTML 格式）
-     */
-    @Column(name = "content_html", columnDefinition = "LONGTEXT")
-    private String contentHtml;
-    
     /**
      * 点赞数
      */
     @Column(name = "likes_count", nullable = false)
     private Integer likesCount = 0;
     
+    /**
+     * 评论数（冗余计数）
+     * 
+     * 由 ArticleRepository 的原子 UPDATE 在评论增删的同一事务中维护，
+     * 实体本身不写回该列，避免并发下用过期值覆盖计数。
+     */
+    @Column(name = "comments_count", nullable = false, updatable = false)
+    private Integer commentsCount = 0;
+    
     /**
      * 发布时间
      */
@@ -74,6 +83,13 @@ public class Article {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    /**
+     * 最后修改时间（自动填充，静态快照据此增量重新生成）
+     */
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
     /**
      * 文章标签列表
      */
@@ -133,14 +149,6 @@ public class Article {
         this.excerpt = excerpt;
     }
 
-    public String getContentHtml() {
-        return contentHtml;
-    }
-
-    public void setContentHtml(String contentHtml) {
-        this.contentHtml = contentHtml;
-    }
-
     public Integer getLikesCount() {
         return likesCount;
     }
@@ -149,6 +157,14 @@ public class Article {
         this.likesCount = likesCount;
     }
 
+    public Integer getCommentsCount() {
+        return commentsCount;
+    }
+
+    public void setCommentsCount(Integer commentsCount) {
+        this.commentsCount = commentsCount;
+    }
+
     public LocalDateTime getPublishedAt() {
         return publishedAt;
     }
@@ -165,6 +181,14 @@ public class Article {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public Set<Tag> getTags() {
         return tags;
     }
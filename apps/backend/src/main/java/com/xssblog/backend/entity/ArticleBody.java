@@ -0,0 +1,63 @@
+package com.xssblog.backend.entity;
+
+import com.xssblog.backend.common.compression.CompressedTextConverter;
+import jakarta.persistence.*;
+
+/**
+ * 文章正文实体类
+ * 
+ * 正文（LONGTEXT）与 articles 表拆分，主键即文章 ID。加载 Article 不会读取正文，
+ * 只有文章详情和静态快照按文章 ID 查询本表。
+ */
+@Entity
+@Table(name = "article_bodies")
+public class ArticleBody {
+    
+    /**
+     * 文章 ID（与所属文章共享主键）
+     */
+    @Id
+    @Column(name = "article_id")
+    private Long articleId;
+    
+    /**
+     * 所属文章（延迟加载，读取正文时不加载文章）
+     */
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "article_id")
+    private Article article;
+    
+    /**
+     * 文章内容（HTML 格式，较长时压缩存储）
+     */
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "content_html", columnDefinition = "LONGTEXT")
+    private String contentHtml;
+
+    // Getter 和 Setter 方法
+    
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public void setArticleId(Long articleId) {
+        this.articleId = articleId;
+    }
+
+    public Article getArticle() {
+        return article;
+    }
+
+    public void setArticle(Article article) {
+        this.article = article;
+    }
+
+    public String getContentHtml() {
+        return contentHtml;
+    }
+
+    public void setContentHtml(String contentHtml) {
+        this.contentHtml = contentHtml;
+    }
+}
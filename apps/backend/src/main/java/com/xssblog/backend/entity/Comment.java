@@ -1,5 +1,6 @@
 package com.xssblog.backend.entity;
 
+import com.xssblog.backend.common.compression.CompressedTextConverter;
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -9,6 +10,9 @@ import java.time.LocalDateTime;
 /**
  * 评论实体类
  * 用于存储用户对文章的评论
+ * 
+ * 支持楼中楼回复：parent 为直接父评论，path 为物化路径（见 CommentPath），
+ * 一整个讨论或子树通过 (article_id, path) 索引范围查询一次读出。
  */
 @Entity
 @Table(name = "comments")
@@ -16,10 +20,13 @@ import java.time.LocalDateTime;
 public class Comment {
     
     /**
-     * 评论 ID（数据库自增主键）
+     * 评论 ID（id_sequences 表按块分配，见 IdSequenceInitializer）
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comment_id")
+    @TableGenerator(name = "comment_id", table = "id_sequences",
+        pkColumnName = "sequence_name", valueColumnName = "next_val",
+        pkColumnValue = "comments", allocationSize = 50)
     private Long id;
     
     /**
@@ -37,8 +44,37 @@ public class Comment {
     private User user;
     
     /**
-     * 评论内容（HTML 格式）
+     * 父评论（顶层评论为 null）
      */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id", updatable = false)
+    private Comment parent;
+    
+    /**
+     * 物化路径（祖先评论 ID 片段 + 自身 ID 片段，插入时生成）
+     * 
+     * 保存前设置为父评论的 path（顶层评论为空串），插入时追加自身 ID 片段。
+     */
+    @CommentPath
+    @Column(nullable = false, length = 255, updatable = false)
+    private String path;
+    
+    /**
+     * 嵌套深度（顶层评论为 0）
+     */
+    @Column(nullable = false, updatable = false)
+    private Integer depth = 0;
+    
+    /**
+     * 直接回复数（由 CommentRepository 的原子 UPDATE 维护，实体不写回该列）
+     */
+    @Column(name = "replies_count", nullable = false, updatable = false)
+    private Integer repliesCount = 0;
+    
+    /**
+     * 评论内容（HTML 格式，较长时压缩存储）
+     */
+    @Convert(converter = CompressedTextConverter.class)
     @Column(name = "content_html", columnDefinition = "TEXT")
     private String contentHtml;
     
@@ -75,6 +111,38 @@ public class Comment {
         this.user = user;
     }
 
+    public Comment getParent() {
+        return parent;
+    }
+
+    public void setParent(Comment parent) {
+        this.parent = parent;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    public Integer getRepliesCount() {
+        return repliesCount;
+    }
+
+    public void setRepliesCount(Integer repliesCount) {
+        this.repliesCount = repliesCount;
+    }
+
     public String getContentHtml() {
         return contentHtml;
     }
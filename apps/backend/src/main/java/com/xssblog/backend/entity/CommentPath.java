@@ -0,0 +1,20 @@
+package com.xssblog.backend.entity;
+
+import org.hibernate.annotations.ValueGenerationType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 评论物化路径
+ *
+ * 标注的字段在插入时由 CommentPathGenerator 生成：字段当前值（父评论的 path，顶层评论为空串）
+ * 加上评论自身 ID 的定长片段。自身 ID 在 persist 时才由 id_sequences 分配，因此在执行 INSERT 前生成。
+ */
+@ValueGenerationType(generatedBy = CommentPathGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface CommentPath {
+}
@@ -0,0 +1,43 @@
+package com.xssblog.backend.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+/**
+ * 评论物化路径生成器（见 CommentPath）
+ *
+ * 每一级片段为评论 ID 的 12 位十进制、左补零，字典序与 ID 顺序一致，
+ * 因此同一父评论下的回复按发表先后排列。与 V7 迁移中回填已有评论的规则相同。
+ */
+public class CommentPathGenerator implements BeforeExecutionGenerator {
+
+    /**
+     * 每一级路径片段的长度
+     */
+    public static final int SEGMENT_LENGTH = 12;
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner,
+                           Object currentValue, EventType eventType) {
+        Comment comment = (Comment) owner;
+        String parentPath = currentValue == null ? "" : (String) currentValue;
+        return parentPath + segment(comment.getId());
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    /**
+     * 评论 ID 对应的路径片段
+     */
+    public static String segment(long id) {
+        String digits = Long.toString(id);
+        return "0".repeat(Math.max(0, SEGMENT_LENGTH - digits.length())) + digits;
+    }
+}
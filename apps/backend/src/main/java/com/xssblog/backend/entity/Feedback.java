@@ -20,10 +20,13 @@ import java.time.LocalDateTime;
 public class Feedback {
     
     /**
-     * 反馈 ID（数据库自增主键）
+     * 反馈 ID（id_sequences 表按块分配，见 IdSequenceInitializer）
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "feedback_id")
+    @TableGenerator(name = "feedback_id", table = "id_sequences",
+        pkColumnName = "sequence_name", valueColumnName = "next_val",
+        pkColumnValue = "feedbacks", allocationSize = 50)
     private Long id;
     
     /**
@@ -1,5 +1,6 @@
 package com.xssblog.backend.entity;
 
+import com.xssblog.backend.common.compression.CompressedTextConverter;
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -26,10 +27,13 @@ import java.util.Set;
 public class User {
     
     /**
-     * 用户唯一标识（数据库自增主键）
+     * 用户唯一标识（id_sequences 表按块分配，见 IdSequenceInitializer）
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(name = "user_id", table = "id_sequences",
+        pkColumnName = "sequence_name", valueColumnName = "next_val",
+        pkColumnValue = "users", allocationSize = 50)
     private Long id;
     
     /**
@@ -72,7 +76,9 @@ public class User {
     /**
      * 用户简介（Bio）
      * 注意：此字段在 VULN 模式下存在 XSS 风险
+     * 较长时压缩存储
      */
+    @Convert(converter = CompressedTextConverter.class)
     @Column(columnDefinition = "TEXT")
     private String bio;
     
@@ -101,6 +107,27 @@ public class User {
      */
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Comment> comments = new HashSet<>();
+    
+    /**
+     * 关注的用户（user_follows 表，只用于查询；关注关系由 FollowService 写入）
+     */
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "user_follows",
+        joinColumns = @JoinColumn(name = "follower_id"),
+        inverseJoinColumns = @JoinColumn(name = "followee_id"))
+    private Set<User> following = new HashSet<>();
+    
+    /**
+     * 粉丝数（由关注 / 取消关注时的原子 UPDATE 维护，实体不写回该列）
+     */
+    @Column(name = "followers_count", nullable = false, updatable = false)
+    private Integer followersCount = 0;
+    
+    /**
+     * 关注数（同上）
+     */
+    @Column(name = "following_count", nullable = false, updatable = false)
+    private Integer followingCount = 0;
 
     /**
      * 用户角色枚举
@@ -209,4 +236,28 @@ public class User {
     public void setComments(Set<Comment> comments) {
         this.comments = comments;
     }
+
+    public Set<User> getFollowing() {
+        return following;
+    }
+
+    public void setFollowing(Set<User> following) {
+        this.following = following;
+    }
+
+    public Integer getFollowersCount() {
+        return followersCount;
+    }
+
+    public void setFollowersCount(Integer followersCount) {
+        this.followersCount = followersCount;
+    }
+
+    public Integer getFollowingCount() {
+        return followingCount;
+    }
+
+    public void setFollowingCount(Integer followingCount) {
+        this.followingCount = followingCount;
+    }
 }
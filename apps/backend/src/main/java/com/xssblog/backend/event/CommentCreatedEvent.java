@@ -0,0 +1,35 @@
+package com.xssblog.backend.event;
+
+import com.xssblog.backend.dto.CommentDto;
+
+/**
+ * 评论创建事件
+ *
+ * 由 ArticleService.createComment 发布，事务提交后由 CommentStreamBroadcaster
+ * 推送给订阅了该文章评论流的客户端。
+ */
+public class CommentCreatedEvent {
+
+    /**
+     * 评论所属文章 ID
+     */
+    private final Long articleId;
+
+    /**
+     * 新创建的评论
+     */
+    private final CommentDto comment;
+
+    public CommentCreatedEvent(Long articleId, CommentDto comment) {
+        this.articleId = articleId;
+        this.comment = comment;
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public CommentDto getComment() {
+        return comment;
+    }
+}
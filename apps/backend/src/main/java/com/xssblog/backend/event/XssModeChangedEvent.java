@@ -0,0 +1,43 @@
+package com.xssblog.backend.event;
+
+/**
+ * XSS 模式变更事件
+ *
+ * 由 XssModeRegistry 在本实例的模式实际发生变化时发布（无论变更来自本实例还是其他实例），
+ * 依赖模式的缓存（如文章静态快照）监听此事件并失效。
+ */
+public class XssModeChangedEvent {
+
+    /**
+     * 变更前的模式
+     */
+    private final String previousMode;
+
+    /**
+     * 变更后的模式
+     */
+    private final String mode;
+
+    /**
+     * 变更日志版本号（config_changes.version）
+     */
+    private final long version;
+
+    public XssModeChangedEvent(String previousMode, String mode, long version) {
+        this.previousMode = previousMode;
+        this.mode = mode;
+        this.version = version;
+    }
+
+    public String getPreviousMode() {
+        return previousMode;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
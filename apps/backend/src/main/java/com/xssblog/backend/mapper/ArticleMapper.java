@@ -32,12 +32,23 @@ public class ArticleMapper {
     }
     
     /**
-     * 将文章实体转换为 DTO（包含完整信息）
+     * 将文章实体转换为 DTO（不含正文，用于列表）
      * 
      * @param article 文章实体对象
      * @return ArticleDto 数据传输对象
      */
     public ArticleDto toDto(Article article) {
+        return toDto(article, null);
+    }
+    
+    /**
+     * 将文章实体转换为 DTO（包含完整信息）
+     * 
+     * @param article 文章实体对象
+     * @param contentHtml 文章正文（来自 article_bodies）
+     * @return ArticleDto 数据传输对象
+     */
+    public ArticleDto toDto(Article article, String contentHtml) {
         if (article == null) {
             return null;
         }
@@ -47,8 +58,9 @@ public class ArticleMapper {
         dto.setTitle(article.getTitle());
         dto.setSlug(article.getSlug());
         dto.setExcerpt(article.getExcerpt());
-        dto.setContentHtml(article.getContentHtml());
+        dto.setContentHtml(contentHtml);
         dto.setLikesCount(article.getLikesCount());
+        dto.setCommentsCount(article.getCommentsCount());
         dto.setPublishedAt(article.getPublishedAt());
         dto.setCreatedAt(article.getCreatedAt());
         
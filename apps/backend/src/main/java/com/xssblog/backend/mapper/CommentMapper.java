@@ -38,6 +38,9 @@ public class CommentMapper {
         
         CommentDto dto = new CommentDto();
         dto.setId(comment.getId());
+        // 父评论为未初始化的代理时取 ID 不会触发查询
+        dto.setParentId(comment.getParent() == null ? null : comment.getParent().getId());
+        dto.setDepth(comment.getDepth());
         dto.setContentHtml(comment.getContentHtml());
         dto.setCreatedAt(comment.getCreatedAt());
         
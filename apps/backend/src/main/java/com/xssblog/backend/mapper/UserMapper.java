@@ -35,6 +35,8 @@ public class UserMapper {
         dto.setBannerUrl(user.getBannerUrl());
         dto.setBio(user.getBio());
         dto.setCreatedAt(user.getCreatedAt());
+        dto.setFollowersCount(user.getFollowersCount());
+        dto.setFollowingCount(user.getFollowingCount());
         return dto;
     }
     
@@ -0,0 +1,40 @@
+package com.xssblog.backend.monitoring;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource 代理后置处理器
+ *
+ * 将应用的主 DataSource（bean 名称为 dataSource）包装为 datasource-proxy 代理，
+ * 使所有经过 JPA / JdbcTemplate 的 SQL 都能被 QueryCountingListener 统计。
+ *
+ * 只包装主 DataSource，避免连接池被重复包装导致语句被计数两次。
+ */
+@Component
+@ConditionalOnProperty(prefix = "monitoring.query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    /**
+     * 需要被代理的 DataSource bean 名称
+     */
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)) {
+            QueryCountingListener listener = new QueryCountingListener();
+            return ProxyDataSourceBuilder.create(dataSource)
+                .name(DATA_SOURCE_BEAN)
+                .listener(listener)
+                .methodListener(listener)
+                .proxyResultSet()
+                .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,56 @@
+package com.xssblog.backend.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * datasource-proxy 监听器
+ *
+ * 将每次 JDBC 调用累加到当前请求的 QueryStats 中：
+ * - QueryExecutionListener：统计语句数、JDBC 耗时和 SQL 形状
+ * - MethodExecutionListener：统计 ResultSet.next() 读取的行数
+ *
+ * 不在 HTTP 请求范围内的调用（启动、定时任务）直接忽略。
+ */
+public class QueryCountingListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.statementStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            String sql = queryInfoList.isEmpty() ? null : queryInfoList.get(0).getQuery();
+            stats.statementFinished(sql);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        // 只关心方法执行结果
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            QueryStats stats = QueryStats.current();
+            if (stats != null) {
+                stats.rowFetched();
+            }
+        }
+    }
+}
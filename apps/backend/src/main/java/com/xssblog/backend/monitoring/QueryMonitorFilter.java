@@ -0,0 +1,108 @@
+package com.xssblog.backend.monitoring;
+
+import com.xssblog.backend.config.QueryMonitorProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 查询监控过滤器
+ * 为每个 HTTP 请求开启 QueryStats 统计，请求结束后：
+ * - 记录 Micrometer 指标（按接口维度）：xssblog.jdbc.time / xssblog.jdbc.statements / xssblog.jdbc.rows
+ * - 语句数超出预算时输出告警日志，附带重复次数最多的 SQL 形状（N+1 查询线索）
+ *
+ * 过滤器以最高优先级执行，覆盖 Spring Security 过滤器链中的数据库访问。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "monitoring.query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMonitorFilter extends OncePerRequestFilter {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(QueryMonitorFilter.class);
+
+    private final QueryMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public QueryMonitorFilter(QueryMonitorProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryStats stats = QueryStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStats.end();
+            record(request, stats);
+        }
+    }
+
+    /**
+     * 记录指标并检查语句预算
+     */
+    private void record(HttpServletRequest request, QueryStats stats) {
+        // 使用路由模板作为 uri 标签，避免路径参数导致指标基数爆炸
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        Timer.builder("xssblog.jdbc.time")
+            .description("JDBC time spent per HTTP request")
+            .tag("method", method)
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("xssblog.jdbc.statements")
+            .description("SQL statements executed per HTTP request")
+            .tag("method", method)
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(stats.getStatements());
+        DistributionSummary.builder("xssblog.jdbc.rows")
+            .description("Rows fetched per HTTP request")
+            .tag("method", method)
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(stats.getRows());
+
+        String endpoint = method + " " + uri;
+        int budget = properties.budgetFor(endpoint);
+        if (stats.getStatements() > budget) {
+            Map.Entry<String, Integer> shape = stats.mostRepeatedShape();
+            log.warn("Query budget exceeded on {}: {} statements (budget {}), {} rows, {} ms JDBC; most repeated ({}x): {}",
+                endpoint,
+                stats.getStatements(),
+                budget,
+                stats.getRows(),
+                TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos()),
+                shape.getValue(),
+                shape.getKey());
+        }
+    }
+}
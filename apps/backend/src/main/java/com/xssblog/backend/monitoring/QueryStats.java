@@ -0,0 +1,135 @@
+package com.xssblog.backend.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 单个请求的 SQL 执行统计
+ *
+ * 通过 ThreadLocal 绑定到当前请求线程，由 QueryMonitorFilter 负责开启和关闭，
+ * 由 QueryCountingListener 在每次 JDBC 调用时累加。
+ *
+ * 统计内容：
+ * - 语句数（批量执行算一次往返）
+ * - 读取的行数（ResultSet.next() 返回 true 的次数）
+ * - JDBC 耗时（纳秒）
+ * - SQL 形状出现次数（用于定位 N+1 查询）
+ */
+public class QueryStats {
+
+    /**
+     * 单个请求最多记录的不同 SQL 形状数量，防止异常请求占用过多内存
+     */
+    private static final int MAX_SHAPES = 64;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    private long statementStartNanos;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    /**
+     * 为当前线程开启新的统计
+     *
+     * @return 新建的统计对象
+     */
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * 获取当前线程的统计对象
+     *
+     * @return 统计对象，不在请求范围内时返回 null
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 结束当前线程的统计
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 记录语句开始执行
+     */
+    void statementStarted() {
+        statementStartNanos = System.nanoTime();
+    }
+
+    /**
+     * 记录语句执行完成
+     *
+     * @param sql 执行的 SQL（批量执行时为第一条）
+     */
+    void statementFinished(String sql) {
+        statements++;
+        if (statementStartNanos != 0) {
+            jdbcNanos += System.nanoTime() - statementStartNanos;
+            statementStartNanos = 0;
+        }
+        String shape = shapeOf(sql);
+        if (shapes.containsKey(shape) || shapes.size() < MAX_SHAPES) {
+            shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * 记录读取了一行结果
+     */
+    void rowFetched() {
+        rows++;
+    }
+
+    /**
+     * 获取重复次数最多的 SQL 形状
+     *
+     * @return 形状及其次数，没有执行过语句时返回 null
+     */
+    public Map.Entry<String, Integer> mostRepeatedShape() {
+        return shapes.entrySet().stream()
+            .max(Map.Entry.comparingByValue())
+            .orElse(null);
+    }
+
+    /**
+     * 将 SQL 归一化为"形状"：去掉字面量、折叠空白和 IN 列表
+     *
+     * @param sql 原始 SQL
+     * @return 归一化后的 SQL 形状
+     */
+    static String shapeOf(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("in (?)");
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+}
@@ -0,0 +1,59 @@
+package com.xssblog.backend.monitoring;
+
+import com.xssblog.backend.config.QueryMonitorProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 统计响应头
+ *
+ * 在响应体写出之前（此时业务事务已经结束、响应尚未提交）把当前请求的 SQL 统计写入响应头：
+ * - X-Query-Count：执行的 SQL 语句数
+ * - X-Query-Rows：读取的行数
+ * - X-Query-Time-Ms：JDBC 耗时（毫秒）
+ *
+ * 仅在 monitoring.query.expose-headers=true 时生效（debug profile 默认开启）。
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "monitoring.query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final QueryMonitorProperties properties;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public QueryStatsResponseAdvice(QueryMonitorProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.getExposeHeaders();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            response.getHeaders().set("X-Query-Count", String.valueOf(stats.getStatements()));
+            response.getHeaders().set("X-Query-Rows", String.valueOf(stats.getRows()));
+            response.getHeaders().set("X-Query-Time-Ms",
+                String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos())));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,187 @@
+package com.xssblog.backend.monitoring;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationFailedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.metrics.jfr.FlightRecorderApplicationStartup;
+
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * 启动耗时记录
+ *
+ * 在 SpringApplication 启动前安装 BufferingApplicationStartup，记录 Bean 实例化、
+ * Spring Data 仓库扫描/初始化、Hibernate 元模型构建、数据源预热、JwtTokenProvider.init 等启动步骤，
+ * 启动完成后可通过 /api/admin/startup 查看（见 StartupTimelineReport）。
+ *
+ * ApplicationStartup 必须在读取 application.yml 之前设置，因此使用 JVM 系统属性配置：
+ * - startup.buffer-capacity：最多记录的步骤数，默认 10000，超出部分丢弃
+ * - startup.jfr-file：设置后同时写入 JFR 事件，并将启动期间的 JFR 记录保存到该文件
+ */
+public final class StartupProfiling {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(StartupProfiling.class);
+
+    /**
+     * 默认最多记录的启动步骤数
+     */
+    private static final int DEFAULT_BUFFER_CAPACITY = 10_000;
+
+    /**
+     * Spring 启动步骤对应的 JFR 事件名
+     */
+    private static final String STARTUP_EVENT = "org.springframework.core.metrics.jfr.FlightRecorderStartupEvent";
+
+    private StartupProfiling() {
+    }
+
+    /**
+     * 为应用安装启动步骤记录器
+     *
+     * @param application 尚未启动的 SpringApplication
+     */
+    public static void configure(SpringApplication application) {
+        int capacity = Integer.getInteger("startup.buffer-capacity", DEFAULT_BUFFER_CAPACITY);
+        BufferingApplicationStartup buffering = new BufferingApplicationStartup(capacity);
+        String jfrFile = System.getProperty("startup.jfr-file");
+        if (jfrFile == null || jfrFile.isBlank()) {
+            application.setApplicationStartup(buffering);
+            return;
+        }
+        Recording recording = startRecording(Path.of(jfrFile));
+        if (recording == null) {
+            application.setApplicationStartup(buffering);
+            return;
+        }
+        application.setApplicationStartup(new TeeApplicationStartup(buffering, new FlightRecorderApplicationStartup()));
+        application.addListeners(new RecordingStopper(recording));
+    }
+
+    /**
+     * 取出记录启动步骤的 BufferingApplicationStartup（同时写入 JFR 时它位于 TeeApplicationStartup 内）
+     *
+     * @param startup 应用上下文中的 ApplicationStartup
+     * @return 未通过 configure 安装（如测试环境）时返回 null
+     */
+    public static BufferingApplicationStartup bufferingOf(ApplicationStartup startup) {
+        ApplicationStartup recorded = startup instanceof TeeApplicationStartup tee ? tee.primary : startup;
+        return recorded instanceof BufferingApplicationStartup buffering ? buffering : null;
+    }
+
+    /**
+     * 以 JDK 默认配置开始 JFR 记录（额外开启 Spring 启动步骤事件）
+     */
+    private static Recording startRecording(Path destination) {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("xssblog-startup");
+            recording.enable(STARTUP_EVENT);
+            recording.setDestination(destination);
+            recording.start();
+            return recording;
+        } catch (Exception e) {
+            log.warn("Unable to start JFR startup recording, continuing without it", e);
+            return null;
+        }
+    }
+
+    /**
+     * 应用就绪（或启动失败）时停止 JFR 记录，停止时写入目标文件
+     */
+    private static final class RecordingStopper implements ApplicationListener<ApplicationEvent> {
+
+        private final Recording recording;
+
+        private RecordingStopper(Recording recording) {
+            this.recording = recording;
+        }
+
+        @Override
+        public void onApplicationEvent(ApplicationEvent event) {
+            if (!(event instanceof ApplicationReadyEvent) && !(event instanceof ApplicationFailedEvent)) {
+                return;
+            }
+            try {
+                recording.stop();
+                log.info("Startup JFR recording written to {}", recording.getDestination());
+            } catch (Exception e) {
+                log.warn("Unable to write JFR startup recording", e);
+            } finally {
+                recording.close();
+            }
+        }
+    }
+
+    /**
+     * 同时写入两个 ApplicationStartup（步骤 ID/父子关系以第一个为准）
+     */
+    private static final class TeeApplicationStartup implements ApplicationStartup {
+
+        private final ApplicationStartup primary;
+        private final ApplicationStartup secondary;
+
+        private TeeApplicationStartup(ApplicationStartup primary, ApplicationStartup secondary) {
+            this.primary = primary;
+            this.secondary = secondary;
+        }
+
+        @Override
+        public StartupStep start(String name) {
+            return new TeeStartupStep(primary.start(name), secondary.start(name));
+        }
+    }
+
+    private record TeeStartupStep(StartupStep primary, StartupStep secondary) implements StartupStep {
+
+        @Override
+        public String getName() {
+            return primary.getName();
+        }
+
+        @Override
+        public long getId() {
+            return primary.getId();
+        }
+
+        @Override
+        public Long getParentId() {
+            return primary.getParentId();
+        }
+
+        @Override
+        public Tags getTags() {
+            return primary.getTags();
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            primary.tag(key, value);
+            secondary.tag(key, value);
+            return this;
+        }
+
+        @Override
+        public StartupStep tag(String key, Supplier<String> value) {
+            return tag(key, value.get());
+        }
+
+        @Override
+        public void end() {
+            secondary.end();
+            primary.end();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.xssblog.backend.monitoring;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 启动步骤后置处理器
+ *
+ * Spring 自带的 spring.beans.instantiate 步骤只记录整个 Bean 的创建耗时，
+ * 这里为关键 Bean 的初始化阶段（afterPropertiesSet / init 方法）单独记录步骤：
+ * - entityManagerFactory：Hibernate 解析实体映射并构建元模型
+ */
+@Component
+public class StartupStepBeanPostProcessor implements BeanPostProcessor, ApplicationStartupAware {
+
+    /**
+     * Bean 名称 -> 启动步骤名称
+     */
+    private static final Map<String, String> STEPS = Map.of(
+        "entityManagerFactory", "xssblog.hibernate.metamodel"
+    );
+
+    private final Map<String, StartupStep> running = new ConcurrentHashMap<>();
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        String stepName = STEPS.get(beanName);
+        if (stepName != null) {
+            running.put(beanName, applicationStartup.start(stepName).tag("beanName", beanName));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        StartupStep step = running.remove(beanName);
+        if (step != null) {
+            if (bean instanceof AbstractEntityManagerFactoryBean factoryBean) {
+                EntityManagerFactory emf = factoryBean.getNativeEntityManagerFactory();
+                step.tag("entities", String.valueOf(emf.getMetamodel().getEntities().size()));
+            }
+            step.end();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,99 @@
+package com.xssblog.backend.monitoring;
+
+import com.xssblog.backend.common.enums.ErrorCode;
+import com.xssblog.backend.common.exception.BusinessException;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 启动耗时报告
+ *
+ * 将 BufferingApplicationStartup 记录的启动步骤（设置 startup.jfr-file 时同样可用）整理为 JSON 友好的结构：
+ * - summary：按步骤名称汇总次数和总耗时（嵌套步骤的耗时会同时计入父步骤）
+ * - steps：耗时最长的步骤明细，包含父步骤 ID 和标签（如 beanName）
+ *
+ * 只读取缓冲区，不清空，可以重复查看。
+ */
+@Component
+public class StartupTimelineReport {
+
+    private final ApplicationStartup applicationStartup;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public StartupTimelineReport(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    /**
+     * 生成启动耗时报告
+     *
+     * @param limit 返回的步骤明细数量上限（按耗时倒序）
+     * @param minMillis 只返回耗时不少于该值的步骤
+     * @return 报告数据
+     * @throws BusinessException 应用未以 StartupProfiling 启动（如测试环境）时抛出（404）
+     */
+    public Map<String, Object> generate(int limit, long minMillis) {
+        BufferingApplicationStartup buffering = StartupProfiling.bufferingOf(applicationStartup);
+        if (buffering == null) {
+            throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Startup timeline is not being recorded");
+        }
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            Map<String, Object> entry = summary.computeIfAbsent(event.getStartupStep().getName(), name -> {
+                Map<String, Object> initial = new LinkedHashMap<>();
+                initial.put("count", 0);
+                initial.put("totalMillis", 0L);
+                return initial;
+            });
+            entry.merge("count", 1, (a, b) -> (Integer) a + (Integer) b);
+            entry.merge("totalMillis", event.getDuration().toMillis(), (a, b) -> (Long) a + (Long) b);
+        }
+
+        List<Map<String, Object>> steps = events.stream()
+            .filter(event -> event.getDuration().toMillis() >= minMillis)
+            .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+            .limit(limit)
+            .map(event -> toStep(timeline, event))
+            .toList();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startTime", timeline.getStartTime());
+        report.put("totalMillis", events.stream()
+            .map(event -> Duration.between(timeline.getStartTime(), event.getEndTime()).toMillis())
+            .max(Long::compare)
+            .orElse(0L));
+        report.put("recordedSteps", events.size());
+        report.put("summary", summary);
+        report.put("steps", steps);
+        return report;
+    }
+
+    private static Map<String, Object> toStep(StartupTimeline timeline, StartupTimeline.TimelineEvent event) {
+        StartupStep step = event.getStartupStep();
+        Map<String, String> tags = new LinkedHashMap<>();
+        step.getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", step.getId());
+        result.put("parentId", step.getParentId());
+        result.put("name", step.getName());
+        result.put("tags", tags);
+        result.put("startOffsetMillis", Duration.between(timeline.getStartTime(), event.getStartTime()).toMillis());
+        result.put("durationMillis", event.getDuration().toMillis());
+        return result;
+    }
+}
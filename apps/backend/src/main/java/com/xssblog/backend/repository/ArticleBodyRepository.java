@@ -0,0 +1,31 @@
+package com.xssblog.backend.repository;
+
+import com.xssblog.backend.entity.ArticleBody;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 文章正文仓库接口
+ * 
+ * 只在确实需要正文时使用（文章详情、静态快照），列表类查询不访问本表。
+ */
+@Repository
+public interface ArticleBodyRepository extends JpaRepository<ArticleBody, Long> {
+    
+    /**
+     * 查询文章正文（只取一列，不把正文实体放入持久化上下文）
+     */
+    @Query("SELECT b.contentHtml FROM ArticleBody b WHERE b.articleId = :articleId")
+    Optional<String> findContentHtmlByArticleId(@Param("articleId") Long articleId);
+    
+    /**
+     * 批量查询文章正文（静态快照批量重新生成）
+     */
+    List<ArticleBody> findByArticleIdIn(Collection<Long> articleIds);
+}
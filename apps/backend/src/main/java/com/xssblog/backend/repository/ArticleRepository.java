@@ -1,17 +1,28 @@
 package com.xssblog.backend.repository;
 
+import com.xssblog.backend.dto.ArticleFeedEntry;
+import com.xssblog.backend.dto.ArticleSitemapEntry;
 import com.xssblog.backend.entity.Article;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * 文章仓库接口
  * 使用 EntityGraph 优化关联查询，解决 N+1 查询问题
+ * 
+ * 分页查询只预加载 ToOne 关联（作者），标签集合由 default_batch_fetch_size 批量加载，
+ * 避免集合 fetch join 与分页同时使用时 Hibernate 退化为内存分页。
  */
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
@@ -24,14 +35,113 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     Optional<Article> findBySlug(String slug);
     
     /**
-     * 查询所有文章（按发布时间降序，预加载作者和标签）
+     * 查询所有文章（按发布时间降序，预加载作者，标签批量加载）
      */
-    @EntityGraph(attributePaths = {"author", "tags"})
+    @EntityGraph(attributePaths = {"author"})
     Page<Article> findAllByOrderByPublishedAtDesc(Pageable pageable);
     
     /**
-     * 查询指定作者的文章（按发布时间降序，预加载作者和标签）
+     * 查询指定作者的文章（按发布时间降序，预加载作者，标签批量加载）
      */
-    @EntityGraph(attributePaths = {"author", "tags"})
+    @EntityGraph(attributePaths = {"author"})
     Page<Article> findByAuthorUsernameOrderByPublishedAtDesc(String username, Pageable pageable);
+    
+    /**
+     * 评论数 +1（原子更新，需在评论写入的同一事务中调用）
+     * 
+     * @return 更新的行数，0 表示文章不存在
+     */
+    @Modifying
+    @Query("UPDATE Article a SET a.commentsCount = a.commentsCount + 1 WHERE a.id = :id")
+    int incrementCommentsCount(@Param("id") Long id);
+    
+    /**
+     * 评论数减少 count（原子更新，不会减到负数；删除评论时连同其回复一起扣减）
+     * 
+     * @return 更新的行数
+     */
+    @Modifying
+    @Query("UPDATE Article a SET a.commentsCount = CASE WHEN a.commentsCount > :count THEN a.commentsCount - :count ELSE 0 END "
+         + "WHERE a.id = :id")
+    int decrementCommentsCount(@Param("id") Long id, @Param("count") int count);
+    
+    /**
+     * 按 ID 区间 (fromId, toId] 重新计算评论数，只更新与实际不一致的行
+     * 
+     * @return 修正的行数
+     */
+    @Modifying
+    @Query("UPDATE Article a SET a.commentsCount = (SELECT COUNT(c) FROM Comment c WHERE c.article.id = a.id) "
+         + "WHERE a.id > :fromId AND a.id <= :toId "
+         + "AND a.commentsCount <> (SELECT COUNT(c) FROM Comment c WHERE c.article.id = a.id)")
+    int reconcileCommentsCount(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    /**
+     * 最大文章 ID（对账任务的扫描上界）
+     */
+    @Query("SELECT MAX(a.id) FROM Article a")
+    Long findMaxId();
+    
+    /**
+     * 最新发布的文章（订阅源），只投影需要的列，不加载实体
+     */
+    @Query("SELECT new com.xssblog.backend.dto.ArticleFeedEntry(a.id, a.title, a.excerpt, u.username, a.publishedAt) "
+         + "FROM Article a JOIN a.author u WHERE a.publishedAt IS NOT NULL "
+         + "ORDER BY a.publishedAt DESC, a.id DESC")
+    List<ArticleFeedEntry> findLatestFeedEntries(Pageable pageable);
+    
+    /**
+     * 按 (publishedAt, id) 升序读取第一批已发布文章（站点地图键集游标起点）
+     * 
+     * InnoDB 二级索引隐含主键列，idx_published_at 即可满足该排序，无需回表排序
+     */
+    @Query("SELECT new com.xssblog.backend.dto.ArticleSitemapEntry(a.id, a.publishedAt) "
+         + "FROM Article a WHERE a.publishedAt IS NOT NULL "
+         + "ORDER BY a.publishedAt, a.id")
+    List<ArticleSitemapEntry> findFirstSitemapEntries(Pageable pageable);
+    
+    /**
+     * 按 (publishedAt, id) 升序读取游标之后的一批已发布文章
+     */
+    @Query("SELECT new com.xssblog.backend.dto.ArticleSitemapEntry(a.id, a.publishedAt) "
+         + "FROM Article a WHERE a.publishedAt > :publishedAt "
+         + "OR (a.publishedAt = :publishedAt AND a.id > :id) "
+         + "ORDER BY a.publishedAt, a.id")
+    List<ArticleSitemapEntry> findSitemapEntriesAfter(@Param("publishedAt") LocalDateTime publishedAt,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
+    
+    /**
+     * 已发布文章总数
+     */
+    long countByPublishedAtIsNotNull();
+    
+    /**
+     * 游标之后的已发布文章数（判断变更是否只是追加了新文章）
+     */
+    @Query("SELECT COUNT(a) FROM Article a WHERE a.publishedAt > :publishedAt "
+         + "OR (a.publishedAt = :publishedAt AND a.id > :id)")
+    long countPublishedAfter(@Param("publishedAt") LocalDateTime publishedAt, @Param("id") Long id);
+    
+    /**
+     * 修改时间在 (since, until] 内的文章 ID（按 ID 键集分页，时间窗口固定）
+     */
+    @Query("SELECT a.id FROM Article a WHERE a.updatedAt > :since AND a.updatedAt <= :until "
+         + "AND a.id > :afterId ORDER BY a.id")
+    List<Long> findIdsUpdatedBetween(@Param("since") LocalDateTime since,
+                                     @Param("until") LocalDateTime until,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+    
+    /**
+     * 在给定 slug 中找出仍属于已发布文章的 slug（快照全量清理）
+     */
+    @Query("SELECT a.slug FROM Article a WHERE a.slug IN :slugs AND a.publishedAt IS NOT NULL")
+    List<String> findPublishedSlugs(@Param("slugs") Collection<String> slugs);
+    
+    /**
+     * 批量加载文章（预加载作者和标签，不分页）
+     */
+    @EntityGraph(attributePaths = {"author", "tags"})
+    List<Article> findByIdIn(Collection<Long> ids);
 }
@@ -1,11 +1,16 @@
 package com.xssblog.backend.repository;
 
+import com.xssblog.backend.dto.CommentPathEntry;
 import com.xssblog.backend.entity.Comment;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 评论仓库接口
@@ -20,4 +25,68 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
      */
     @EntityGraph(attributePaths = {"user"})
     List<Comment> findByArticleIdOrderByCreatedAtDesc(Long articleId);
+    
+    /**
+     * 根据 ID 查询评论（预加载用户信息，用于删除前的归属校验）
+     */
+    @EntityGraph(attributePaths = {"user"})
+    Optional<Comment> findWithUserById(Long id);
+    
+    /**
+     * 按物化路径读取讨论串（预加载用户信息）
+     * 
+     * (article_id, path) 索引上的一次范围扫描，结果按 path 排序即为渲染顺序（父评论在前，回复按发表先后），
+     * 代价只与返回的评论数有关，与嵌套深度无关。
+     * 
+     * @param articleId 文章 ID
+     * @param pathPattern 子树根评论的 path + "%"（整篇文章传 "%"）
+     * @param maxDepth 最大深度（绝对值）
+     */
+    @EntityGraph(attributePaths = {"user"})
+    @Query("SELECT c FROM Comment c WHERE c.article.id = :articleId AND c.path LIKE :pathPattern "
+         + "AND c.depth <= :maxDepth ORDER BY c.path")
+    List<Comment> findThread(@Param("articleId") Long articleId,
+                             @Param("pathPattern") String pathPattern,
+                             @Param("maxDepth") int maxDepth);
+    
+    /**
+     * 查询评论的路径信息（不读取评论内容）
+     */
+    @Query("SELECT new com.xssblog.backend.dto.CommentPathEntry(c.id, c.article.id, c.path, c.depth) "
+         + "FROM Comment c WHERE c.id = :id")
+    Optional<CommentPathEntry> findPathById(@Param("id") Long id);
+    
+    /**
+     * 回复数 +1（原子更新，达到上限时不更新）
+     * 
+     * @return 更新的行数，0 表示评论不存在或回复数已达上限
+     */
+    @Modifying
+    @Query("UPDATE Comment c SET c.repliesCount = c.repliesCount + 1 WHERE c.id = :id AND c.repliesCount < :maxReplies")
+    int incrementRepliesCount(@Param("id") Long id, @Param("maxReplies") int maxReplies);
+    
+    /**
+     * 回复数 -1（原子更新，不会减到负数）
+     */
+    @Modifying
+    @Query("UPDATE Comment c SET c.repliesCount = c.repliesCount - 1 WHERE c.id = :id AND c.repliesCount > 0")
+    int decrementRepliesCount(@Param("id") Long id);
+    
+    /**
+     * 统计评论及其全部回复的数量（同一段 path 范围）
+     */
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.article.id = :articleId AND c.path LIKE :pathPattern")
+    long countThread(@Param("articleId") Long articleId, @Param("pathPattern") String pathPattern);
+    
+    /**
+     * 删除评论及其全部回复（同一段 path 范围）
+     * 
+     * 返回值不含经 fk_comments_parent 级联删除的行（MySQL 先删到父评论时，其回复由级联删除），
+     * 需要删除数量时先调用 countThread。
+     * 
+     * @return 本语句直接删除的评论数
+     */
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.article.id = :articleId AND c.path LIKE :pathPattern")
+    int deleteThread(@Param("articleId") Long articleId, @Param("pathPattern") String pathPattern);
 }
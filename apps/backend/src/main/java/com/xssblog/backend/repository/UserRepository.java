@@ -2,8 +2,12 @@ package com.xssblog.backend.repository;
 
 import com.xssblog.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,36 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    
+    /**
+     * 按用户名查询用户 ID（不加载实体）
+     */
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+    
+    /**
+     * 当前粉丝数
+     */
+    @Query("SELECT u.followersCount FROM User u WHERE u.id = :id")
+    int findFollowersCountById(@Param("id") Long id);
+    
+    /**
+     * 用户关注的、粉丝数达到阈值的作者（这些作者不写扩散，读取时间线时按作者查询）
+     */
+    @Query("SELECT f.id FROM User u JOIN u.following f WHERE u.id = :id AND f.followersCount >= :threshold")
+    List<Long> findPopularFollowingIds(@Param("id") Long id, @Param("threshold") int threshold);
+    
+    /**
+     * 粉丝数增减（原子更新，需在关注关系写入的同一事务中调用）
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.followersCount = u.followersCount + :delta WHERE u.id = :id")
+    int addFollowersCount(@Param("id") Long id, @Param("delta") int delta);
+    
+    /**
+     * 关注数增减（同上）
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.followingCount = u.followingCount + :delta WHERE u.id = :id")
+    int addFollowingCount(@Param("id") Long id, @Param("delta") int delta);
 }
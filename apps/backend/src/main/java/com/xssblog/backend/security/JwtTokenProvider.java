@@ -2,9 +2,12 @@ package com.xssblog.backend.security;
 
 import com.xssblog.backend.config.JwtProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
@@ -31,25 +34,36 @@ import java.util.UUID;
 public class JwtTokenProvider {
     
     private final JwtProperties jwtProperties;
+    private final ApplicationStartup applicationStartup;
     private SecretKey secretKey;
+    private JwtParser parser;
     
     /**
      * 构造函数，注入 JWT 配置
      * @param jwtProperties JWT 配置属性
+     * @param applicationStartup 启动步骤记录器（用于启动耗时分析）
      */
-    public JwtTokenProvider(JwtProperties jwtProperties) {
+    public JwtTokenProvider(JwtProperties jwtProperties, ApplicationStartup applicationStartup) {
         this.jwtProperties = jwtProperties;
+        this.applicationStartup = applicationStartup;
     }
     
     /**
      * 初始化方法，构建后自动执行
-     * 将配置的密钥字符串转换为 SecretKey 对象
+     * 将配置的密钥字符串转换为 SecretKey 对象，并预先构建（线程安全的）解析器，
+     * JJWT 实现类的加载发生在启动阶段而不是第一个请求上
      */
     @PostConstruct
     public void init() {
+        StartupStep step = applicationStartup.start("xssblog.jwt.init");
         this.secretKey = Keys.hmacShaKeyFor(
             jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8)
         );
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)  // 验证签名
+                .build();
+        step.tag("algorithm", secretKey.getAlgorithm());
+        step.end();
     }
     
     /**
@@ -82,9 +96,7 @@ public class JwtTokenProvider {
      * @throws io.jsonwebtoken.JwtException 令牌无效或过期时抛出
      */
     public Claims validateToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)  // 验证签名
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -27,6 +27,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
  * 
  * 权限访问规则：
  * - 公开访问：/api/auth/**, /api/config/**, /api/articles/**, /api/profile/**, /api/search, /api/feedback
+ * - 公开访问：/feed.xml, /sitemap.xml, /sitemap-{n}.xml（爬虫）, /snapshots/**（文章静态快照）
  * - 管理员专用：/api/admin/** (ADMIN 角色)
  * - 其他接口：需要认证
  */
@@ -84,6 +85,10 @@ public class SecurityConfig {
                 // 文章相关：查询公开，评论提交需要认证
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/articles/**").permitAll()
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/profile/**").permitAll()
+                // 订阅源与站点地图（爬虫访问）
+                .requestMatchers(org.springframework.http.HttpMethod.GET, "/feed.xml", "/sitemap.xml", "/sitemap-*.xml").permitAll()
+                // 文章静态快照（匿名读者）
+                .requestMatchers(org.springframework.http.HttpMethod.GET, "/snapshots/**").permitAll()
                 // 管理员接口（仅 ADMIN 角色可访问）
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 // 其他所有请求均需认证
@@ -0,0 +1,445 @@
+package com.xssblog.backend.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xssblog.backend.cache.ExistenceFilters;
+import com.xssblog.backend.cache.TagIdCache;
+import com.xssblog.backend.config.ArticleImportProperties;
+import com.xssblog.backend.dto.ArticleImportItem;
+import com.xssblog.backend.dto.ArticleImportResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * 文章批量导入服务
+ *
+ * 迁移内容时一次导入数万篇文章，逐篇走 JPA 会产生大量单条语句。这里：
+ * - 用 JsonParser 逐个读取 JSON 数组元素，请求体不整体缓冲到内存
+ * - 每 article-import.batch-size 篇为一批：一次从 id_sequences 分配整批主键，
+ *   articles 与 article_tags 各一次 JDBC 批量插入，在同一事务中提交
+ * - 标签通过 TagIdCache 解析（名称 -> ID 内存缓存，不存在时创建）
+ * - 未提供 slug / 摘要时根据标题 / 正文生成
+ * - 每批提交后把已发布的文章写入作者粉丝的时间线（写扩散，见 TimelineService），再把该批每个条目的结果交给调用方输出
+ *
+ * 单个条目校验失败（包括显式 slug 已存在）只影响该条目；一批写入失败时该批全部标记为失败，后续批次继续。
+ */
+@Service
+public class ArticleImportService {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(ArticleImportService.class);
+
+    /**
+     * 与 ArticleSnapshotService 一致的 slug 规则
+     */
+    private static final Pattern SLUG = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_-]{0,159}");
+    private static final Pattern NON_SLUG_CHARS = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern TAGS = Pattern.compile("<[^>]*>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final int MAX_TITLE = 120;
+    private static final int MAX_EXCERPT = 240;
+    private static final int MAX_TAG_NAME = 50;
+
+    /**
+     * 生成的 slug 主体最大长度（为冲突时追加的 "-{id}" 留出空间）
+     */
+    private static final int MAX_GENERATED_SLUG = 120;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TagIdCache tagIdCache;
+    private final ExistenceFilters existenceFilters;
+    private final ArticleImportProperties properties;
+    private final TimelineService timelineService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate allocationTemplate;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public ArticleImportService(JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                TagIdCache tagIdCache,
+                                ExistenceFilters existenceFilters,
+                                ArticleImportProperties properties,
+                                TimelineService timelineService,
+                                PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.objectMapper = objectMapper;
+        this.tagIdCache = tagIdCache;
+        this.existenceFilters = existenceFilters;
+        this.properties = properties;
+        this.timelineService = timelineService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 与 Hibernate TableGenerator 一样在独立事务中分配主键块，尽快释放 id_sequences 行锁
+        this.allocationTemplate = new TransactionTemplate(transactionManager);
+        this.allocationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 导入文章
+     *
+     * @param body JSON 数组形式的请求体
+     * @param defaultAuthor 条目未指定作者时使用的用户名
+     * @param results 每批结果的接收者（按条目顺序）
+     * @throws IOException 请求体不是合法的 JSON 数组时抛出（出错位置之前的条目照常写入）
+     */
+    public void importArticles(InputStream body, String defaultAuthor, Consumer<List<ArticleImportResult>> results)
+            throws IOException {
+        Map<String, Long> authorIds = new HashMap<>();
+        int index = 0;
+        int created = 0;
+        List<Pending> batch = new ArrayList<>(properties.getBatchSize());
+        List<ArticleImportResult> failures = new ArrayList<>();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Request body must be a JSON array of articles");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new IOException("Unexpected end of input");
+                }
+                // 每次只把一个元素读成树，元素内字段类型错误不影响后续元素的解析
+                JsonNode node = parser.readValueAsTree();
+                int current = index++;
+                try {
+                    ArticleImportItem item = objectMapper.treeToValue(node, ArticleImportItem.class);
+                    batch.add(prepare(current, item, defaultAuthor, authorIds));
+                } catch (IllegalArgumentException | IOException e) {
+                    failures.add(ArticleImportResult.failed(current, e.getMessage()));
+                }
+                if (batch.size() >= properties.getBatchSize()) {
+                    created += flush(batch, failures, results);
+                }
+            }
+        } catch (IOException e) {
+            flush(batch, failures, results);
+            throw e;
+        }
+        created += flush(batch, failures, results);
+        log.info("Imported {} of {} article(s)", created, index);
+    }
+
+    /**
+     * 校验条目并解析作者、标签
+     */
+    private Pending prepare(int index, ArticleImportItem item, String defaultAuthor, Map<String, Long> authorIds) {
+        String title = item.getTitle() == null ? "" : item.getTitle().strip();
+        if (title.isEmpty() || title.length() > MAX_TITLE) {
+            throw new IllegalArgumentException("title is required and must be at most " + MAX_TITLE + " characters");
+        }
+        String slug = item.getSlug() == null || item.getSlug().isBlank() ? null : item.getSlug().strip();
+        if (slug != null && !SLUG.matcher(slug).matches()) {
+            throw new IllegalArgumentException("slug must match " + SLUG.pattern());
+        }
+        String excerpt = item.getExcerpt() == null || item.getExcerpt().isBlank()
+            ? excerptOf(item.getContentHtml())
+            : item.getExcerpt().strip();
+        if (excerpt != null && excerpt.length() > MAX_EXCERPT) {
+            throw new IllegalArgumentException("excerpt must be at most " + MAX_EXCERPT + " characters");
+        }
+
+        String author = item.getAuthor() == null || item.getAuthor().isBlank() ? defaultAuthor : item.getAuthor().strip();
+        Long authorId = authorIds.computeIfAbsent(author.toLowerCase(Locale.ROOT), key -> jdbcTemplate.query(
+            "SELECT id FROM users WHERE username = ?", rs -> rs.next() ? rs.getLong(1) : null, author));
+        if (authorId == null) {
+            throw new IllegalArgumentException("unknown author: " + author);
+        }
+
+        Set<String> tagNames = new LinkedHashSet<>();
+        if (item.getTags() != null) {
+            for (String tag : item.getTags()) {
+                if (tag != null && !tag.isBlank()) {
+                    String name = tag.strip();
+                    if (name.length() > MAX_TAG_NAME) {
+                        throw new IllegalArgumentException("tag must be at most " + MAX_TAG_NAME + " characters: " + name);
+                    }
+                    tagNames.add(name);
+                }
+            }
+        }
+        if (tagNames.size() > properties.getMaxTagsPerArticle()) {
+            throw new IllegalArgumentException("at most " + properties.getMaxTagsPerArticle() + " tags per article");
+        }
+        Set<Long> tagIds = new LinkedHashSet<>();
+        for (String name : tagNames) {
+            tagIds.add(tagIdCache.resolve(name));
+        }
+        return new Pending(index, authorId, title, slug, excerpt, item.getContentHtml(), item.getPublishedAt(), tagIds);
+    }
+
+    /**
+     * 写入一批文章并输出该批（以及之前失败条目）的结果
+     *
+     * @return 成功写入的文章数
+     */
+    private int flush(List<Pending> batch, List<ArticleImportResult> failures,
+                      Consumer<List<ArticleImportResult>> results) {
+        rejectTakenSlugs(batch, failures);
+        List<ArticleImportResult> out = new ArrayList<>(batch.size() + failures.size());
+        out.addAll(failures);
+        int created = 0;
+        if (!batch.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(batch));
+                for (Pending pending : batch) {
+                    existenceFilters.add(ExistenceFilters.Key.ARTICLE_SLUG, pending.slug);
+                    out.add(ArticleImportResult.created(pending.index, pending.id, pending.slug));
+                }
+                created = batch.size();
+                fanOut(batch);
+            } catch (DataAccessException e) {
+                log.warn("Article import batch of {} failed: {}", batch.size(), e.getMessage());
+                for (Pending pending : batch) {
+                    out.add(ArticleImportResult.failed(pending.index, "batch insert failed: " + e.getMessage()));
+                }
+            }
+        }
+        batch.clear();
+        failures.clear();
+        if (!out.isEmpty()) {
+            out.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+            results.accept(out);
+        }
+        return created;
+    }
+
+    /**
+     * 写入前校验显式指定的 slug：已存在于库中（含本次导入之前的批次）或与同一批中更靠前的条目重复时，
+     * 只把该条目标记为失败并移出本批，一次查询覆盖整批
+     */
+    private void rejectTakenSlugs(List<Pending> batch, List<ArticleImportResult> failures) {
+        Set<String> explicit = new HashSet<>();
+        for (Pending pending : batch) {
+            if (pending.slug != null) {
+                explicit.add(pending.slug.toLowerCase(Locale.ROOT));
+            }
+        }
+        if (explicit.isEmpty()) {
+            return;
+        }
+        Set<String> taken = new HashSet<>();
+        namedJdbcTemplate.query("SELECT slug FROM articles WHERE slug IN (:slugs)",
+            new MapSqlParameterSource("slugs", explicit),
+            rs -> {
+                taken.add(rs.getString(1).toLowerCase(Locale.ROOT));
+            });
+        batch.removeIf(pending -> {
+            if (pending.slug == null || taken.add(pending.slug.toLowerCase(Locale.ROOT))) {
+                return false;
+            }
+            failures.add(ArticleImportResult.failed(pending.index, "slug already exists: " + pending.slug));
+            return true;
+        });
+    }
+
+    /**
+     * 把已提交的一批中已发布的文章写入粉丝时间线
+     *
+     * 在文章事务之外执行，不延长文章写入的锁持有时间；失败只记录日志，不影响导入结果
+     */
+    private void fanOut(List<Pending> batch) {
+        List<Long> published = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            if (pending.publishedAt != null) {
+                published.add(pending.id);
+            }
+        }
+        try {
+            timelineService.fanOut(published);
+        } catch (DataAccessException e) {
+            log.warn("Timeline fan-out for {} imported article(s) failed: {}", published.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 分配主键、确定 slug，批量插入 articles、article_bodies 与 article_tags
+     */
+    private void insert(List<Pending> batch) {
+        long firstId = allocateIds(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).id = firstId + i;
+        }
+        assignSlugs(batch);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO articles (id, author_id, title, slug, excerpt, likes_count, comments_count, "
+                + "published_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 0, 0, ?, ?, ?)",
+            batch, batch.size(), (ps, pending) -> {
+                ps.setLong(1, pending.id);
+                ps.setLong(2, pending.authorId);
+                ps.setString(3, pending.title);
+                ps.setString(4, pending.slug);
+                ps.setString(5, pending.excerpt);
+                ps.setTimestamp(6, pending.publishedAt == null ? null : Timestamp.valueOf(pending.publishedAt));
+                ps.setTimestamp(7, now);
+                ps.setTimestamp(8, now);
+            });
+        jdbcTemplate.batchUpdate("INSERT INTO article_bodies (article_id, content_html) VALUES (?, ?)",
+            batch, batch.size(), (ps, pending) -> {
+                ps.setLong(1, pending.id);
+                ps.setString(2, pending.contentHtml);
+            });
+
+        List<long[]> links = new ArrayList<>();
+        for (Pending pending : batch) {
+            for (Long tagId : pending.tagIds) {
+                links.add(new long[] {pending.id, tagId});
+            }
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO article_tags (article_id, tag_id) VALUES (?, ?)",
+                links, links.size(), (ps, link) -> {
+                    ps.setLong(1, link[0]);
+                    ps.setLong(2, link[1]);
+                });
+        }
+    }
+
+    /**
+     * 从 id_sequences 分配一段连续主键（与 Article 实体的 pooled-lo TableGenerator 共用同一行）
+     *
+     * @return 第一个主键
+     */
+    private long allocateIds(int count) {
+        return allocationTemplate.execute(status -> {
+            Long first = jdbcTemplate.queryForObject(
+                "SELECT next_val FROM id_sequences WHERE sequence_name = 'articles' FOR UPDATE", Long.class);
+            jdbcTemplate.update("UPDATE id_sequences SET next_val = ? WHERE sequence_name = 'articles'", first + count);
+            return first;
+        });
+    }
+
+    /**
+     * 确定最终 slug
+     *
+     * - 显式指定的 slug 已在写入前校验（rejectTakenSlugs），原样使用
+     * - 生成的 slug 依次尝试 "{slug}"、"{slug}-{id}"、"{slug}-{id}-2"……（标题中没有可用字符时从
+     *   "article-{id}" 开始），直到不与库中、同一批的显式 slug 或更靠前的条目冲突；
+     *   每一轮的候选值合并为一次查询，通常一到两轮即可确定
+     */
+    private void assignSlugs(List<Pending> batch) {
+        Set<String> taken = new HashSet<>();
+        List<Pending> unresolved = new ArrayList<>();
+        for (Pending pending : batch) {
+            if (pending.slug != null) {
+                taken.add(pending.slug.toLowerCase(Locale.ROOT));
+                continue;
+            }
+            pending.generatedBase = slugOf(pending.title);
+            unresolved.add(pending);
+        }
+        for (int attempt = 0; !unresolved.isEmpty(); attempt++) {
+            Set<String> candidates = new HashSet<>();
+            for (Pending pending : unresolved) {
+                pending.slug = candidateSlug(pending, attempt);
+                candidates.add(pending.slug.toLowerCase(Locale.ROOT));
+            }
+            namedJdbcTemplate.query("SELECT slug FROM articles WHERE slug IN (:slugs)",
+                new MapSqlParameterSource("slugs", candidates),
+                rs -> {
+                    taken.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                });
+            unresolved.removeIf(pending -> taken.add(pending.slug.toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    /**
+     * 生成 slug 的第 attempt 个候选值
+     */
+    private static String candidateSlug(Pending pending, int attempt) {
+        String base = pending.generatedBase;
+        if (base.isEmpty()) {
+            base = "article";
+            attempt++;
+        }
+        if (attempt == 0) {
+            return base;
+        }
+        String suffixed = base + "-" + pending.id;
+        return attempt == 1 ? suffixed : suffixed + "-" + attempt;
+    }
+
+    private static String slugOf(String title) {
+        String slug = NON_SLUG_CHARS.matcher(title.toLowerCase(Locale.ROOT)).replaceAll("-");
+        slug = slug.replaceAll("^-+|-+$", "");
+        if (slug.length() > MAX_GENERATED_SLUG) {
+            slug = slug.substring(0, MAX_GENERATED_SLUG).replaceAll("-+$", "");
+        }
+        return slug;
+    }
+
+    /**
+     * 从正文提取摘要：去掉标签、合并空白，超长时截断
+     */
+    private static String excerptOf(String contentHtml) {
+        if (contentHtml == null || contentHtml.isBlank()) {
+            return null;
+        }
+        String text = WHITESPACE.matcher(TAGS.matcher(contentHtml).replaceAll(" ")).replaceAll(" ").strip();
+        if (text.isEmpty()) {
+            return null;
+        }
+        return text.length() <= MAX_EXCERPT ? text : text.substring(0, MAX_EXCERPT - 1).strip() + "…";
+    }
+
+    /**
+     * 待写入的文章
+     */
+    private static final class Pending {
+        private final int index;
+        private final long authorId;
+        private final String title;
+        private String slug;
+        private String generatedBase;
+        private final String excerpt;
+        private final String contentHtml;
+        private final LocalDateTime publishedAt;
+        private final Set<Long> tagIds;
+        private long id;
+
+        private Pending(int index, long authorId, String title, String slug, String excerpt,
+                        String contentHtml, LocalDateTime publishedAt, Set<Long> tagIds) {
+            this.index = index;
+            this.authorId = authorId;
+            this.title = title;
+            this.slug = slug;
+            this.excerpt = excerpt;
+            this.contentHtml = contentHtml;
+            this.publishedAt = publishedAt;
+            this.tagIds = tagIds;
+        }
+    }
+}
@@ -1,20 +1,28 @@
 package com.xssblog.backend.service;
 
+import com.xssblog.backend.cache.ExistenceFilters;
+import com.xssblog.backend.common.enums.ErrorCode;
+import com.xssblog.backend.common.exception.BusinessException;
 import com.xssblog.backend.common.exception.ResourceNotFoundException;
+import com.xssblog.backend.config.CommentThreadProperties;
 import com.xssblog.backend.config.XssProperties;
 import com.xssblog.backend.dto.*;
 import com.xssblog.backend.entity.Article;
 import com.xssblog.backend.entity.Comment;
 import com.xssblog.backend.entity.User;
+import com.xssblog.backend.event.CommentCreatedEvent;
 import com.xssblog.backend.mapper.ArticleMapper;
 import com.xssblog.backend.mapper.CommentMapper;
+import com.xssblog.backend.repository.ArticleBodyRepository;
 import com.xssblog.backend.repository.ArticleRepository;
 import com.xssblog.backend.repository.CommentRepository;
 import com.xssblog.backend.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.util.HtmlUtils;
 
 import java.util.List;
@@ -29,33 +37,53 @@ import java.util.stream.Collectors;
 public class ArticleService {
     
     private final ArticleRepository articleRepository;
+    private final ArticleBodyRepository articleBodyRepository;
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final ArticleMapper articleMapper;
     private final CommentMapper commentMapper;
     private final XssProperties xssProperties;
+    private final CommentThreadProperties commentThreadProperties;
+    private final CommentStreamBroadcaster commentStreamBroadcaster;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExistenceFilters existenceFilters;
     
     /**
      * 构造函数，注入依赖
      * @param articleRepository 文章仓库
+     * @param articleBodyRepository 文章正文仓库
      * @param commentRepository 评论仓库
      * @param userRepository 用户仓库
      * @param articleMapper 文章对象映射器
      * @param commentMapper 评论对象映射器
      * @param xssProperties XSS 模式配置
+     * @param commentThreadProperties 评论楼中楼配置（嵌套深度、回复数上限）
+     * @param commentStreamBroadcaster 评论实时推送广播器
+     * @param eventPublisher 应用事件发布器
+     * @param existenceFilters 存在性过滤器（一定不存在的 slug 不查询数据库）
      */
     public ArticleService(ArticleRepository articleRepository,
+                         ArticleBodyRepository articleBodyRepository,
                          CommentRepository commentRepository,
                          UserRepository userRepository,
                          ArticleMapper articleMapper,
                          CommentMapper commentMapper,
-                         XssProperties xssProperties) {
+                         XssProperties xssProperties,
+                         CommentThreadProperties commentThreadProperties,
+                         CommentStreamBroadcaster commentStreamBroadcaster,
+                         ApplicationEventPublisher eventPublisher,
+                         ExistenceFilters existenceFilters) {
         this.articleRepository = articleRepository;
+        this.articleBodyRepository = articleBodyRepository;
         this.commentRepository = commentRepository;
         this.userRepository = userRepository;
         this.articleMapper = articleMapper;
         this.commentMapper = commentMapper;
         this.xssProperties = xssProperties;
+        this.commentThreadProperties = commentThreadProperties;
+        this.commentStreamBroadcaster = commentStreamBroadcaster;
+        this.eventPublisher = eventPublisher;
+        this.existenceFilters = existenceFilters;
     }
     
     public Page<ArticleDto> getAllArticles(Pageable pageable) {
@@ -66,13 +94,28 @@ public class ArticleService {
     public ArticleDto getArticleById(Long id) {
         Article article = articleRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Article", id));
-        return articleMapper.toDto(article);
+        return toDetailDto(article);
     }
     
     public ArticleDto getArticleBySlug(String slug) {
+        // 布隆过滤器判定一定不存在时直接返回 404，不查询数据库
+        if (!existenceFilters.mightExist(ExistenceFilters.Key.ARTICLE_SLUG, slug)) {
+            throw new ResourceNotFoundException("Article with slug: " + slug);
+        }
         Article article = articleRepository.findBySlug(slug)
-            .orElseThrow(() -> new ResourceNotFoundException("Article with slug: " + slug));
-        return articleMapper.toDto(article);
+            .orElseThrow(() -> {
+                existenceFilters.recordFalsePositive(ExistenceFilters.Key.ARTICLE_SLUG);
+                return new ResourceNotFoundException("Article with slug: " + slug);
+            });
+        return toDetailDto(article);
+    }
+    
+    /**
+     * 详情 DTO：正文按文章 ID 单独查询，只有详情接口读取 article_bodies
+     */
+    private ArticleDto toDetailDto(Article article) {
+        String contentHtml = articleBodyRepository.findContentHtmlByArticleId(article.getId()).orElse(null);
+        return articleMapper.toDto(article, contentHtml);
     }
     
     public List<CommentDto> getArticleComments(Long articleId) {
@@ -82,6 +125,49 @@ public class ArticleService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * 读取讨论串（楼中楼，按渲染顺序）
+     * 
+     * 一次 (article_id, path) 索引范围查询读出整篇文章或某条评论的全部回复，
+     * 父评论总在其回复之前，同级回复按发表先后；前端按 depth 缩进即可渲染，不需要递归组装。
+     * 
+     * @param articleId 文章 ID
+     * @param rootId 子树根评论 ID（为空时读取整篇文章的评论）
+     * @param maxDepth 相对根的最大深度（为空时不限制）
+     * @return 评论列表（含 parentId、depth）
+     * @throws ResourceNotFoundException 根评论不存在或不属于该文章时抛出
+     */
+    public List<CommentDto> getCommentThread(Long articleId, Long rootId, Integer maxDepth) {
+        String pathPattern = "%";
+        int baseDepth = 0;
+        if (rootId != null) {
+            CommentPathEntry root = commentRepository.findPathById(rootId)
+                .filter(c -> c.getArticleId().equals(articleId))
+                .orElseThrow(() -> new ResourceNotFoundException("Comment", rootId));
+            pathPattern = root.getPath() + "%";
+            baseDepth = root.getDepth();
+        }
+        int depthLimit = maxDepth == null ? commentThreadProperties.getMaxDepth() : baseDepth + Math.max(0, maxDepth);
+        return commentRepository.findThread(articleId, pathPattern, depthLimit)
+            .stream()
+            .map(commentMapper::toDto)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * 订阅文章的新评论（SSE）
+     * 
+     * @param articleId 文章 ID
+     * @return SSE 连接，评论创建事务提交后推送
+     * @throws ResourceNotFoundException 文章不存在时抛出
+     */
+    public SseEmitter streamArticleComments(Long articleId) {
+        if (!articleRepository.existsById(articleId)) {
+            throw new ResourceNotFoundException("Article", articleId);
+        }
+        return commentStreamBroadcaster.subscribe(articleId);
+    }
+    
     public Page<ArticleDto> getArticlesByAuthor(String username, Pageable pageable) {
         return articleRepository.findByAuthorUsernameOrderByPublishedAtDesc(username, pageable)
             .map(articleMapper::toDto);
@@ -96,23 +182,32 @@ public class ArticleService {
      * 
      * @param articleId 文章 ID
      * @param username 评论用户名（从 JWT 获取）
-     * @param request 评论请求
+     * @param request 评论请求（parentId 不为空时为回复）
      * @return 评论 DTO
+     * @throws ResourceNotFoundException 文章或父评论不存在时抛出
+     * @throws BusinessException 超过嵌套深度或父评论回复数已达上限时抛出（400）
      */
     @Transactional
     public CommentDto createComment(Long articleId, String username, CommentRequest request) {
-        // 验证文章是否存在
-        Article article = articleRepository.findById(articleId)
-            .orElseThrow(() -> new ResourceNotFoundException("Article", articleId));
-        
-        // 查找用户
+        // 查找用户（评论 DTO 需要用户名和头像）
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new ResourceNotFoundException("User", username));
         
-        // 创建评论
+        // 评论数原子 +1 同时作为文章存在性检查：不加载文章，
+        // 并且先持有文章行的排他锁，插入评论时的外键检查不会再发生共享锁升级
+        if (articleRepository.incrementCommentsCount(articleId) == 0) {
+            throw new ResourceNotFoundException("Article", articleId);
+        }
+        
+        // 创建评论（文章只需要外键，使用未初始化的引用）
         Comment comment = new Comment();
-        comment.setArticle(article);
+        comment.setArticle(articleRepository.getReferenceById(articleId));
         comment.setUser(user);
+        // 顶层评论的路径前缀为空串，插入时追加自身 ID 片段
+        comment.setPath("");
+        if (request.getParentId() != null) {
+            attachToParent(comment, articleId, request.getParentId());
+        }
         
         // XSS 双模式处理
         String content = request.getContent();
@@ -125,6 +220,64 @@ public class ArticleService {
         }
         
         commentRepository.save(comment);
-        return commentMapper.toDto(comment);
+        CommentDto dto = commentMapper.toDto(comment);
+        // 事务提交后推送给评论流订阅者
+        eventPublisher.publishEvent(new CommentCreatedEvent(articleId, dto));
+        return dto;
+    }
+    
+    /**
+     * 把评论挂到父评论下：校验父评论属于同一篇文章、深度与回复数上限，继承父评论的路径前缀
+     */
+    private void attachToParent(Comment comment, Long articleId, Long parentId) {
+        CommentPathEntry parent = commentRepository.findPathById(parentId)
+            .filter(c -> c.getArticleId().equals(articleId))
+            .orElseThrow(() -> new ResourceNotFoundException("Comment", parentId));
+        int maxDepth = commentThreadProperties.getMaxDepth();
+        if (parent.getDepth() >= maxDepth) {
+            throw new BusinessException(ErrorCode.VALIDATION_FAILED,
+                "Replies cannot be nested more than " + maxDepth + " levels deep");
+        }
+        // 回复数原子 +1，达到上限时不更新；并发回复不会超出上限
+        int maxReplies = commentThreadProperties.getMaxReplies();
+        if (commentRepository.incrementRepliesCount(parentId, maxReplies) == 0) {
+            throw new BusinessException(ErrorCode.VALIDATION_FAILED,
+                "A comment cannot have more than " + maxReplies + " replies");
+        }
+        comment.setParent(commentRepository.getReferenceById(parentId));
+        comment.setPath(parent.getPath());
+        comment.setDepth(parent.getDepth() + 1);
+    }
+    
+    /**
+     * 删除文章评论及其全部回复（评论作者或管理员）
+     * 
+     * @param articleId 文章 ID
+     * @param commentId 评论 ID
+     * @param username 当前用户名（从 JWT 获取）
+     * @param admin 当前用户是否为管理员
+     * @throws ResourceNotFoundException 评论不存在或不属于该文章时抛出
+     * @throws BusinessException 非评论作者且非管理员时抛出（403）
+     */
+    @Transactional
+    public void deleteComment(Long articleId, Long commentId, String username, boolean admin) {
+        Comment comment = commentRepository.findWithUserById(commentId)
+            .filter(c -> c.getArticle().getId().equals(articleId))
+            .orElseThrow(() -> new ResourceNotFoundException("Comment", commentId));
+        
+        if (!admin && !comment.getUser().getUsername().equals(username)) {
+            throw new BusinessException(ErrorCode.FORBIDDEN, "You can only delete your own comments");
+        }
+        
+        // 评论与其回复位于同一段 path 范围，一条语句删除；
+        // 部分回复可能由外键级联删除而不计入 DELETE 的影响行数，因此先在同一事务内计数
+        String pathPattern = comment.getPath() + "%";
+        int deleted = Math.toIntExact(commentRepository.countThread(articleId, pathPattern));
+        commentRepository.deleteThread(articleId, pathPattern);
+        if (comment.getParent() != null) {
+            commentRepository.decrementRepliesCount(comment.getParent().getId());
+        }
+        // 同一事务内原子更新冗余评论数
+        articleRepository.decrementCommentsCount(articleId, deleted);
     }
 }
@@ -0,0 +1,326 @@
+package com.xssblog.backend.service;
+
+import com.xssblog.backend.cache.ExistenceFilters;
+import com.xssblog.backend.common.exception.ResourceNotFoundException;
+import com.xssblog.backend.config.FeedProperties;
+import com.xssblog.backend.config.SnapshotProperties;
+import com.xssblog.backend.config.XssProperties;
+import com.xssblog.backend.entity.Article;
+import com.xssblog.backend.entity.ArticleBody;
+import com.xssblog.backend.entity.Tag;
+import com.xssblog.backend.event.XssModeChangedEvent;
+import com.xssblog.backend.repository.ArticleBodyRepository;
+import com.xssblog.backend.repository.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 文章静态快照服务
+ *
+ * 匿名读者看到的文章页面在文章修改之前不会变化，因此把标题、作者、标签和正文（article_bodies）
+ * 渲染为 {directory}/{slug}.html，请求直接发送文件，不再经过 JPA：
+ * - 快照不存在时（新文章、首次访问）查询一次数据库并生成
+ * - 定时任务按 articles.updated_at 找出修改过的文章并重新生成，已取消发布的文章删除快照
+ * - 定时全量清理：逐个核对目录中的快照，删除文章已删除、已取消发布或已更换 slug 的快照
+ *   （删除文章不会留下 updated_at 可查，只能由这里发现）
+ * - 写入临时文件后原子替换，读者不会读到写了一半的文件
+ *
+ * 检查进度保存在目录下的 .watermark 文件中，重启后从上次位置继续，停机期间的修改也会被处理。
+ *
+ * SECURE 模式下生成的页面带 CSP meta（禁止脚本执行），因此快照内容与 XSS 模式相关：
+ * 收到 XssModeChangedEvent 时删除全部快照，之后按需重新生成。
+ */
+@Service
+public class ArticleSnapshotService {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(ArticleSnapshotService.class);
+
+    /**
+     * 允许作为文件名的 slug（同时防止路径穿越）
+     */
+    private static final Pattern SLUG = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_-]{0,159}");
+
+    private static final String WATERMARK_FILE = ".watermark";
+
+    private final ArticleRepository articleRepository;
+    private final ArticleBodyRepository articleBodyRepository;
+    private final SnapshotProperties properties;
+    private final FeedProperties feedProperties;
+    private final ExistenceFilters existenceFilters;
+    private final XssProperties xssProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private volatile LocalDateTime watermark;
+
+    /**
+     * 构造函数注入依赖，创建快照目录并读取检查进度
+     */
+    public ArticleSnapshotService(ArticleRepository articleRepository,
+                                  ArticleBodyRepository articleBodyRepository,
+                                  SnapshotProperties properties,
+                                  FeedProperties feedProperties,
+                                  ExistenceFilters existenceFilters,
+                                  XssProperties xssProperties,
+                                  PlatformTransactionManager transactionManager) {
+        this.articleRepository = articleRepository;
+        this.articleBodyRepository = articleBodyRepository;
+        this.properties = properties;
+        this.feedProperties = feedProperties;
+        this.existenceFilters = existenceFilters;
+        this.xssProperties = xssProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.directory = Path.of(properties.getDirectory()).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(directory);
+            Path watermarkFile = directory.resolve(WATERMARK_FILE);
+            if (Files.exists(watermarkFile)) {
+                this.watermark = LocalDateTime.parse(Files.readString(watermarkFile).trim());
+            } else {
+                // 新目录中没有任何快照，不需要处理之前的修改
+                saveWatermark(LocalDateTime.now());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to initialize snapshot directory " + directory, e);
+        }
+    }
+
+    /**
+     * 获取文章快照文件，不存在时生成
+     *
+     * @param slug 文章 slug
+     * @return 快照文件
+     * @throws ResourceNotFoundException slug 不合法或文章不存在时抛出
+     */
+    public SnapshotFile getSnapshot(String slug) {
+        if (slug == null || !SLUG.matcher(slug).matches()) {
+            throw new ResourceNotFoundException("Article with slug: " + slug);
+        }
+        Path path = directory.resolve(slug + ".html");
+        try {
+            if (!Files.exists(path)) {
+                if (!existenceFilters.mightExist(ExistenceFilters.Key.ARTICLE_SLUG, slug)) {
+                    throw new ResourceNotFoundException("Article with slug: " + slug);
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    Article article = articleRepository.findBySlug(slug)
+                        .filter(found -> found.getPublishedAt() != null)
+                        .orElseThrow(() -> new ResourceNotFoundException("Article with slug: " + slug));
+                    write(article, articleBodyRepository.findContentHtmlByArticleId(article.getId()).orElse(null));
+                });
+            }
+            return new SnapshotFile(path, Files.size(path), Files.getLastModifiedTime(path).toMillis());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 定时重新生成修改过的文章快照
+     */
+    @Scheduled(fixedDelayString = "${snapshot.refresh-interval-ms:30000}",
+               initialDelayString = "${snapshot.refresh-interval-ms:30000}")
+    public void refresh() {
+        LocalDateTime until = LocalDateTime.now();
+        LocalDateTime since = watermark.minusSeconds(properties.getRefreshOverlapSeconds());
+        long afterId = 0;
+        int regenerated = 0;
+        while (true) {
+            List<Long> ids = articleRepository.findIdsUpdatedBetween(since, until, afterId,
+                PageRequest.of(0, properties.getBatchSize()));
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, String> bodies = articleBodyRepository.findByArticleIdIn(ids).stream()
+                    .filter(body -> body.getContentHtml() != null)
+                    .collect(Collectors.toMap(ArticleBody::getArticleId, ArticleBody::getContentHtml));
+                articleRepository.findByIdIn(ids).forEach(article -> write(article, bodies.get(article.getId())));
+            });
+            regenerated += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        try {
+            saveWatermark(until);
+        } catch (IOException e) {
+            log.warn("Unable to persist snapshot watermark: {}", e.getMessage());
+        }
+        if (regenerated > 0) {
+            log.info("Regenerated {} article snapshot(s) updated since {}", regenerated, since);
+        }
+    }
+
+    /**
+     * 全量清理：删除不再对应已发布文章的快照（启动后立即执行一次，之后按 snapshot.purge-interval-ms 定期执行）
+     *
+     * 每 batch-size 个文件查询一次仍已发布的 slug，其余文件删除
+     */
+    @Scheduled(fixedDelayString = "${snapshot.purge-interval-ms:600000}")
+    public void purgeStale() {
+        List<String> slugs = new ArrayList<>();
+        int deleted = 0;
+        try (DirectoryStream<Path> snapshots = Files.newDirectoryStream(directory, "*.html")) {
+            for (Path snapshot : snapshots) {
+                String name = snapshot.getFileName().toString();
+                slugs.add(name.substring(0, name.length() - ".html".length()));
+                if (slugs.size() >= properties.getBatchSize()) {
+                    deleted += purgeUnpublished(slugs);
+                    slugs.clear();
+                }
+            }
+            deleted += purgeUnpublished(slugs);
+        } catch (IOException e) {
+            log.warn("Unable to purge stale article snapshots: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Purged {} stale article snapshot(s)", deleted);
+        }
+    }
+
+    private int purgeUnpublished(List<String> slugs) throws IOException {
+        if (slugs.isEmpty()) {
+            return 0;
+        }
+        // slug 比较与数据库排序规则一致，不区分大小写
+        Set<String> published = new HashSet<>();
+        articleRepository.findPublishedSlugs(slugs).forEach(slug -> published.add(slug.toLowerCase(Locale.ROOT)));
+        int deleted = 0;
+        for (String slug : slugs) {
+            if (!published.contains(slug.toLowerCase(Locale.ROOT))
+                    && Files.deleteIfExists(directory.resolve(slug + ".html"))) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * XSS 模式变化后删除全部快照（渲染结果与模式相关）
+     */
+    @EventListener
+    public void onXssModeChanged(XssModeChangedEvent event) {
+        int deleted = 0;
+        try (DirectoryStream<Path> snapshots = Files.newDirectoryStream(directory, "*.html")) {
+            for (Path snapshot : snapshots) {
+                if (Files.deleteIfExists(snapshot)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to purge article snapshots after XSS mode change: {}", e.getMessage());
+        }
+        log.info("Purged {} article snapshot(s) after XSS mode changed to '{}'", deleted, event.getMode());
+    }
+
+    /**
+     * 渲染并原子写入快照（没有 slug 的文章不生成快照，未发布的文章删除已有快照）
+     */
+    private void write(Article article, String contentHtml) {
+        String slug = article.getSlug();
+        if (slug == null || !SLUG.matcher(slug).matches()) {
+            return;
+        }
+        try {
+            if (article.getPublishedAt() == null) {
+                Files.deleteIfExists(directory.resolve(slug + ".html"));
+                return;
+            }
+            Path temp = Files.createTempFile(directory, slug, ".tmp");
+            Files.writeString(temp, render(article, contentHtml), StandardCharsets.UTF_8);
+            Files.move(temp, directory.resolve(slug + ".html"),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write snapshot for article " + article.getId(), e);
+        }
+    }
+
+    /**
+     * 渲染文章页面
+     *
+     * 标题、作者、标签做 HTML 转义；正文与文章详情接口返回的 contentHtml 一致，原样输出。
+     * SECURE 模式下加入 CSP meta，禁止页面中的脚本执行。
+     */
+    private String render(Article article, String contentHtml) {
+        String title = HtmlUtils.htmlEscape(article.getTitle());
+        StringBuilder html = new StringBuilder(512 + (contentHtml == null ? 0 : contentHtml.length()));
+        html.append("<!DOCTYPE html>\n<html lang=\"zh-CN\">\n<head>\n<meta charset=\"UTF-8\">\n")
+            .append("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\n")
+            .append("<title>").append(title).append("</title>\n");
+        if (xssProperties.isSecure()) {
+            html.append("<meta http-equiv=\"Content-Security-Policy\" content=\"default-src 'self'; script-src 'none'; object-src 'none'\">\n");
+        }
+        html.append("<link rel=\"canonical\" href=\"")
+            .append(HtmlUtils.htmlEscape(feedProperties.getBaseUrl() + "/article/" + article.getId())).append("\">\n")
+            .append("</head>\n<body>\n<article>\n<header>\n")
+            .append("<h1>").append(title).append("</h1>\n")
+            .append("<p class=\"author\">").append(HtmlUtils.htmlEscape(article.getAuthor().getUsername())).append("</p>\n");
+        if (article.getPublishedAt() != null) {
+            html.append("<time datetime=\"").append(article.getPublishedAt()).append("\">")
+                .append(article.getPublishedAt().toLocalDate()).append("</time>\n");
+        }
+        html.append("<ul class=\"tags\">");
+        article.getTags().stream()
+            .sorted(Comparator.comparing(Tag::getName))
+            .forEach(tag -> html.append("<li>").append(HtmlUtils.htmlEscape(tag.getName())).append("</li>"));
+        html.append("</ul>\n</header>\n")
+            .append(contentHtml == null ? "" : contentHtml)
+            .append("\n</article>\n</body>\n</html>\n");
+        return html.toString();
+    }
+
+    private void saveWatermark(LocalDateTime value) throws IOException {
+        Path temp = Files.createTempFile(directory, WATERMARK_FILE, ".tmp");
+        Files.writeString(temp, value.toString());
+        Files.move(temp, directory.resolve(WATERMARK_FILE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.watermark = value;
+    }
+
+    /**
+     * 快照文件
+     *
+     * @param path 文件路径
+     * @param length 文件大小（字节）
+     * @param lastModified 最后修改时间（毫秒）
+     */
+    public record SnapshotFile(Path path, long length, long lastModified) {
+
+        /**
+         * 基于大小和修改时间的 ETag
+         */
+        public String etag() {
+            return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.xssblog.backend.service;
 
+import com.xssblog.backend.cache.ExistenceFilters;
 import com.xssblog.backend.common.exception.InvalidCredentialsException;
 import com.xssblog.backend.common.exception.ResourceNotFoundException;
 import com.xssblog.backend.common.exception.UserAlreadyExistsException;
@@ -8,9 +9,14 @@ import com.xssblog.backend.entity.User;
 import com.xssblog.backend.mapper.UserMapper;
 import com.xssblog.backend.repository.UserRepository;
 import com.xssblog.backend.security.JwtTokenProvider;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * 认证服务
@@ -19,10 +25,16 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class AuthService {
     
+    /**
+     * 从数据库错误消息中识别重复的列（H2 的约束名不含列名，消息形如 "... ON PUBLIC.USERS(USERNAME ...)"）
+     */
+    private static final Pattern DUPLICATE_COLUMN = Pattern.compile("users\\s*\\(\\s*(username|email)\\b");
+    
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserMapper userMapper;
+    private final ExistenceFilters existenceFilters;
     
     /**
      * 构造函数，注入依赖
@@ -30,29 +42,34 @@ public class AuthService {
      * @param passwordEncoder 密码加密器
      * @param jwtTokenProvider JWT 令牌提供者
      * @param userMapper 用户对象映射器
+     * @param existenceFilters 存在性过滤器（注册成功后加入新的用户名/邮箱）
      */
     public AuthService(UserRepository userRepository, 
                       PasswordEncoder passwordEncoder,
                       JwtTokenProvider jwtTokenProvider,
-                      UserMapper userMapper) {
+                      UserMapper userMapper,
+                      ExistenceFilters existenceFilters) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
         this.userMapper = userMapper;
+        this.existenceFilters = existenceFilters;
     }
     
-    @Transactional
+    /**
+     * 注册用户
+     * 
+     * 不预先检查用户名/邮箱是否存在，直接插入并依赖 users 表的唯一约束：
+     * - 正常注册只有一条 INSERT（没有 exists 查询，也没有检查与插入之间的竞争窗口）
+     * - 唯一约束冲突转换为 UserAlreadyExistsException，按约束名区分 username / email
+     * - BCrypt 在事务之外计算，不占用数据库连接
+     * 
+     * @param request 注册请求
+     * @return 包含 JWT 的响应
+     * @throws UserAlreadyExistsException 用户名或邮箱已被占用时抛出
+     */
     public AuthResponse register(RegisterRequest request) {
-        // 检查用户名是否已存在
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new UserAlreadyExistsException("username", request.getUsername());
-        }
-        // 检查邮箱是否已存在
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new UserAlreadyExistsException("email", request.getEmail());
-        }
-        
-        // 创建新用户
+        // 创建新用户（密码哈希在获取连接之前完成）
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
@@ -60,13 +77,54 @@ public class AuthService {
         user.setRole(User.UserRole.USER);
         user.setAvatarUrl("https://api.dicebear.com/7.x/avataaars/svg?seed=" + request.getUsername());
         
-        userRepository.save(user);
+        try {
+            // saveAndFlush 自带事务，约束冲突在这里立即抛出
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw toUserAlreadyExists(e, request);
+        }
+        existenceFilters.add(ExistenceFilters.Key.USERNAME, user.getUsername());
+        existenceFilters.add(ExistenceFilters.Key.EMAIL, user.getEmail());
         
         // 生成 JWT Token
         String token = jwtTokenProvider.generateToken(user.getUsername(), user.getRole().name());
         return new AuthResponse(token);
     }
     
+    /**
+     * 将唯一约束冲突转换为用户已存在异常
+     * 
+     * 优先使用约束名（MySQL 为 "users.username" / "users.email"），其次使用错误消息中的列名；
+     * 都无法识别时再查询一次确认（只发生在冲突路径上）。不是唯一约束冲突时原样抛出。
+     */
+    private RuntimeException toUserAlreadyExists(DataIntegrityViolationException e, RegisterRequest request) {
+        String field = null;
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            String constraint = violation.getConstraintName().toLowerCase(Locale.ROOT);
+            if (constraint.contains("username")) {
+                field = "username";
+            } else if (constraint.contains("email")) {
+                field = "email";
+            }
+        }
+        if (field == null && e.getMostSpecificCause().getMessage() != null) {
+            Matcher matcher = DUPLICATE_COLUMN.matcher(e.getMostSpecificCause().getMessage().toLowerCase(Locale.ROOT));
+            if (matcher.find()) {
+                field = matcher.group(1);
+            }
+        }
+        if (field == null) {
+            if (userRepository.existsByUsername(request.getUsername())) {
+                field = "username";
+            } else if (userRepository.existsByEmail(request.getEmail())) {
+                field = "email";
+            } else {
+                return e;
+            }
+        }
+        return new UserAlreadyExistsException(field, "username".equals(field) ? request.getUsername() : request.getEmail());
+    }
+    
     public AuthResponse login(LoginRequest request) {
         // 查找用户
         User user = userRepository.findByUsername(request.getUsername())
@@ -0,0 +1,75 @@
+package com.xssblog.backend.service;
+
+import com.xssblog.backend.config.CommentCountProperties;
+import com.xssblog.backend.repository.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 文章评论数对账任务
+ *
+ * 按文章 ID 区间分块重新计算 comments_count，每块一个短事务，
+ * 只更新与实际评论数不一致的行，避免长事务锁住整张 articles 表。
+ */
+@Component
+public class CommentCountReconciler {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(CommentCountReconciler.class);
+
+    private final ArticleRepository articleRepository;
+    private final CommentCountProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public CommentCountReconciler(ArticleRepository articleRepository,
+                                  CommentCountProperties properties,
+                                  PlatformTransactionManager transactionManager) {
+        this.articleRepository = articleRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 定时对账
+     */
+    @Scheduled(cron = "${comment-count.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * 对所有文章执行一次评论数对账
+     *
+     * @return 修正的文章数
+     */
+    public int reconcile() {
+        Long maxId = articleRepository.findMaxId();
+        if (maxId == null) {
+            return 0;
+        }
+        long chunkSize = properties.getReconcileChunkSize();
+        int fixed = 0;
+        for (long fromId = 0; fromId < maxId; fromId += chunkSize) {
+            long from = fromId;
+            long to = Math.min(fromId + chunkSize, maxId);
+            Integer updated = transactionTemplate.execute(status ->
+                articleRepository.reconcileCommentsCount(from, to));
+            fixed += updated == null ? 0 : updated;
+        }
+        if (fixed > 0) {
+            log.warn("Comment count reconciliation fixed {} articles", fixed);
+        } else {
+            log.info("Comment count reconciliation found no drift (max article id {})", maxId);
+        }
+        return fixed;
+    }
+}
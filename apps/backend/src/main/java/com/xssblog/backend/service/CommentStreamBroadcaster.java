@@ -0,0 +1,220 @@
+package com.xssblog.backend.service;
+
+import com.xssblog.backend.common.enums.ErrorCode;
+import com.xssblog.backend.common.exception.BusinessException;
+import com.xssblog.backend.config.CommentStreamProperties;
+import com.xssblog.backend.event.CommentCreatedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 评论实时推送广播器（进程内）
+ *
+ * 设计要点：
+ * - 基于 Servlet 异步请求的 SseEmitter，空闲连接不占用线程
+ * - 每个订阅者有一个有界缓冲区，发布事件只做入队操作，不在发布线程上写网络
+ * - 缓冲区满说明客户端消费过慢，直接断开（客户端 EventSource 会自动重连）
+ * - 少量推送线程只在订阅者有待发送事件时工作，同一订阅者同一时刻最多一个线程在写
+ * - 定时心跳用于保活，并借助写失败及时清理已断开的连接
+ *
+ * 事件来源：ArticleService.createComment 发布的 CommentCreatedEvent，事务提交后才推送。
+ */
+@Component
+public class CommentStreamBroadcaster {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(CommentStreamBroadcaster.class);
+
+    /**
+     * 心跳事件标记
+     */
+    private static final Object HEARTBEAT = new Object();
+
+    private final CommentStreamProperties properties;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public CommentStreamBroadcaster(CommentStreamProperties properties) {
+        this.properties = properties;
+        this.dispatcher = Executors.newFixedThreadPool(properties.getDispatchThreads(), daemon("comment-stream-dispatch"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("comment-stream-heartbeat"));
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeats,
+            properties.getHeartbeatSeconds(), properties.getHeartbeatSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * 订阅文章的新评论
+     *
+     * @param articleId 文章 ID
+     * @return SSE 连接
+     * @throws BusinessException 超过单节点最大订阅数时抛出（503）
+     */
+    public SseEmitter subscribe(Long articleId) {
+        // 检查与占位在同一次 CAS 中完成，并发订阅不会短暂超出上限而误拒其他请求
+        int max = properties.getMaxSubscribers();
+        if (subscriberCount.getAndUpdate(count -> count < max ? count + 1 : count) >= max) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "Too many comment stream subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(properties.getTimeoutMinutes()));
+        Subscriber subscriber = new Subscriber(articleId, emitter, properties.getBufferSize());
+        // 在 compute 中加入集合：与 remove 的 computeIfPresent 对同一文章串行执行，
+        // 不会加入一个刚因变空而被移出 Map 的集合（那样的订阅者永远收不到事件，却一直占用名额）
+        subscribers.compute(articleId, (id, set) -> {
+            Set<Subscriber> articleSubscribers = set == null ? ConcurrentHashMap.newKeySet() : set;
+            articleSubscribers.add(subscriber);
+            return articleSubscribers;
+        });
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * 评论创建事务提交后，推送给该文章的所有订阅者
+     *
+     * @param event 评论创建事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCommentCreated(CommentCreatedEvent event) {
+        Set<Subscriber> articleSubscribers = subscribers.get(event.getArticleId());
+        if (articleSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : articleSubscribers) {
+            enqueue(subscriber, event);
+        }
+    }
+
+    /**
+     * 当前订阅数（用于监控）
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Subscriber> articleSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : articleSubscribers) {
+                enqueue(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    /**
+     * 入队并安排推送；缓冲区满时断开慢消费者
+     */
+    private void enqueue(Subscriber subscriber, Object event) {
+        if (!subscriber.queue.offer(event)) {
+            log.debug("Evicting slow comment stream subscriber for article {}", subscriber.articleId);
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * 将订阅者缓冲区中的事件写出（同一订阅者同一时刻只有一个线程执行）
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            Object event;
+            while ((event = subscriber.queue.poll()) != null) {
+                if (event == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    CommentCreatedEvent created = (CommentCreatedEvent) event;
+                    subscriber.emitter.send(SseEmitter.event()
+                        .name("comment")
+                        .id(String.valueOf(created.getComment().getId()))
+                        .data(created.getComment(), MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开或连接已结束
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // 释放标记后可能有新事件入队，需要重新调度
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.removed.compareAndSet(false, true)) {
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.articleId, (id, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 单个订阅者
+     */
+    private static final class Subscriber {
+        private final Long articleId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscriber(Long articleId, SseEmitter emitter, int bufferSize) {
+            this.articleId = articleId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.xssblog.backend.service;
+
+import com.xssblog.backend.common.exception.ResourceNotFoundException;
+import com.xssblog.backend.config.FeedProperties;
+import com.xssblog.backend.dto.ArticleFeedEntry;
+import com.xssblog.backend.dto.ArticleSitemapEntry;
+import com.xssblog.backend.repository.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 订阅源与站点地图服务
+ *
+ * 生成方式：
+ * - 使用 StAX 直接把 XML 写入 GZIPOutputStream，不构建 DOM，也不一次性加载全部文章
+ * - 站点地图按 (published_at, id) 键集游标分批读取，只投影 id 和发布时间，每 shardSize 个 URL 一个分片，
+ *   /sitemap.xml 为指向各分片的索引
+ * - 生成结果以 gzip 字节缓存，请求直接返回缓存字节
+ *
+ * 增量更新：分片按发布时间升序排列，新发布的文章只会追加到最后一个分片之后。
+ * 定时任务比较已发布文章总数与游标之后的文章数：
+ * - 只有追加：保留前面已满的分片，从最后一个分片的起点重新生成
+ * - 有删除或补发旧日期的文章：全部重新生成
+ * - 无变化：不做任何事（编辑已有文章的标题不会触发更新，下次有新文章发布时一并刷新）
+ */
+@Service
+public class FeedService {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(FeedService.class);
+
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final XMLOutputFactory XML_OUTPUT = XMLOutputFactory.newFactory();
+
+    private final ArticleRepository articleRepository;
+    private final FeedProperties properties;
+    private volatile Snapshot snapshot;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public FeedService(ArticleRepository articleRepository, FeedProperties properties) {
+        this.articleRepository = articleRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Atom 订阅源（最新 feedSize 篇文章）
+     */
+    public CachedDocument getFeed() {
+        return current().feed();
+    }
+
+    /**
+     * 站点地图索引
+     */
+    public CachedDocument getSitemapIndex() {
+        return current().index();
+    }
+
+    /**
+     * 站点地图分片
+     *
+     * @param number 分片编号，从 1 开始
+     * @throws ResourceNotFoundException 分片不存在时抛出
+     */
+    public CachedDocument getSitemapShard(int number) {
+        List<Shard> shards = current().shards();
+        if (number < 1 || number > shards.size()) {
+            throw new ResourceNotFoundException("Sitemap shard", number);
+        }
+        return shards.get(number - 1).document();
+    }
+
+    /**
+     * 定时检查新发布的文章并增量更新缓存（缓存尚未生成时不做任何事）
+     */
+    @Scheduled(fixedDelayString = "${feed.refresh-interval-ms:60000}",
+               initialDelayString = "${feed.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (snapshot != null) {
+            update();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = build(null);
+            }
+            return snapshot;
+        }
+    }
+
+    private synchronized void update() {
+        Snapshot current = snapshot;
+        long total = articleRepository.countByPublishedAtIsNotNull();
+        ArticleSitemapEntry watermark = current.watermark();
+        if (watermark == null) {
+            if (total > 0) {
+                snapshot = build(null);
+            }
+            return;
+        }
+        long appended = articleRepository.countPublishedAfter(watermark.getPublishedAt(), watermark.getId());
+        if (appended == 0 && total == current.total()) {
+            return;
+        }
+        // 游标之前的文章数不变说明只是追加了新文章
+        snapshot = build(total == current.total() + appended ? current : null);
+    }
+
+    /**
+     * 生成新的缓存快照
+     *
+     * @param previous 增量更新时的上一次快照，为 null 时全部重新生成
+     */
+    private Snapshot build(Snapshot previous) {
+        long startedAt = System.nanoTime();
+        List<Shard> shards = new ArrayList<>();
+        ArticleSitemapEntry cursor = null;
+        if (previous != null && !previous.shards().isEmpty()) {
+            List<Shard> kept = previous.shards();
+            shards.addAll(kept.subList(0, kept.size() - 1));
+            cursor = kept.get(kept.size() - 1).start();
+        }
+        int reused = shards.size();
+        while (true) {
+            Shard shard = writeShard(cursor);
+            if (shard.size() == 0) {
+                break;
+            }
+            shards.add(shard);
+            cursor = shard.end();
+            if (shard.size() < properties.getShardSize()) {
+                break;
+            }
+        }
+        long total = shards.stream().mapToLong(Shard::size).sum();
+        Snapshot built = new Snapshot(writeFeed(), writeIndex(shards), List.copyOf(shards), cursor, total);
+        log.info("Generated feed and {} sitemap shard(s) ({} reused, {} URLs) in {} ms",
+            shards.size(), reused, total, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return built;
+    }
+
+    /**
+     * 从游标之后写出一个站点地图分片，分批读取直到分片写满或没有更多文章
+     */
+    private Shard writeShard(ArticleSitemapEntry start) {
+        int shardSize = properties.getShardSize();
+        ArticleSitemapEntry[] last = {start};
+        int[] size = {0};
+        LocalDateTime[] lastModified = {null};
+        CachedDocument document = writeXml(xml -> {
+            xml.writeStartElement("urlset");
+            xml.writeDefaultNamespace(SITEMAP_NS);
+            while (size[0] < shardSize) {
+                int limit = Math.min(properties.getBatchSize(), shardSize - size[0]);
+                List<ArticleSitemapEntry> batch = last[0] == null
+                    ? articleRepository.findFirstSitemapEntries(PageRequest.of(0, limit))
+                    : articleRepository.findSitemapEntriesAfter(last[0].getPublishedAt(), last[0].getId(), PageRequest.of(0, limit));
+                for (ArticleSitemapEntry entry : batch) {
+                    xml.writeStartElement("url");
+                    element(xml, "loc", articleUrl(entry.getId()));
+                    element(xml, "lastmod", entry.getPublishedAt().toLocalDate().toString());
+                    xml.writeEndElement();
+                }
+                size[0] += batch.size();
+                if (!batch.isEmpty()) {
+                    last[0] = batch.get(batch.size() - 1);
+                    lastModified[0] = last[0].getPublishedAt();
+                }
+                if (batch.size() < limit) {
+                    break;
+                }
+            }
+            xml.writeEndElement();
+        });
+        return new Shard(start, last[0], size[0], lastModified[0], document);
+    }
+
+    private CachedDocument writeIndex(List<Shard> shards) {
+        return writeXml(xml -> {
+            xml.writeStartElement("sitemapindex");
+            xml.writeDefaultNamespace(SITEMAP_NS);
+            for (int i = 0; i < shards.size(); i++) {
+                xml.writeStartElement("sitemap");
+                element(xml, "loc", properties.getBaseUrl() + "/sitemap-" + (i + 1) + ".xml");
+                element(xml, "lastmod", shards.get(i).lastModified().toLocalDate().toString());
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    private CachedDocument writeFeed() {
+        List<ArticleFeedEntry> entries = articleRepository.findLatestFeedEntries(PageRequest.of(0, properties.getFeedSize()));
+        String updated = entries.isEmpty()
+            ? Instant.now().truncatedTo(ChronoUnit.SECONDS).toString()
+            : timestamp(entries.get(0).getPublishedAt());
+        return writeXml(xml -> {
+            xml.writeStartElement("feed");
+            xml.writeDefaultNamespace(ATOM_NS);
+            element(xml, "title", properties.getTitle());
+            element(xml, "id", properties.getBaseUrl() + "/");
+            link(xml, "alternate", properties.getBaseUrl() + "/");
+            link(xml, "self", properties.getBaseUrl() + "/feed.xml");
+            element(xml, "updated", updated);
+            for (ArticleFeedEntry entry : entries) {
+                String url = articleUrl(entry.getId());
+                xml.writeStartElement("entry");
+                element(xml, "title", entry.getTitle());
+                element(xml, "id", url);
+                link(xml, "alternate", url);
+                xml.writeStartElement("author");
+                element(xml, "name", entry.getAuthorUsername());
+                xml.writeEndElement();
+                element(xml, "published", timestamp(entry.getPublishedAt()));
+                element(xml, "updated", timestamp(entry.getPublishedAt()));
+                if (entry.getExcerpt() != null) {
+                    // 纯文本摘要，StAX 负责转义，订阅器不会把摘要当作 HTML 渲染
+                    element(xml, "summary", entry.getExcerpt());
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    private String articleUrl(Long id) {
+        return properties.getBaseUrl() + "/article/" + id;
+    }
+
+    private static String timestamp(LocalDateTime dateTime) {
+        // 数据库连接使用 serverTimezone=UTC
+        return dateTime.truncatedTo(ChronoUnit.SECONDS).atOffset(ZoneOffset.UTC).toString();
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text);
+        xml.writeEndElement();
+    }
+
+    private static void link(XMLStreamWriter xml, String rel, String href) throws XMLStreamException {
+        xml.writeEmptyElement("link");
+        xml.writeAttribute("rel", rel);
+        xml.writeAttribute("href", href);
+    }
+
+    /**
+     * 把 XML 文档流式写入 gzip 缓冲区
+     */
+    private static CachedDocument writeXml(XmlBody body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            XMLStreamWriter xml = XML_OUTPUT.createXMLStreamWriter(gzip, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            body.write(xml);
+            xml.writeEndDocument();
+            xml.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Failed to write XML document", e);
+        }
+        byte[] gzipped = bytes.toByteArray();
+        return new CachedDocument(gzipped, "W/\"" + DigestUtils.md5DigestAsHex(gzipped) + "\"", Instant.now());
+    }
+
+    @FunctionalInterface
+    private interface XmlBody {
+        void write(XMLStreamWriter xml) throws XMLStreamException;
+    }
+
+    /**
+     * 缓存的 XML 文档（gzip 压缩）
+     *
+     * @param gzip 压缩后的字节
+     * @param etag 弱 ETag（压缩与未压缩响应共用）
+     * @param generatedAt 生成时间
+     */
+    public record CachedDocument(byte[] gzip, String etag, Instant generatedAt) {
+
+        /**
+         * 解压后的字节（客户端不支持 gzip 时使用）
+         */
+        public byte[] decompressed() {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 站点地图分片
+     *
+     * @param start 分片起点游标（不含），第一个分片为 null
+     * @param end 分片最后一篇文章
+     */
+    private record Shard(ArticleSitemapEntry start, ArticleSitemapEntry end, int size,
+                         LocalDateTime lastModified, CachedDocument document) {
+    }
+
+    /**
+     * 不可变的缓存快照，整体替换保证请求看到一致的索引和分片
+     *
+     * @param watermark 已写入站点地图的最后一篇文章
+     * @param total 站点地图中的 URL 总数
+     */
+    private record Snapshot(CachedDocument feed, CachedDocument index, List<Shard> shards,
+                            ArticleSitemapEntry watermark, long total) {
+    }
+}
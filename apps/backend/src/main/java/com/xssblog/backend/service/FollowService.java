@@ -0,0 +1,94 @@
+package com.xssblog.backend.service;
+
+import com.xssblog.backend.common.enums.ErrorCode;
+import com.xssblog.backend.common.exception.BusinessException;
+import com.xssblog.backend.common.exception.ResourceNotFoundException;
+import com.xssblog.backend.repository.UserRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 关注关系服务
+ *
+ * 关注关系写入 user_follows，粉丝数 / 关注数在同一事务中原子更新；
+ * 关注时回填被关注作者最近的文章到时间线，取消关注时删除其条目（见 TimelineService）。
+ * 重复关注（包括并发的重复请求）、取消未关注的用户都是幂等操作，计数只在关注关系实际写入 / 删除时变化。
+ */
+@Service
+public class FollowService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final TimelineService timelineService;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public FollowService(JdbcTemplate jdbcTemplate, UserRepository userRepository, TimelineService timelineService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.timelineService = timelineService;
+    }
+
+    /**
+     * 关注用户
+     *
+     * @param username 当前用户名（从 JWT 获取）
+     * @param targetUsername 被关注的用户名
+     * @return 被关注用户的粉丝数
+     * @throws ResourceNotFoundException 用户不存在时抛出
+     * @throws BusinessException 关注自己时抛出（400）
+     */
+    @Transactional
+    public int follow(String username, String targetUsername) {
+        Long followerId = userIdOf(username);
+        Long followeeId = userIdOf(targetUsername);
+        if (followerId.equals(followeeId)) {
+            throw new BusinessException(ErrorCode.VALIDATION_FAILED, "You cannot follow yourself");
+        }
+        // 直接插入，由主键判断是否已关注：先查询再插入时，并发的重复关注会在插入时主键冲突
+        try {
+            jdbcTemplate.update("INSERT INTO user_follows (follower_id, followee_id, created_at) VALUES (?, ?, ?)",
+                followerId, followeeId, Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException e) {
+            // 已关注（唯一约束冲突只影响这一条语句，事务可以继续）
+            return userRepository.findFollowersCountById(followeeId);
+        }
+        userRepository.addFollowersCount(followeeId, 1);
+        userRepository.addFollowingCount(followerId, 1);
+        timelineService.backfill(followerId, followeeId);
+        return userRepository.findFollowersCountById(followeeId);
+    }
+
+    /**
+     * 取消关注
+     *
+     * @param username 当前用户名（从 JWT 获取）
+     * @param targetUsername 被取消关注的用户名
+     * @return 被取消关注用户的粉丝数
+     * @throws ResourceNotFoundException 用户不存在时抛出
+     */
+    @Transactional
+    public int unfollow(String username, String targetUsername) {
+        Long followerId = userIdOf(username);
+        Long followeeId = userIdOf(targetUsername);
+        int deleted = jdbcTemplate.update("DELETE FROM user_follows WHERE follower_id = ? AND followee_id = ?",
+            followerId, followeeId);
+        if (deleted > 0) {
+            userRepository.addFollowersCount(followeeId, -1);
+            userRepository.addFollowingCount(followerId, -1);
+            timelineService.removeAuthor(followerId, followeeId);
+        }
+        return userRepository.findFollowersCountById(followeeId);
+    }
+
+    private Long userIdOf(String username) {
+        return userRepository.findIdByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", username));
+    }
+}
@@ -0,0 +1,138 @@
+package com.xssblog.backend.service;
+
+import com.xssblog.backend.common.compression.CompressedText;
+import com.xssblog.backend.config.CompressionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 存量大文本压缩任务
+ *
+ * CompressedTextConverter 只压缩经过 JPA 写入的值；启用压缩之前的旧数据、批量导入和直接写库的数据
+ * 由本任务按主键区间分块压缩，每块一个短事务。UPDATE 带原值条件，期间被修改过的行跳过，
+ * 不会覆盖并发写入。
+ */
+@Component
+public class TextRecompressor {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(TextRecompressor.class);
+
+    /**
+     * 使用 CompressedTextConverter 的列
+     */
+    private static final List<Target> TARGETS = List.of(
+        new Target("article_bodies", "article_id", "content_html"),
+        new Target("comments", "id", "content_html"),
+        new Target("users", "id", "bio"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CompressionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public TextRecompressor(JdbcTemplate jdbcTemplate,
+                            CompressionProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 定时压缩
+     */
+    @Scheduled(cron = "${compression.recompress-cron:0 0 4 * * *}")
+    public void scheduledRecompress() {
+        recompress();
+    }
+
+    /**
+     * 对所有目标列执行一次存量压缩
+     *
+     * @return 压缩的行数
+     */
+    public int recompress() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        int total = 0;
+        for (Target target : TARGETS) {
+            int compressed = recompress(target);
+            if (compressed > 0) {
+                log.info("Compressed {} row(s) of {}.{}", compressed, target.table(), target.column());
+            }
+            total += compressed;
+        }
+        return total;
+    }
+
+    private int recompress(Target target) {
+        Long maxId = jdbcTemplate.queryForObject(
+            "SELECT MAX(" + target.idColumn() + ") FROM " + target.table(), Long.class);
+        if (maxId == null) {
+            return 0;
+        }
+        long chunkSize = properties.getRecompressChunkSize();
+        int compressed = 0;
+        for (long fromId = 0; fromId < maxId; fromId += chunkSize) {
+            long from = fromId;
+            long to = Math.min(fromId + chunkSize, maxId);
+            Integer updated = transactionTemplate.execute(status -> recompressChunk(target, from, to));
+            compressed += updated == null ? 0 : updated;
+        }
+        return compressed;
+    }
+
+    /**
+     * 压缩主键区间 (fromId, toId] 内未压缩且足够长的值
+     */
+    private int recompressChunk(Target target, long fromId, long toId) {
+        int minChars = properties.getMinChars();
+        List<Object[]> updates = new ArrayList<>();
+        // LENGTH 在 MySQL 中按字节计算，不小于字符数，只用于在数据库端预先排除短文本
+        jdbcTemplate.query("SELECT " + target.idColumn() + ", " + target.column() + " FROM " + target.table()
+                + " WHERE " + target.idColumn() + " > ? AND " + target.idColumn() + " <= ?"
+                + " AND LENGTH(" + target.column() + ") >= ? AND " + target.column() + " NOT LIKE ?",
+            (RowCallbackHandler) rs -> {
+                String raw = rs.getString(2);
+                if (CompressedText.isCompressed(raw)) {
+                    return;
+                }
+                String stored = CompressedText.compress(raw, minChars, properties.getLevel());
+                if (!stored.equals(raw)) {
+                    updates.add(new Object[] {stored, rs.getLong(1), raw});
+                }
+            },
+            fromId, toId, minChars, CompressedText.PREFIX + "%");
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        int[] counts = jdbcTemplate.batchUpdate("UPDATE " + target.table() + " SET " + target.column() + " = ?"
+            + " WHERE " + target.idColumn() + " = ? AND " + target.column() + " = ?", updates);
+        int compressed = 0;
+        for (int count : counts) {
+            // 驱动可能返回 SUCCESS_NO_INFO（-2）
+            if (count != 0) {
+                compressed++;
+            }
+        }
+        return compressed;
+    }
+
+    private record Target(String table, String idColumn, String column) {
+    }
+}
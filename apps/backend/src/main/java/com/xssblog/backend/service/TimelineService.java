@@ -0,0 +1,265 @@
+package com.xssblog.backend.service;
+
+import com.xssblog.backend.common.enums.ErrorCode;
+import com.xssblog.backend.common.exception.BusinessException;
+import com.xssblog.backend.common.exception.ResourceNotFoundException;
+import com.xssblog.backend.config.TimelineProperties;
+import com.xssblog.backend.dto.ArticleDto;
+import com.xssblog.backend.dto.TimelinePage;
+import com.xssblog.backend.entity.Article;
+import com.xssblog.backend.mapper.ArticleMapper;
+import com.xssblog.backend.repository.ArticleRepository;
+import com.xssblog.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 首页时间线服务（关注作者的文章，按发布时间倒序）
+ *
+ * 每次请求执行 "author_id IN (关注的作者) ORDER BY published_at" 时，关注数越多、热门作者文章越多，
+ * 排序代价越高。这里改为写扩散 + 读扩散的混合方式：
+ * - 写扩散：文章发布时用一条 INSERT ... SELECT 把 (粉丝, 发布时间, 文章) 写入 timeline_entries，
+ *   读取时间线只是主键 (user_id, published_at, article_id) 上的一段倒序范围
+ * - 读扩散：粉丝数达到 timeline.fan-out-threshold 的作者发布时不写入，读取时按作者查询其文章
+ *   （走 idx_author_published）并与物化时间线归并
+ * - 关注时回填该作者最近的 timeline.backfill-size 篇文章，取消关注时删除其条目
+ * - 每个用户只保留最新的 timeline.max-entries-per-user 条，定期裁剪更早的条目，
+ *   关注大量活跃作者的用户时间线不会无限增长（翻到保留范围之外即为时间线末尾）
+ *
+ * 分页使用 (published_at, article_id) 键集游标，翻页代价与页码无关；
+ * 本页文章 ID 确定后通过 findByIdIn 一次批量加载（作者、标签），不逐篇查询。
+ */
+@Service
+public class TimelineService {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(TimelineService.class);
+
+    private static final RowMapper<Entry> ENTRY = (rs, rowNum) ->
+        new Entry(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime());
+
+    /**
+     * 归并顺序：发布时间倒序，同一时间按文章 ID 倒序（与游标条件一致）
+     */
+    private static final Comparator<Entry> NEWEST_FIRST =
+        Comparator.comparing(Entry::publishedAt).thenComparingLong(Entry::articleId).reversed();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final UserRepository userRepository;
+    private final ArticleRepository articleRepository;
+    private final ArticleMapper articleMapper;
+    private final TimelineProperties properties;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public TimelineService(JdbcTemplate jdbcTemplate,
+                           UserRepository userRepository,
+                           ArticleRepository articleRepository,
+                           ArticleMapper articleMapper,
+                           TimelineProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.userRepository = userRepository;
+        this.articleRepository = articleRepository;
+        this.articleMapper = articleMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * 读取当前用户的时间线
+     *
+     * @param username 当前用户名（从 JWT 获取）
+     * @param cursor 上一页返回的 nextCursor，第一页为 null
+     * @param size 每页条数（为 null 时使用默认值，超过上限时截断）
+     * @return 一页文章及下一页游标
+     * @throws ResourceNotFoundException 用户不存在时抛出
+     * @throws BusinessException 游标无效时抛出（400）
+     */
+    @Transactional(readOnly = true)
+    public TimelinePage getTimeline(String username, String cursor, Integer size) {
+        Long userId = userRepository.findIdByUsername(username)
+            .orElseThrow(() -> new ResourceNotFoundException("User", username));
+        int pageSize = size == null ? properties.getPageSize() : Math.max(1, Math.min(size, properties.getMaxPageSize()));
+        Entry after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+
+        // 两个来源各多取一条，归并后判断是否还有下一页
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId)
+            .addValue("limit", pageSize + 1);
+        String afterCondition = "";
+        if (after != null) {
+            params.addValue("publishedAt", Timestamp.valueOf(after.publishedAt()))
+                .addValue("articleId", after.articleId());
+            afterCondition = " AND (%1$s < :publishedAt OR (%1$s = :publishedAt AND %2$s < :articleId))";
+        }
+        List<Entry> entries = new ArrayList<>(namedJdbcTemplate.query(
+            "SELECT article_id, published_at FROM timeline_entries WHERE user_id = :userId"
+                + afterCondition.formatted("published_at", "article_id")
+                + " ORDER BY published_at DESC, article_id DESC LIMIT :limit",
+            params, ENTRY));
+
+        List<Long> popularAuthors = userRepository.findPopularFollowingIds(userId, properties.getFanOutThreshold());
+        if (!popularAuthors.isEmpty()) {
+            params.addValue("authorIds", popularAuthors);
+            entries.addAll(namedJdbcTemplate.query(
+                "SELECT id, published_at FROM articles WHERE author_id IN (:authorIds) AND published_at IS NOT NULL"
+                    + afterCondition.formatted("published_at", "id")
+                    + " ORDER BY published_at DESC, id DESC LIMIT :limit",
+                params, ENTRY));
+            // 作者越过阈值之前写扩散的文章两边都有，按文章 ID 去重
+            entries = entries.stream()
+                .sorted(NEWEST_FIRST)
+                .collect(Collectors.toMap(Entry::articleId, Function.identity(), (a, b) -> a, LinkedHashMap::new))
+                .values().stream().toList();
+        }
+
+        List<Entry> page = entries.size() > pageSize ? entries.subList(0, pageSize) : entries;
+        String nextCursor = entries.size() > pageSize ? encodeCursor(page.get(page.size() - 1)) : null;
+        return new TimelinePage(hydrate(page), nextCursor);
+    }
+
+    /**
+     * 写扩散：把新发布的文章写入作者每个粉丝的时间线
+     *
+     * 每篇文章一条 INSERT ... SELECT（JDBC 批量执行），未发布的文章和粉丝数达到阈值的作者不写入。
+     *
+     * @param articleIds 新写入的文章 ID
+     */
+    @Transactional
+    public void fanOut(Collection<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        int threshold = properties.getFanOutThreshold();
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO timeline_entries (user_id, published_at, article_id, author_id) "
+                + "SELECT f.follower_id, a.published_at, a.id, a.author_id "
+                + "FROM articles a JOIN users u ON u.id = a.author_id JOIN user_follows f ON f.followee_id = a.author_id "
+                + "WHERE a.id = ? AND a.published_at IS NOT NULL AND u.followers_count < ?",
+            articleIds, articleIds.size(), (ps, articleId) -> {
+                ps.setLong(1, articleId);
+                ps.setInt(2, threshold);
+            });
+        log.debug("Fanned out {} article(s) to follower timelines", articleIds.size());
+    }
+
+    /**
+     * 回填：关注后把该作者最近的文章写入关注者的时间线（作者粉丝数达到阈值时不回填）
+     *
+     * 需在关注关系写入的同一事务中调用。
+     */
+    void backfill(Long userId, Long authorId) {
+        jdbcTemplate.update(
+            "INSERT INTO timeline_entries (user_id, published_at, article_id, author_id) "
+                + "SELECT f.follower_id, a.published_at, a.id, a.author_id "
+                + "FROM user_follows f JOIN users u ON u.id = f.followee_id JOIN articles a ON a.author_id = f.followee_id "
+                + "WHERE f.follower_id = ? AND f.followee_id = ? AND u.followers_count < ? AND a.published_at IS NOT NULL "
+                // 关注的同时有文章发布时，写扩散可能已写入该条目
+                + "AND NOT EXISTS (SELECT 1 FROM timeline_entries t WHERE t.user_id = f.follower_id AND t.article_id = a.id) "
+                + "ORDER BY a.published_at DESC, a.id DESC LIMIT ?",
+            userId, authorId, properties.getFanOutThreshold(), properties.getBackfillSize());
+    }
+
+    /**
+     * 取消关注后删除该作者在关注者时间线中的条目
+     */
+    void removeAuthor(Long userId, Long authorId) {
+        jdbcTemplate.update("DELETE FROM timeline_entries WHERE user_id = ? AND author_id = ?", userId, authorId);
+    }
+
+    /**
+     * 裁剪时间线：条目数超过 timeline.max-entries-per-user 的用户只保留最新的条目
+     *
+     * 先按主键找到第 max+1 新的条目，再删除它及更早的条目，删除是主键上的一段范围
+     */
+    @Scheduled(fixedDelayString = "${timeline.trim-interval-ms:600000}")
+    public void trim() {
+        int max = properties.getMaxEntriesPerUser();
+        List<Long> userIds = jdbcTemplate.queryForList(
+            "SELECT user_id FROM timeline_entries GROUP BY user_id HAVING COUNT(*) > ?", Long.class, max);
+        long deleted = 0;
+        for (Long userId : userIds) {
+            List<Entry> newestTrimmed = jdbcTemplate.query(
+                "SELECT article_id, published_at FROM timeline_entries WHERE user_id = ? "
+                    + "ORDER BY published_at DESC, article_id DESC LIMIT 1 OFFSET ?",
+                ENTRY, userId, max);
+            if (newestTrimmed.isEmpty()) {
+                continue;
+            }
+            Entry boundary = newestTrimmed.get(0);
+            Timestamp publishedAt = Timestamp.valueOf(boundary.publishedAt());
+            deleted += jdbcTemplate.update(
+                "DELETE FROM timeline_entries WHERE user_id = ? "
+                    + "AND (published_at < ? OR (published_at = ? AND article_id <= ?))",
+                userId, publishedAt, publishedAt, boundary.articleId());
+        }
+        if (deleted > 0) {
+            log.info("Trimmed {} timeline entries of {} user(s)", deleted, userIds.size());
+        }
+    }
+
+    /**
+     * 批量加载本页文章，保持时间线顺序（期间被删除的文章直接跳过）
+     */
+    private List<ArticleDto> hydrate(List<Entry> page) {
+        if (page.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Article> articles = articleRepository.findByIdIn(page.stream().map(Entry::articleId).toList())
+            .stream()
+            .collect(Collectors.toMap(Article::getId, Function.identity()));
+        List<ArticleDto> content = new ArrayList<>(page.size());
+        for (Entry entry : page) {
+            Article article = articles.get(entry.articleId());
+            if (article != null) {
+                content.add(articleMapper.toDto(article));
+            }
+        }
+        return content;
+    }
+
+    private static String encodeCursor(Entry entry) {
+        String raw = entry.publishedAt() + "," + entry.articleId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Entry decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = raw.indexOf(',');
+            return new Entry(Long.parseLong(raw.substring(comma + 1)), LocalDateTime.parse(raw.substring(0, comma)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_FAILED, "Invalid timeline cursor");
+        }
+    }
+
+    /**
+     * 时间线条目（也是游标的内容）
+     */
+    private record Entry(long articleId, LocalDateTime publishedAt) {
+    }
+}
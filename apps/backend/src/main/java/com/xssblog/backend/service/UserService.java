@@ -1,5 +1,6 @@
 package com.xssblog.backend.service;
 
+import com.xssblog.backend.cache.ExistenceFilters;
 import com.xssblog.backend.common.exception.ResourceNotFoundException;
 import com.xssblog.backend.dto.UserDto;
 import com.xssblog.backend.entity.User;
@@ -21,15 +22,18 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ExistenceFilters existenceFilters;
     
     /**
      * 构造函数，注入依赖
      * @param userRepository 用户仓库
      * @param userMapper 用户对象映射器
+     * @param existenceFilters 存在性过滤器（一定不存在的用户名不查询数据库）
      */
-    public UserService(UserRepository userRepository, UserMapper userMapper) {
+    public UserService(UserRepository userRepository, UserMapper userMapper, ExistenceFilters existenceFilters) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.existenceFilters = existenceFilters;
     }
     
     /**
@@ -40,8 +44,15 @@ public class UserService {
      * @throws ResourceNotFoundException 用户不存在时抛出
      */
     public UserDto getUserByUsername(String username) {
+        // 布隆过滤器判定一定不存在时直接返回 404，不查询数据库
+        if (!existenceFilters.mightExist(ExistenceFilters.Key.USERNAME, username)) {
+            throw new ResourceNotFoundException("User", username);
+        }
         User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new ResourceNotFoundException("User", username));
+            .orElseThrow(() -> {
+                existenceFilters.recordFalsePositive(ExistenceFilters.Key.USERNAME);
+                return new ResourceNotFoundException("User", username);
+            });
         return userMapper.toDto(user);
     }
     
@@ -0,0 +1,153 @@
+package com.xssblog.backend.service;
+
+import com.xssblog.backend.config.XssProperties;
+import com.xssblog.backend.event.XssModeChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * XSS 模式注册表（集群范围）
+ *
+ * 原来 POST /api/config/mode 只修改本实例 XssProperties 中的 volatile 字段，
+ * 负载均衡后的多个实例会对 vuln/secure 判断不一致。现在：
+ * - 切换模式时向 config_changes 插入一行，本实例立即生效
+ * - 各实例每 xss.poll-interval-ms 按主键查询是否有比已应用版本更新的行（一次索引范围查询）
+ * - 始终以最大 version 的值为准，同时切换时所有实例收敛到同一个模式
+ * - 启动时读取最新一行，没有记录时使用 application.yml 中的 xss.mode
+ *
+ * 请求路径上仍然只读取 XssProperties 的 volatile 字段，不访问数据库。
+ * 模式实际发生变化时发布 XssModeChangedEvent，依赖模式的缓存据此失效。
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class XssModeRegistry implements InitializingBean {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(XssModeRegistry.class);
+
+    /**
+     * config_changes 中 XSS 模式的键
+     */
+    static final String MODE_KEY = "xss.mode";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final XssProperties xssProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 本实例已应用的最大版本号（0 表示尚未应用任何变更）
+     */
+    private long appliedVersion;
+
+    /**
+     * 构造函数注入依赖
+     */
+    public XssModeRegistry(JdbcTemplate jdbcTemplate,
+                           XssProperties xssProperties,
+                           ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.xssProperties = xssProperties;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 启动时加载集群当前模式
+     */
+    @Override
+    public void afterPropertiesSet() {
+        poll();
+        log.info("XSS mode is '{}' (config version {})", xssProperties.getMode(), appliedVersion);
+    }
+
+    /**
+     * 切换模式（集群范围）
+     *
+     * @param mode 新模式（vuln/secure，不区分大小写）
+     * @return 新变更的版本号
+     */
+    public long switchMode(String mode) {
+        String value = mode.toLowerCase();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO config_changes (config_key, config_value, changed_at) VALUES (?, ?, ?)",
+                new String[] {"version"});
+            ps.setString(1, MODE_KEY);
+            ps.setString(2, value);
+            ps.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+            return ps;
+        }, keyHolder);
+        long version = keyHolder.getKey().longValue();
+        apply(version, value);
+        return version;
+    }
+
+    /**
+     * 轮询其他实例的模式切换
+     */
+    @Scheduled(fixedDelayString = "${xss.poll-interval-ms:2000}", initialDelayString = "${xss.poll-interval-ms:2000}")
+    public void poll() {
+        List<Change> changes;
+        try {
+            changes = jdbcTemplate.query(
+                "SELECT version, config_value FROM config_changes WHERE config_key = ? AND version > ? "
+                    + "ORDER BY version DESC LIMIT 1",
+                (rs, rowNum) -> new Change(rs.getLong(1), rs.getString(2)),
+                MODE_KEY, currentVersion());
+        } catch (DataAccessException e) {
+            // 数据库暂时不可用时保持当前模式，下次轮询再试
+            log.warn("Unable to poll config changes: {}", e.getMessage());
+            return;
+        }
+        if (!changes.isEmpty()) {
+            apply(changes.get(0).version(), changes.get(0).value());
+        }
+    }
+
+    /**
+     * 本实例已应用的最大版本号
+     */
+    public synchronized long currentVersion() {
+        return appliedVersion;
+    }
+
+    /**
+     * 应用比当前版本更新的变更（旧版本直接忽略）
+     */
+    private void apply(long version, String value) {
+        String previous;
+        String current;
+        synchronized (this) {
+            if (version <= appliedVersion) {
+                return;
+            }
+            appliedVersion = version;
+            previous = xssProperties.getMode();
+            xssProperties.setMode(value);
+            current = xssProperties.getMode();
+        }
+        if (!current.equals(previous)) {
+            log.info("XSS mode changed from '{}' to '{}' (config version {})", previous, current, version);
+            eventPublisher.publishEvent(new XssModeChangedEvent(previous, current, version));
+        }
+    }
+
+    private record Change(long version, String value) {
+    }
+}
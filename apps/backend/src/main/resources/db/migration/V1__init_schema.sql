@@ -1,10 +1,5 @@
--- Drop tables if exists (for clean restart)
-DROP TABLE IF EXISTS feedbacks;
-DROP TABLE IF EXISTS comments;
-DROP TABLE IF EXISTS article_tags;
-DROP TABLE IF EXISTS tags;
-DROP TABLE IF EXISTS articles;
-DROP TABLE IF EXISTS users;
+-- V1：初始表结构（原 schema.sql）
+-- 已发布的迁移脚本不可修改，表结构变更请新增 V{n}__描述.sql
 
 -- Create users table
 CREATE TABLE users (
@@ -81,5 +76,5 @@ CREATE TABLE feedbacks (
     status VARCHAR(20) NOT NULL DEFAULT 'NEW',
     created_at DATETIME NOT NULL,
     INDEX idx_status_created (status, created_at),
-    INDEX idx_email (email)  -- 新增：按邮箱查询优化
+    INDEX idx_feedback_email (email)  -- 新增：按邮箱查询优化
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,19 @@
+-- V2.1：主键分配表与冗余评论数
+-- 已有库（baseline 为 V2）没有这两项，需在 V3 之前补上；新库在演示数据写入之后执行
+
+-- Hibernate 按块分配主键（pooled-lo：next_val 为下一块的起始值），见 IdSequenceInitializer
+CREATE TABLE id_sequences (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 已有数据使用自增主键写入，从 MAX(id) + 1 开始按块分配
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'users', COALESCE(MAX(id), 0) + 1 FROM users;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'articles', COALESCE(MAX(id), 0) + 1 FROM articles;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'comments', COALESCE(MAX(id), 0) + 1 FROM comments;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'feedbacks', COALESCE(MAX(id), 0) + 1 FROM feedbacks;
+
+-- 冗余评论数，评论增删时同事务维护，定时任务对账
+ALTER TABLE articles ADD COLUMN comments_count INT NOT NULL DEFAULT 0;
+
+UPDATE articles SET comments_count = (SELECT COUNT(*) FROM comments c WHERE c.article_id = articles.id);
@@ -0,0 +1,5 @@
+-- V3：性能相关索引
+
+-- 管理后台反馈列表按 created_at 倒序分页（findAllByOrderByCreatedAtDesc），
+-- 现有 (status, created_at) 索引无法用于不带 status 条件的排序
+CREATE INDEX idx_feedbacks_created_at ON feedbacks (created_at);
@@ -0,0 +1,9 @@
+-- V4：文章最后修改时间
+-- 静态快照（ArticleSnapshotService）按该列找出发生变化的文章并重新生成；
+-- 已有文章以创建时间回填，避免上线后一次性重新生成全部快照
+
+ALTER TABLE articles ADD COLUMN updated_at DATETIME;
+
+UPDATE articles SET updated_at = created_at WHERE updated_at IS NULL;
+
+CREATE INDEX idx_articles_updated_at ON articles (updated_at);
@@ -0,0 +1,11 @@
+-- V5：运行时配置变更日志
+-- 每次切换 XSS 模式插入一行，各实例按 version 轮询新行并应用（见 XssModeRegistry），
+-- 多个后端实例部署在负载均衡之后时保持模式一致；version 单调递增，以最大 version 的值为准
+
+CREATE TABLE config_changes (
+    version BIGINT PRIMARY KEY AUTO_INCREMENT,
+    config_key VARCHAR(64) NOT NULL,
+    config_value VARCHAR(255) NOT NULL,
+    changed_at DATETIME NOT NULL,
+    INDEX idx_config_changes_key_version (config_key, version)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
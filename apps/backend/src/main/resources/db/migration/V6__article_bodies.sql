@@ -0,0 +1,14 @@
+-- V6：文章正文拆分到独立表
+-- 列表、作者主页、评论写入等加载 Article 实体的查询都会读出 LONGTEXT 正文，
+-- 占用 InnoDB 缓冲池并放大结果集；拆分后只有文章详情和静态快照按主键读取正文
+
+CREATE TABLE article_bodies (
+    article_id BIGINT PRIMARY KEY,
+    content_html LONGTEXT,
+    CONSTRAINT fk_article_bodies_article FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO article_bodies (article_id, content_html)
+SELECT id, content_html FROM articles;
+
+ALTER TABLE articles DROP COLUMN content_html;
@@ -0,0 +1,16 @@
+-- V7：评论楼中楼（物化路径）
+-- path 由各级祖先评论 ID（12 位十进制、左补零）依次拼接而成，以评论自身 ID 结尾：
+-- 整个讨论或某条评论的全部回复都是 (article_id, path) 索引上的一段连续范围，按 path 排序即为渲染顺序，
+-- 读取代价与嵌套深度无关。已有评论均为顶层评论。
+
+ALTER TABLE comments ADD COLUMN parent_id BIGINT;
+ALTER TABLE comments ADD COLUMN path VARCHAR(255) NOT NULL DEFAULT '';
+ALTER TABLE comments ADD COLUMN depth INT NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN replies_count INT NOT NULL DEFAULT 0;  -- 直接回复数，限制单条评论的回复数量
+
+UPDATE comments SET path = LPAD(CONCAT('', id), 12, '0');
+
+ALTER TABLE comments ADD CONSTRAINT fk_comments_parent
+    FOREIGN KEY (parent_id) REFERENCES comments(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_comments_article_path ON comments (article_id, path);
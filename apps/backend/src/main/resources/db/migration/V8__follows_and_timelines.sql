@@ -0,0 +1,30 @@
+-- V8：关注关系与首页时间线
+-- user_follows 按 (follower_id, followee_id) 存储关注关系，反向索引用于发布时查找粉丝；
+-- users 上冗余粉丝数 / 关注数，由关注、取消关注时的原子 UPDATE 维护。
+-- timeline_entries 是每个用户的物化时间线：文章发布时写入每个粉丝名下（写扩散），
+-- 按 (user_id, published_at, article_id) 主键倒序即为时间线顺序，分页是主键上的一段范围。
+-- 粉丝数达到 timeline.fan-out-threshold 的作者不写扩散，读取时再合并其文章（读扩散）。
+
+ALTER TABLE users ADD COLUMN followers_count INT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN following_count INT NOT NULL DEFAULT 0;
+
+CREATE TABLE user_follows (
+    follower_id BIGINT NOT NULL,
+    followee_id BIGINT NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (follower_id, followee_id),
+    CONSTRAINT fk_user_follows_follower FOREIGN KEY (follower_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_user_follows_followee FOREIGN KEY (followee_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_user_follows_followee (followee_id, follower_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE timeline_entries (
+    user_id BIGINT NOT NULL,
+    published_at DATETIME NOT NULL,
+    article_id BIGINT NOT NULL,
+    author_id BIGINT NOT NULL,  -- 取消关注时按作者删除
+    PRIMARY KEY (user_id, published_at, article_id),
+    CONSTRAINT fk_timeline_entries_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_timeline_entries_article FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE,
+    INDEX idx_timeline_entries_user_author (user_id, author_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,38 @@
+package com.xssblog.backend.common.compression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 文本列压缩编码测试
+ */
+class CompressedTextTest {
+
+    private static final String HTML = "<p>XSS 攻击原理与防御：输入过滤、输出编码与内容安全策略。</p>\n".repeat(100);
+
+    @Test
+    void largeHtmlRoundTripsAndShrinks() {
+        String stored = CompressedText.compress(HTML, 1024, 6);
+        assertThat(CompressedText.isCompressed(stored)).isTrue();
+        assertThat(stored.length()).isLessThan(HTML.length());
+        assertThat(CompressedText.decompress(stored)).isEqualTo(HTML);
+    }
+
+    @Test
+    void shortAndLegacyValuesAreStoredAsIs() {
+        assertThat(CompressedText.compress("<p>short</p>", 1024, 6)).isEqualTo("<p>short</p>");
+        assertThat(CompressedText.compress(null, 1024, 6)).isNull();
+        assertThat(CompressedText.decompress(HTML)).isEqualTo(HTML);
+    }
+
+    @Test
+    void textThatLooksCompressedStillRoundTrips() {
+        String tricky = CompressedText.PREFIX + "not really";
+        String stored = CompressedText.compress(tricky, Integer.MAX_VALUE, 6);
+        assertThat(stored).isNotEqualTo(tricky);
+        assertThat(CompressedText.decompress(stored)).isEqualTo(tricky);
+        // 无法解码的旧值按原文返回
+        assertThat(CompressedText.decompress(tricky)).isEqualTo(tricky);
+    }
+}
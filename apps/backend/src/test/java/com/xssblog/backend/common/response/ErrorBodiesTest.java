@@ -0,0 +1,64 @@
+package com.xssblog.backend.common.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xssblog.backend.common.enums.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 错误响应体序列化测试：逐字节与 Jackson 序列化 ErrorResponse 的结果一致
+ */
+class ErrorBodiesTest {
+
+    /**
+     * 与 Spring Boot 默认配置相同的 ObjectMapper
+     */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void defaultMessagesMatchJackson() throws Exception {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            assertMatchesJackson(errorCode.getCode(), errorCode.getMessage(), "/api/articles/missing");
+        }
+    }
+
+    @Test
+    void escapingMatchesJackson() throws Exception {
+        assertMatchesJackson("RESOURCE_NOT_FOUND", "Article not found: \"x\"", "/api/articles/\"><script>");
+        assertMatchesJackson("RESOURCE_NOT_FOUND", "back\\slash", "/api/a\\b/c%5C");
+        assertMatchesJackson("VALIDATION_FAILED", "tab\tnew\nline\rfeed\f\b", "/api/\u0001\u001f\u007f");
+        assertMatchesJackson("VALIDATION_FAILED", "非 ASCII 消息 é  ", "/api/文章/</script>");
+        assertMatchesJackson("UNAUTHORIZED", null, null);
+    }
+
+    @Test
+    void timestampFormatMatchesJackson() throws Exception {
+        // ISO_DATE_TIME 按需输出秒的小数位，整秒、毫秒、纳秒都要覆盖
+        for (LocalDateTime time : new LocalDateTime[] {
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5),
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5, 120_000_000),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999)}) {
+            ErrorResponse response = ErrorResponse.of("FORBIDDEN", "Access denied", "/api/admin");
+            response.setTimestamp(time.format(DateTimeFormatter.ISO_DATE_TIME));
+            assertThat(render("FORBIDDEN", "Access denied", time, "/api/admin"))
+                .isEqualTo(objectMapper.writeValueAsString(response));
+        }
+    }
+
+    private void assertMatchesJackson(String code, String message, String path) throws Exception {
+        ErrorResponse response = ErrorResponse.of(code, message, path);
+        String expected = objectMapper.writeValueAsString(response);
+        assertThat(render(code, message, LocalDateTime.parse(response.getTimestamp()), path))
+            .isEqualTo(expected);
+    }
+
+    private static String render(String code, String message, LocalDateTime time, String path) {
+        return new String(ErrorBodies.render(code, message, time, path), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,25 @@
+package com.xssblog.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 业务异常日志限流采样测试
+ */
+class ErrorLogSamplerTest {
+
+    @Test
+    void limitsPerKeyAndReportsSuppressedCount() {
+        ErrorLogSampler sampler = new ErrorLogSampler(2, 5);
+        assertThat(sampler.sample("RESOURCE_NOT_FOUND")).isZero();
+        assertThat(sampler.sample("RESOURCE_NOT_FOUND")).isZero();
+        // 超出限制：第 5 次超出时采样记录一条，并带上之前省略的 4 条
+        for (int i = 0; i < 4; i++) {
+            assertThat(sampler.sample("RESOURCE_NOT_FOUND")).isEqualTo(-1);
+        }
+        assertThat(sampler.sample("RESOURCE_NOT_FOUND")).isEqualTo(4);
+        // 其他错误码独立计数
+        assertThat(sampler.sample("INVALID_CREDENTIALS")).isZero();
+    }
+}
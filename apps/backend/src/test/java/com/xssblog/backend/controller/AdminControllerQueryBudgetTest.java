@@ -0,0 +1,119 @@
+package com.xssblog.backend.controller;
+
+import com.xssblog.backend.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * AdminController 查询预算测试
+ */
+class AdminControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void listFeedbacks() throws Exception {
+        mockMvc.perform(get("/api/admin/feedbacks")
+                .header("Authorization", bearer("admin", "ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(withinQueryBudget(2, 25));
+    }
+
+    @Test
+    void feedbackDetailMarksAsRead() throws Exception {
+        mockMvc.perform(get("/api/admin/feedbacks/{id}", 1)
+                .header("Authorization", bearer("admin", "ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(withinQueryBudget(3, 2));
+    }
+
+    @Test
+    void dashboardDoesNotTouchTheDatabase() throws Exception {
+        mockMvc.perform(get("/api/admin/dashboard")
+                .header("Authorization", bearer("admin", "ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(withinQueryBudget(0, 0));
+    }
+
+    /**
+     * 导入响应直接写出 NDJSON，不经过 ResponseBodyAdvice，因此没有查询统计头，只校验逐条结果
+     */
+    @Test
+    void importArticlesStreamsOneResultPerItem() throws Exception {
+        String body = """
+            [
+              {"title": "Imported one", "slug": "imported-one", "contentHtml": "<p>First imported article</p>",
+               "tags": ["import-test", "XSS"], "publishedAt": "2020-01-01T08:00:00"},
+              {"contentHtml": "<p>No title</p>"},
+              {"title": "Imported two", "contentHtml": "<p>Second imported article</p>",
+               "publishedAt": "2020-01-02T08:00:00"}
+            ]
+            """;
+        mockMvc.perform(post("/api/admin/articles/import")
+                .header("Authorization", bearer("admin", "ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(containsString("{\"index\":0,\"status\":\"CREATED\"")))
+            .andExpect(content().string(containsString("\"slug\":\"imported-one\"")))
+            .andExpect(content().string(containsString("{\"index\":1,\"status\":\"FAILED\",\"error\":\"title is required")))
+            .andExpect(content().string(containsString("{\"index\":2,\"status\":\"CREATED\"")));
+    }
+
+    @Test
+    void importRejectsOnlyItemsWithTakenSlugs() throws Exception {
+        String body = """
+            [
+              {"title": "Existing slug", "slug": "xss-attack-defense", "contentHtml": "<p>Taken by seed data</p>"},
+              {"title": "Fresh slug", "slug": "import-fresh-slug", "contentHtml": "<p>First use</p>"},
+              {"title": "Repeated slug", "slug": "import-fresh-slug", "contentHtml": "<p>Second use</p>"},
+              {"title": "Import fresh slug", "contentHtml": "<p>Generated slug collides</p>"}
+            ]
+            """;
+        mockMvc.perform(post("/api/admin/articles/import")
+                .header("Authorization", bearer("admin", "ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString(
+                "{\"index\":0,\"status\":\"FAILED\",\"error\":\"slug already exists: xss-attack-defense\"")))
+            .andExpect(content().string(containsString("{\"index\":1,\"status\":\"CREATED\"")))
+            .andExpect(content().string(containsString(
+                "{\"index\":2,\"status\":\"FAILED\",\"error\":\"slug already exists: import-fresh-slug\"")))
+            .andExpect(content().string(containsString("{\"index\":3,\"status\":\"CREATED\"")))
+            .andExpect(content().string(containsString("\"slug\":\"import-fresh-slug-")));
+    }
+
+    @Test
+    void importSkipsSuffixedSlugsThatAreTaken() throws Exception {
+        // 三条依次分配到 firstId、firstId+1、firstId+2；第二条显式占用第三条的 "{slug}-{id}"
+        long firstId = jdbcTemplate.queryForObject(
+            "SELECT next_val FROM id_sequences WHERE sequence_name = 'articles'", Long.class);
+        String suffixed = "suffix-taken-" + (firstId + 2);
+        String body = """
+            [
+              {"title": "Base slug", "slug": "suffix-taken", "contentHtml": "<p>Takes the base</p>"},
+              {"title": "Suffixed slug", "slug": "%s", "contentHtml": "<p>Takes the suffix</p>"},
+              {"title": "Suffix taken", "contentHtml": "<p>Generated slug collides twice</p>"}
+            ]
+            """.formatted(suffixed);
+        mockMvc.perform(post("/api/admin/articles/import")
+                .header("Authorization", bearer("admin", "ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("{\"index\":1,\"status\":\"CREATED\"")))
+            .andExpect(content().string(containsString("{\"index\":2,\"status\":\"CREATED\"")))
+            .andExpect(content().string(containsString("\"slug\":\"" + suffixed + "-2\"")));
+    }
+}
@@ -0,0 +1,217 @@
+package com.xssblog.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.xssblog.backend.common.compression.CompressedText;
+import com.xssblog.backend.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ArticleController 查询预算测试
+ */
+class ArticleControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void listArticlesFetchesOnlyTheRequestedPage() throws Exception {
+        // 文章 + 作者一条查询，标签一次批量查询
+        mockMvc.perform(get("/api/articles").param("page", "0").param("size", "10"))
+            .andExpect(status().isOk())
+            .andExpect(withinQueryBudget(3, 30));
+
+        // 小分页只能读取一页的数据：内存分页会把所有文章和标签行都读出来
+        mockMvc.perform(get("/api/articles").param("page", "0").param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.page").value(0))
+            .andExpect(jsonPath("$.size").value(1))
+            .andExpect(jsonPath("$.totalPages").exists())
+            .andExpect(jsonPath("$.pageable").doesNotExist())
+            .andExpect(jsonPath("$.content[0].contentHtml").doesNotExist())
+            .andExpect(withinQueryBudget(4, 6));
+    }
+
+    @Test
+    void articleDetailById() throws Exception {
+        // 正文在 article_bodies 中按主键单独读取
+        mockMvc.perform(get("/api/articles/{id}", 1))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contentHtml").isNotEmpty())
+            .andExpect(withinQueryBudget(4, 7));
+    }
+
+    @Test
+    void articleDetailBySlug() throws Exception {
+        mockMvc.perform(get("/api/articles/slug/{slug}", "xss-attack-defense"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contentHtml").isNotEmpty())
+            .andExpect(withinQueryBudget(2, 6));
+    }
+
+    @Test
+    void missingArticleIsSingleLookup() throws Exception {
+        mockMvc.perform(get("/api/articles/slug/{slug}", "no-such-article"))
+            .andExpect(status().isNotFound())
+            .andExpect(withinQueryBudget(1, 0));
+    }
+
+    @Test
+    void articleCommentsLoadUsersWithoutNPlusOne() throws Exception {
+        mockMvc.perform(get("/api/articles/{id}/comments", 2))
+            .andExpect(status().isOk())
+            .andExpect(withinQueryBudget(1, 10));
+    }
+
+    @Test
+    void postComment() throws Exception {
+        // 用户查询、评论数原子 +1（兼作文章存在性检查）、插入评论，不加载文章；
+        // 若恰好需要分配新的 id 块，另有 SELECT ... FOR UPDATE + UPDATE
+        mockMvc.perform(post("/api/articles/{id}/comments", 3)
+                .header("Authorization", bearer("alice", "USER"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"query budget\"}"))
+            .andExpect(status().isOk())
+            .andExpect(withinQueryBudget(5, 2));
+    }
+
+    @Test
+    void postCommentToMissingArticle() throws Exception {
+        mockMvc.perform(post("/api/articles/{id}/comments", 999_999)
+                .header("Authorization", bearer("alice", "USER"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"nowhere\"}"))
+            .andExpect(status().isNotFound())
+            .andExpect(withinQueryBudget(2, 1));
+    }
+
+    @Test
+    void commentsCountFollowsCreateAndDelete() throws Exception {
+        int before = commentsCount(4);
+
+        String created = mockMvc.perform(post("/api/articles/{id}/comments", 4)
+                .header("Authorization", bearer("alice", "USER"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"count me\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        Number commentId = JsonPath.read(created, "$.id");
+        assertThat(commentsCount(4)).isEqualTo(before + 1);
+
+        // 只有评论作者或管理员可以删除
+        mockMvc.perform(delete("/api/articles/{id}/comments/{commentId}", 4, commentId)
+                .header("Authorization", bearer("attacker", "USER")))
+            .andExpect(status().isForbidden());
+
+        mockMvc.perform(delete("/api/articles/{id}/comments/{commentId}", 4, commentId)
+                .header("Authorization", bearer("alice", "USER")))
+            .andExpect(status().isNoContent());
+        assertThat(commentsCount(4)).isEqualTo(before);
+    }
+
+    @Test
+    void commentThreadIsReadInRenderOrder() throws Exception {
+        int before = commentsCount(4);
+        long a = postReply(4, null);
+        long b = postReply(4, a);
+        long c = postReply(4, a);
+        long d = postReply(4, b);
+        assertThat(commentsCount(4)).isEqualTo(before + 4);
+
+        // 根评论定位 + 子树一次范围查询，与讨论串深度无关
+        mockMvc.perform(get("/api/articles/{id}/comments/thread", 4).param("root", String.valueOf(a)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].id").value(contains(
+                (int) a, (int) b, (int) d, (int) c)))
+            .andExpect(jsonPath("$[*].depth").value(contains(0, 1, 2, 1)))
+            .andExpect(jsonPath("$[1].parentId").value(a))
+            .andExpect(withinQueryBudget(2, 5));
+
+        mockMvc.perform(get("/api/articles/{id}/comments/thread", 4)
+                .param("root", String.valueOf(a)).param("depth", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3));
+
+        // 父评论必须属于同一篇文章
+        mockMvc.perform(post("/api/articles/{id}/comments", 3)
+                .header("Authorization", bearer("alice", "USER"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"elsewhere\",\"parentId\":" + a + "}"))
+            .andExpect(status().isNotFound());
+
+        // 删除根评论连同全部回复
+        mockMvc.perform(delete("/api/articles/{id}/comments/{commentId}", 4, a)
+                .header("Authorization", bearer("alice", "USER")))
+            .andExpect(status().isNoContent());
+        assertThat(commentsCount(4)).isEqualTo(before);
+        mockMvc.perform(get("/api/articles/{id}/comments/thread", 4).param("root", String.valueOf(d)))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void longCommentIsStoredCompressed() throws Exception {
+        String content = "<p>A long comment that repeats itself. </p>".repeat(40);
+        String created = mockMvc.perform(post("/api/articles/{id}/comments", 4)
+                .header("Authorization", bearer("alice", "USER"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"" + content + "\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contentHtml").value(content))
+            .andReturn().getResponse().getContentAsString();
+        Number commentId = JsonPath.read(created, "$.id");
+
+        String stored = jdbcTemplate.queryForObject(
+            "SELECT content_html FROM comments WHERE id = ?", String.class, commentId.longValue());
+        assertThat(stored).startsWith(CompressedText.PREFIX).hasSizeLessThan(content.length());
+
+        mockMvc.perform(get("/api/articles/{id}/comments", 4))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.id == " + commentId + ")].contentHtml").value(content));
+    }
+
+    @Test
+    void listArticlesAsCbor() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/articles").param("page", "0").param("size", "2")
+                .accept("application/cbor"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/cbor"))
+            .andReturn().getResponse().getContentAsByteArray();
+        JsonNode page = new CBORMapper().readTree(body);
+        assertThat(page.get("content").size()).isEqualTo(2);
+        assertThat(page.get("content").get(0).get("author").get("username").asText()).isNotEmpty();
+        assertThat(page.get("size").asInt()).isEqualTo(2);
+    }
+
+    private long postReply(long articleId, Long parentId) throws Exception {
+        String body = "{\"content\":\"thread\"" + (parentId == null ? "" : ",\"parentId\":" + parentId) + "}";
+        String created = mockMvc.perform(post("/api/articles/{id}/comments", articleId)
+                .header("Authorization", bearer("alice", "USER"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        Number id = JsonPath.read(created, "$.id");
+        return id.longValue();
+    }
+
+    private int commentsCount(long articleId) throws Exception {
+        String body = mockMvc.perform(get("/api/articles/{id}", articleId))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.commentsCount");
+    }
+}
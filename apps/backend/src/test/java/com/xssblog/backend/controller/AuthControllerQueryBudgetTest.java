@@ -0,0 +1,78 @@
+package com.xssblog.backend.controller;
+
+import com.xssblog.backend.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * AuthController 查询预算测试
+ */
+class AuthControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Test
+    void login() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"alice\",\"password\":\"Admin#2025\"}"))
+            .andExpect(status().isOk())
+            .andExpect(withinQueryBudget(1, 1));
+    }
+
+    @Test
+    void loginWithWrongPassword() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"alice\",\"password\":\"wrong-password\"}"))
+            .andExpect(status().isUnauthorized())
+            .andExpect(withinQueryBudget(1, 1));
+    }
+
+    @Test
+    void register() throws Exception {
+        String username = "u" + UUID.randomUUID().toString().substring(0, 8);
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+                    + "\"password\":\"Passw0rd#2025\"}"))
+            .andExpect(status().isOk())
+            // 只有一条 INSERT；若恰好需要分配新的 id 块，另有 SELECT ... FOR UPDATE + UPDATE
+            .andExpect(withinQueryBudget(3, 1));
+    }
+
+    @Test
+    void registerDuplicateUsername() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"alice\",\"email\":\"alice-" + UUID.randomUUID().toString().substring(0, 8)
+                    + "@example.com\",\"password\":\"Passw0rd#2025\"}"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("username 'alice' is already in use"))
+            .andExpect(withinQueryBudget(3, 1));
+    }
+
+    @Test
+    void registerDuplicateEmail() throws Exception {
+        String username = "u" + UUID.randomUUID().toString().substring(0, 8);
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"email\":\"alice@techblog.com\","
+                    + "\"password\":\"Passw0rd#2025\"}"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("email 'alice@techblog.com' is already in use"));
+    }
+
+    @Test
+    void currentUser() throws Exception {
+        mockMvc.perform(get("/api/auth/me")
+                .header("Authorization", bearer("alice", "USER")))
+            .andExpect(status().isOk())
+            .andExpect(withinQueryBudget(1, 1));
+    }
+}
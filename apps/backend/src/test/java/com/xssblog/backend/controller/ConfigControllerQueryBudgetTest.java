@@ -0,0 +1,76 @@
+package com.xssblog.backend.controller;
+
+import com.xssblog.backend.config.XssProperties;
+import com.xssblog.backend.event.XssModeChangedEvent;
+import com.xssblog.backend.service.XssModeRegistry;
+import com.xssblog.backend.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ConfigController 查询预算与多实例模式同步测试
+ *
+ * 第二个实例用独立的 XssProperties + XssModeRegistry 模拟，与应用共享同一个数据库。
+ */
+class ConfigControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private XssProperties xssProperties;
+
+    @Autowired
+    private XssModeRegistry xssModeRegistry;
+
+    @AfterEach
+    void restoreVulnMode() {
+        xssModeRegistry.switchMode("vuln");
+    }
+
+    @Test
+    void readingModeDoesNotTouchDatabase() throws Exception {
+        mockMvc.perform(get("/api/config"))
+            .andExpect(status().isOk())
+            .andExpect(withinQueryBudget(0, 0));
+    }
+
+    @Test
+    void modeSwitchPropagatesToOtherInstances() throws Exception {
+        XssProperties otherProperties = new XssProperties();
+        List<Object> otherEvents = new ArrayList<>();
+        XssModeRegistry other = new XssModeRegistry(jdbcTemplate, otherProperties, otherEvents::add);
+        other.afterPropertiesSet();
+
+        mockMvc.perform(post("/api/config/mode")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"mode\":\"secure\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.xssMode").value("secure"));
+        assertThat(xssProperties.isSecure()).isTrue();
+
+        // 另一个实例在下一次轮询时同步，并发布模式变更事件
+        other.poll();
+        assertThat(otherProperties.isSecure()).isTrue();
+        assertThat(otherEvents).singleElement()
+            .isInstanceOfSatisfying(XssModeChangedEvent.class, event -> assertThat(event.getMode()).isEqualTo("secure"));
+
+        // 反方向：另一个实例切换，本实例轮询后同步
+        other.switchMode("vuln");
+        xssModeRegistry.poll();
+        assertThat(xssProperties.isVuln()).isTrue();
+        assertThat(xssModeRegistry.currentVersion()).isEqualTo(other.currentVersion());
+    }
+}
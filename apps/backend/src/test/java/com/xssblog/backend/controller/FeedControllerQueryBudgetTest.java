@@ -0,0 +1,58 @@
+package com.xssblog.backend.controller;
+
+import com.xssblog.backend.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * FeedController 查询预算测试
+ */
+class FeedControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Test
+    void feedIsServedFromCache() throws Exception {
+        mockMvc.perform(get("/feed.xml"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("<feed xmlns=\"http://www.w3.org/2005/Atom\">")))
+            .andExpect(content().string(containsString("/article/1</id>")));
+
+        // 缓存生成后不再访问数据库
+        mockMvc.perform(get("/feed.xml").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(withinQueryBudget(0, 0));
+    }
+
+    @Test
+    void sitemapIndexPointsToShards() throws Exception {
+        mockMvc.perform(get("/sitemap.xml"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("/sitemap-1.xml</loc>")));
+
+        mockMvc.perform(get("/sitemap-1.xml"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("/article/1</loc>")))
+            .andExpect(withinQueryBudget(0, 0));
+
+        mockMvc.perform(get("/sitemap-2.xml"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void unchangedFeedAnswersNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/feed.xml"))
+            .andExpect(status().isOk())
+            .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/feed.xml").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+    }
+}
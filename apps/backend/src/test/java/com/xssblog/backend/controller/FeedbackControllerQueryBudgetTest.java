@@ -0,0 +1,37 @@
+package com.xssblog.backend.controller;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.xssblog.backend.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * FeedbackController 查询预算测试
+ */
+class FeedbackControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Test
+    void submitFeedbackIsSingleInsert() throws Exception {
+        mockMvc.perform(post("/api/feedback")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"budget@example.com\",\"content\":\"query budget test\"}"))
+            .andExpect(status().isOk())
+            // 单条 INSERT；若恰好需要分配新的 id 块，另有 SELECT ... FOR UPDATE + UPDATE
+            .andExpect(withinQueryBudget(3, 1));
+    }
+
+    @Test
+    void submitFeedbackAsSmile() throws Exception {
+        byte[] body = new SmileMapper().writeValueAsBytes(
+            Map.of("email", "smile@example.com", "content", "binary request body"));
+        mockMvc.perform(post("/api/feedback")
+                .contentType("application/x-jackson-smile")
+                .content(body))
+            .andExpect(status().isOk());
+    }
+}
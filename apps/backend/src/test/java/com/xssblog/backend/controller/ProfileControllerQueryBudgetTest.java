@@ -0,0 +1,59 @@
+package com.xssblog.backend.controller;
+
+import com.xssblog.backend.cache.ExistenceFilters;
+import com.xssblog.backend.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ProfileController 查询预算测试
+ */
+class ProfileControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Autowired
+    private ExistenceFilters existenceFilters;
+
+    @Test
+    void userProfileWithArticles() throws Exception {
+        // 用户一条查询，文章 + 作者一条查询，标签一次批量查询
+        mockMvc.perform(get("/api/profile/{username}", "alice"))
+            .andExpect(status().isOk())
+            .andExpect(withinQueryBudget(4, 15));
+    }
+
+    @Test
+    void unknownUserIsSingleLookup() throws Exception {
+        mockMvc.perform(get("/api/profile/{username}", "nobody"))
+            .andExpect(status().isNotFound())
+            .andExpect(withinQueryBudget(1, 0));
+    }
+
+    @Test
+    void unknownUserIsRejectedByBloomFilter() throws Exception {
+        existenceFilters.rebuild();
+        mockMvc.perform(get("/api/profile/{username}", "scanner-7f3a9c"))
+            .andExpect(status().isNotFound())
+            .andExpect(withinQueryBudget(0, 0));
+        // 已有用户仍然访问数据库
+        mockMvc.perform(get("/api/profile/{username}", "alice"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void bloomFilterFollowsColumnCollation() {
+        existenceFilters.rebuild();
+        // utf8mb4_unicode_ci 忽略大小写、重音和末尾空格，这些写法在 MySQL 中都能查到 alice
+        for (String username : List.of("ALICE", "alice ", "Alicé", "a\u0301lice", "ａｌｉｃｅ", "ali\u200bce")) {
+            assertThat(existenceFilters.mightExist(ExistenceFilters.Key.USERNAME, username))
+                .as(username)
+                .isTrue();
+        }
+        assertThat(existenceFilters.mightExist(ExistenceFilters.Key.USERNAME, "scanner-7f3a9c")).isFalse();
+    }
+}
@@ -0,0 +1,108 @@
+package com.xssblog.backend.controller;
+
+import com.xssblog.backend.service.ArticleSnapshotService;
+import com.xssblog.backend.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SnapshotController 查询预算测试
+ *
+ * 快照目录使用临时目录，每次运行都从空目录开始。
+ */
+class SnapshotControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @TempDir
+    static Path snapshotDirectory;
+
+    @DynamicPropertySource
+    static void snapshotProperties(DynamicPropertyRegistry registry) {
+        registry.add("snapshot.directory", () -> snapshotDirectory.toString());
+    }
+
+    @Autowired
+    private ArticleSnapshotService snapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void snapshotIsServedWithoutTouchingTheDatabase() throws Exception {
+        // 第一次访问（快照不存在时）生成快照
+        mockMvc.perform(get("/snapshots/{slug}.html", "xss-attack-defense"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("<h1>Web安全基础：XSS攻击原理与防御</h1>")))
+            .andExpect(content().string(containsString("<h2>什么是XSS？</h2>")));
+
+        mockMvc.perform(get("/snapshots/{slug}.html", "xss-attack-defense"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age")))
+            .andExpect(withinQueryBudget(0, 0));
+    }
+
+    @Test
+    void rangeRequestReturnsPartialContent() throws Exception {
+        mockMvc.perform(get("/snapshots/{slug}.html", "vue3-composition-api-guide")
+                .header(HttpHeaders.RANGE, "bytes=0-14"))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().string("<!DOCTYPE html>"));
+    }
+
+    @Test
+    void unknownSlugIsNotFound() throws Exception {
+        mockMvc.perform(get("/snapshots/{slug}.html", "no-such-article"))
+            .andExpect(status().isNotFound())
+            .andExpect(withinQueryBudget(1, 0));
+    }
+
+    @Test
+    void unpublishedArticleLosesItsSnapshot() throws Exception {
+        String slug = "modern-frontend-toolchain";
+        mockMvc.perform(get("/snapshots/{slug}.html", slug))
+            .andExpect(status().isOk());
+        assertThat(snapshotDirectory.resolve(slug + ".html")).exists();
+
+        Timestamp publishedAt = jdbcTemplate.queryForObject(
+            "SELECT published_at FROM articles WHERE slug = ?", Timestamp.class, slug);
+        jdbcTemplate.update("UPDATE articles SET published_at = NULL, updated_at = ? WHERE slug = ?",
+            Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), slug);
+        try {
+            snapshotService.refresh();
+            assertThat(snapshotDirectory.resolve(slug + ".html")).doesNotExist();
+            mockMvc.perform(get("/snapshots/{slug}.html", slug))
+                .andExpect(status().isNotFound());
+        } finally {
+            jdbcTemplate.update("UPDATE articles SET published_at = ? WHERE slug = ?", publishedAt, slug);
+        }
+    }
+
+    @Test
+    void purgeRemovesSnapshotsOfDeletedArticles() throws Exception {
+        // 文章删除后没有 updated_at 可查，只能由全量清理发现
+        Path stale = Files.writeString(snapshotDirectory.resolve("deleted-article.html"), "<!DOCTYPE html>");
+        mockMvc.perform(get("/snapshots/{slug}.html", "security-practice-tips"))
+            .andExpect(status().isOk());
+
+        snapshotService.purgeStale();
+
+        assertThat(stale).doesNotExist();
+        assertThat(snapshotDirectory.resolve("security-practice-tips.html")).exists();
+    }
+}
@@ -0,0 +1,150 @@
+package com.xssblog.backend.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.xssblog.backend.config.TimelineProperties;
+import com.xssblog.backend.service.TimelineService;
+import com.xssblog.backend.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * TimelineController 查询预算测试（含 ProfileController 的关注接口）
+ */
+class TimelineControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private TimelineProperties timelineProperties;
+
+    @Test
+    void followBackfillsAndPublishingFansOut() throws Exception {
+        mockMvc.perform(post("/api/profile/{username}/follow", "attacker")
+                .header("Authorization", bearer("admin", "ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.following").value(true))
+            .andExpect(jsonPath("$.followersCount").value(1));
+        // 重复关注由主键冲突识别，计数不变
+        mockMvc.perform(post("/api/profile/{username}/follow", "attacker")
+                .header("Authorization", bearer("admin", "ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.following").value(true))
+            .andExpect(jsonPath("$.followersCount").value(1));
+
+        // 用户 ID、时间线范围、热门作者、文章批量加载各一条查询
+        mockMvc.perform(get("/api/timeline").header("Authorization", bearer("admin", "ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[*].id").value(contains(2)))
+            .andExpect(jsonPath("$.content[0].contentHtml").doesNotExist())
+            .andExpect(jsonPath("$.nextCursor").doesNotExist())
+            .andExpect(withinQueryBudget(4, 6));
+
+        mockMvc.perform(post("/api/admin/articles/import")
+                .header("Authorization", bearer("admin", "ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\": \"Timeline fan-out\", \"author\": \"attacker\", "
+                    + "\"contentHtml\": \"<p>fan-out</p>\", \"publishedAt\": \"2021-06-01T08:00:00\"}]"))
+            .andExpect(status().isOk());
+
+        String first = mockMvc.perform(get("/api/timeline").param("size", "1")
+                .header("Authorization", bearer("admin", "ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[*].id").value(contains(2)))
+            .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+            .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(first, "$.nextCursor");
+        mockMvc.perform(get("/api/timeline").param("size", "1").param("cursor", cursor)
+                .header("Authorization", bearer("admin", "ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].title").value("Timeline fan-out"))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(delete("/api/profile/{username}/follow", "attacker")
+                .header("Authorization", bearer("admin", "ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.following").value(false))
+            .andExpect(jsonPath("$.followersCount").value(0));
+        mockMvc.perform(get("/api/timeline").header("Authorization", bearer("admin", "ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content").isEmpty());
+    }
+
+    @Test
+    void popularAuthorsAreMergedOnRead() throws Exception {
+        // 模拟粉丝数超过写扩散阈值的作者
+        jdbcTemplate.update("UPDATE users SET followers_count = followers_count + 1000000 WHERE username = 'alice'");
+        try {
+            mockMvc.perform(post("/api/profile/{username}/follow", "alice")
+                    .header("Authorization", bearer("attacker", "USER")))
+                .andExpect(status().isOk());
+            Integer materialized = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM timeline_entries t JOIN users u ON u.id = t.user_id WHERE u.username = 'attacker'",
+                Integer.class);
+            assertThat(materialized).isZero();
+
+            // 多一条按作者读取文章的查询
+            mockMvc.perform(get("/api/timeline").header("Authorization", bearer("attacker", "USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id").value(contains(4, 3)))
+                .andExpect(withinQueryBudget(5, 10));
+
+            mockMvc.perform(delete("/api/profile/{username}/follow", "alice")
+                    .header("Authorization", bearer("attacker", "USER")))
+                .andExpect(status().isOk());
+        } finally {
+            jdbcTemplate.update("UPDATE users SET followers_count = followers_count - 1000000 WHERE username = 'alice'");
+        }
+    }
+
+    @Test
+    void trimKeepsNewestEntriesPerUser() {
+        jdbcTemplate.update("INSERT INTO timeline_entries (user_id, published_at, article_id, author_id) "
+            + "SELECT u.id, a.published_at, a.id, a.author_id FROM users u JOIN articles a ON a.published_at IS NOT NULL "
+            + "WHERE u.username = 'alice'");
+        List<Long> newest = jdbcTemplate.queryForList(
+            "SELECT id FROM articles WHERE published_at IS NOT NULL ORDER BY published_at DESC, id DESC LIMIT 2",
+            Long.class);
+        int max = timelineProperties.getMaxEntriesPerUser();
+        timelineProperties.setMaxEntriesPerUser(2);
+        try {
+            timelineService.trim();
+            List<Long> kept = jdbcTemplate.queryForList(
+                "SELECT t.article_id FROM timeline_entries t JOIN users u ON u.id = t.user_id "
+                    + "WHERE u.username = 'alice' ORDER BY t.published_at DESC, t.article_id DESC",
+                Long.class);
+            assertThat(kept).isEqualTo(newest);
+        } finally {
+            timelineProperties.setMaxEntriesPerUser(max);
+            jdbcTemplate.update("DELETE FROM timeline_entries WHERE user_id = (SELECT id FROM users WHERE username = 'alice')");
+        }
+    }
+
+    @Test
+    void invalidFollowsAndCursors() throws Exception {
+        mockMvc.perform(post("/api/profile/{username}/follow", "alice")
+                .header("Authorization", bearer("alice", "USER")))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/profile/{username}/follow", "nobody")
+                .header("Authorization", bearer("alice", "USER")))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/timeline").param("cursor", "not-a-cursor")
+                .header("Authorization", bearer("alice", "USER")))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,150 @@
+package com.xssblog.backend.datasource;
+
+import com.xssblog.backend.config.DataSourceRoutingProperties;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 读写分离路由测试
+ *
+ * 使用两个独立的 H2 内存库分别充当主库和从库，每个库的 node 表记录自己的名称，
+ * 通过查询 node 表判断 SQL 实际落在哪个库上。
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSourceRoutingProperties properties;
+    private ReplicaDataSource replica;
+    private ReadYourWritesTracker tracker;
+    private ReplicaHealthChecker healthChecker;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource primaryDb = database("primary");
+        JdbcDataSource replicaDb = database("replica");
+
+        properties = new DataSourceRoutingProperties();
+        properties.setMaxLagSeconds(5);
+        replica = new ReplicaDataSource("replica", replicaDb);
+        tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        healthChecker = new ReplicaHealthChecker(List.of(replica), properties, tracker);
+        healthChecker.checkReplicas();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primaryDb, List.of(replica), tracker));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        assertThat(readWriteNode()).isEqualTo("primary");
+        // 无事务的请求走主库
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() {
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET touched = touched + 1"));
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        // 其他用户不受影响
+        authenticate("bob");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotMakeUserSticky() {
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET touched = touched + 1");
+            status.setRollbackOnly();
+        });
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimaryUntilCaughtUp() {
+        properties.setLagQuery("SELECT seconds FROM replica_lag");
+        new JdbcTemplate(replica.getDataSource()).update("UPDATE replica_lag SET seconds = 30");
+        healthChecker.checkReplicas();
+        assertThat(replica.isAvailable()).isFalse();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        new JdbcTemplate(replica.getDataSource()).update("UPDATE replica_lag SET seconds = 1");
+        healthChecker.checkReplicas();
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        JdbcDataSource broken = new JdbcDataSource();
+        broken.setURL("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+        ReplicaDataSource down = new ReplicaDataSource("down", broken);
+        new ReplicaHealthChecker(List.of(down), properties, tracker).checkReplicas();
+        assertThat(down.isAvailable()).isFalse();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(database("primary"), List.of(down), tracker));
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(true);
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        String node = transaction.execute(status -> template.queryForObject("SELECT name FROM node", String.class));
+        assertThat(node).isEqualTo("primary");
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> currentNode());
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> currentNode());
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList()));
+    }
+
+    private static JdbcDataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE node (name VARCHAR(16), touched INT)");
+        template.update("INSERT INTO node VALUES (?, 0)", name);
+        template.execute("CREATE TABLE replica_lag (seconds INT)");
+        template.update("INSERT INTO replica_lag VALUES (0)");
+        return dataSource;
+    }
+}
@@ -0,0 +1,87 @@
+package com.xssblog.backend.monitoring;
+
+import com.xssblog.backend.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 启动耗时报告测试
+ */
+class StartupTimelineReportTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reportsSlowestStepsWithParentsAndTags() throws InterruptedException {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        StartupStep parent = startup.start("xssblog.parent");
+        StartupStep child = startup.start("xssblog.child").tag("beanName", "entityManagerFactory");
+        Thread.sleep(20);
+        child.end();
+        parent.end();
+        startup.start("xssblog.child").end();
+
+        Map<String, Object> report = new StartupTimelineReport(startup).generate(10, 10);
+
+        assertThat(report.get("recordedSteps")).isEqualTo(3);
+        Map<String, Map<String, Object>> summary = (Map<String, Map<String, Object>>) report.get("summary");
+        assertThat(summary.get("xssblog.child").get("count")).isEqualTo(2);
+
+        List<Map<String, Object>> steps = (List<Map<String, Object>>) report.get("steps");
+        assertThat(steps).extracting(step -> step.get("name")).containsExactly("xssblog.parent", "xssblog.child");
+        assertThat(steps.get(1).get("parentId")).isEqualTo(steps.get(0).get("id"));
+        assertThat(steps.get(1).get("tags")).isEqualTo(Map.of("beanName", "entityManagerFactory"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reportsStepsWhenAlsoRecordingToJfr(@TempDir Path dir) {
+        Path jfrFile = dir.resolve("startup.jfr");
+        SpringApplication application = new SpringApplication();
+        System.setProperty("startup.jfr-file", jfrFile.toString());
+        try {
+            StartupProfiling.configure(application);
+        } finally {
+            System.clearProperty("startup.jfr-file");
+        }
+        ApplicationStartup startup = application.getApplicationStartup();
+        startup.start("xssblog.step").tag("beanName", "dataSource").end();
+
+        // 启动步骤同时写入 JFR，报告仍从缓冲区读取
+        assertThat(startup).isNotInstanceOf(BufferingApplicationStartup.class);
+        Map<String, Object> report = new StartupTimelineReport(startup).generate(10, 0);
+        assertThat(report.get("recordedSteps")).isEqualTo(1);
+        List<Map<String, Object>> steps = (List<Map<String, Object>>) report.get("steps");
+        assertThat(steps.get(0).get("tags")).isEqualTo(Map.of("beanName", "dataSource"));
+
+        // 应用就绪时停止 JFR 记录并写入文件（只通知 StartupProfiling 注册的监听器）
+        ApplicationReadyEvent ready = new ApplicationReadyEvent(application, new String[0], null, Duration.ZERO);
+        for (ApplicationListener<?> listener : application.getListeners()) {
+            if (listener.getClass().getEnclosingClass() == StartupProfiling.class) {
+                ((ApplicationListener<ApplicationEvent>) listener).onApplicationEvent(ready);
+            }
+        }
+        assertThat(Files.exists(jfrFile)).isTrue();
+    }
+
+    @Test
+    void rejectsWhenStartupIsNotBuffered() {
+        assertThatThrownBy(() -> new StartupTimelineReport(ApplicationStartup.DEFAULT).generate(10, 0))
+            .isInstanceOf(BusinessException.class);
+    }
+}
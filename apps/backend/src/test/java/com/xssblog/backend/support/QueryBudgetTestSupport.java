@@ -0,0 +1,65 @@
+package com.xssblog.backend.support;
+
+import com.xssblog.backend.security.JwtTokenProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 查询预算回归测试基类
+ *
+ * 在嵌入式 H2（MySQL 兼容模式）上启动完整应用，由 Flyway 执行 db/migration 初始化表结构和演示数据。
+ * 借助 QueryMonitorFilter 写入的 X-Query-Count / X-Query-Rows 响应头，
+ * 断言每个接口执行的 SQL 语句数和读取行数不超过预算。
+ *
+ * N+1 懒加载或内存分页等性能回归会导致语句数/行数超出预算，从而使构建失败。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class QueryBudgetTestSupport {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected JwtTokenProvider jwtTokenProvider;
+
+    /**
+     * 断言请求的 SQL 语句数和读取行数不超过预算
+     *
+     * @param maxStatements 最大语句数
+     * @param maxRows 最大读取行数
+     * @return ResultMatcher
+     */
+    protected static ResultMatcher withinQueryBudget(int maxStatements, long maxRows) {
+        return result -> {
+            String statements = result.getResponse().getHeader("X-Query-Count");
+            String rows = result.getResponse().getHeader("X-Query-Rows");
+            assertThat(statements).as("X-Query-Count header").isNotNull();
+            assertThat(rows).as("X-Query-Rows header").isNotNull();
+            assertThat(Integer.parseInt(statements))
+                .as("SQL statements for %s", result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(maxStatements);
+            assertThat(Long.parseLong(rows))
+                .as("rows fetched for %s", result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(maxRows);
+        };
+    }
+
+    /**
+     * 生成 Authorization 请求头（VULN 模式从请求头读取 JWT）
+     *
+     * @param username 用户名
+     * @param role 用户角色（ADMIN/USER）
+     * @return "Bearer ..." 请求头值
+     */
+    protected String bearer(String username, String role) {
+        return "Bearer " + jwtTokenProvider.generateToken(username, role);
+    }
+}
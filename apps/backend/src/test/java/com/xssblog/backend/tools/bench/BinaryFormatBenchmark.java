@@ -0,0 +1,102 @@
+package com.xssblog.backend.tools.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.xssblog.backend.common.response.PageResponse;
+import com.xssblog.backend.dto.ArticleDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章列表页编解码基准：JSON vs CBOR vs Smile
+ *
+ * 服务端编码 PageResponse&lt;ArticleDto&gt;（与 GET /api/articles 相同），客户端解码为同样的 DTO。
+ * 每页字节数见结果中的 bytes 辅助计数（encode 每次调用的平均值），分配量加 -prof gc 查看：
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench=BinaryFormat
+ * mvn -Pbench test-compile exec:exec -Dbench="BinaryFormat -p pageSize=50 -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private PageResponse<ArticleDto> page;
+    private byte[] encoded;
+
+    /**
+     * 客户端解码目标（与 PageResponse 输出的字段一致）
+     */
+    public record ArticlePage(List<ArticleDto> content, int page, int size, long totalElements, int totalPages) {
+    }
+
+    /**
+     * 每次调用输出的字节数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Bytes {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory());
+            case "smile" -> builder.factory(new SmileFactory());
+            default -> { }
+        }
+        mapper = builder.build();
+        page = PageResponse.of(new PageImpl<>(PageSerializationBenchmark.articles(pageSize),
+            PageRequest.of(0, pageSize), 1_000));
+        encoded = mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encode(Bytes counter) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(page);
+        counter.bytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public ArticlePage decode() throws IOException {
+        return mapper.readValue(encoded, ArticlePage.class);
+    }
+}
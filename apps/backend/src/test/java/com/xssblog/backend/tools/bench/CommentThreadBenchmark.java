@@ -0,0 +1,215 @@
+package com.xssblog.backend.tools.bench;
+
+import com.xssblog.backend.entity.CommentPathGenerator;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 讨论串读取基准：物化路径 vs 邻接表逐层查询
+ *
+ * 一篇文章下 comments 条评论，按 depth 控制讨论串的最大深度（每条评论回复同一串中较浅的评论）：
+ * - path：WHERE article_id = ? AND path LIKE '...%' ORDER BY path，一次范围扫描（与 ArticleService.getCommentThread 相同）
+ * - adjacency：先查顶层评论，再按 parent_id IN (...) 逐层查询，直到没有回复
+ * queries 辅助计数为每次读取整串所用的语句数。默认使用嵌入式 H2；对 MySQL 测试时通过 -p url=... 指定：
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench=CommentThread
+ * mvn -Pbench test-compile exec:exec -Dbench="CommentThread -p url=jdbc:mysql://localhost:3306/blog -p user=root -p password=root"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CommentThreadBenchmark {
+
+    @Param({"path", "adjacency"})
+    public String layout;
+
+    @Param({"2", "8"})
+    public int depth;
+
+    @Param({"10000"})
+    public int comments;
+
+    @Param({"jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"})
+    public String url;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private HikariDataSource dataSource;
+
+    /**
+     * 每次调用执行的 SQL 语句数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Queries {
+        public long queries;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            queries = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMaximumPoolSize(2);
+        dataSource = new HikariDataSource(config);
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_comments");
+            statement.execute("CREATE TABLE bench_comments ("
+                + "id BIGINT PRIMARY KEY, article_id BIGINT NOT NULL, parent_id BIGINT, "
+                + "path VARCHAR(255) NOT NULL, depth INT NOT NULL, content_html TEXT NOT NULL)");
+            statement.execute("CREATE INDEX idx_bench_comments_path ON bench_comments (article_id, path)");
+            statement.execute("CREATE INDEX idx_bench_comments_parent ON bench_comments (parent_id)");
+            insertComments(connection);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_comments");
+        }
+        dataSource.close();
+    }
+
+    /**
+     * @return 读取到的评论数
+     */
+    @Benchmark
+    public int readThread(Queries counter) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return "path".equals(layout) ? readByPath(connection, counter) : readByLevel(connection, counter);
+        }
+    }
+
+    private static int readByPath(Connection connection, Queries counter) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT id, parent_id, depth, content_html FROM bench_comments "
+                    + "WHERE article_id = 1 AND path LIKE ? ORDER BY path")) {
+            ps.setString(1, "%");
+            counter.queries++;
+            return count(ps);
+        }
+    }
+
+    private static int readByLevel(Connection connection, Queries counter) throws SQLException {
+        List<Long> level = new ArrayList<>();
+        int total = 0;
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT id, parent_id, depth, content_html FROM bench_comments "
+                    + "WHERE article_id = 1 AND parent_id IS NULL")) {
+            counter.queries++;
+            total += collect(ps, level);
+        }
+        while (!level.isEmpty()) {
+            StringJoiner in = new StringJoiner(", ", "(", ")");
+            level.forEach(id -> in.add("?"));
+            List<Long> next = new ArrayList<>();
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "SELECT id, parent_id, depth, content_html FROM bench_comments WHERE parent_id IN " + in)) {
+                for (int i = 0; i < level.size(); i++) {
+                    ps.setLong(i + 1, level.get(i));
+                }
+                counter.queries++;
+                total += collect(ps, next);
+            }
+            level = next;
+        }
+        return total;
+    }
+
+    private static int count(PreparedStatement ps) throws SQLException {
+        int rows = 0;
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rs.getString(4);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static int collect(PreparedStatement ps, List<Long> ids) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+                rs.getString(4);
+            }
+        }
+        return ids.size();
+    }
+
+    /**
+     * 约一半评论是回复，父评论从同一篇文章中深度小于 depth 的评论里随机选取
+     */
+    private void insertComments(Connection connection) throws SQLException {
+        SplittableRandom rng = new SplittableRandom(42);
+        String[] paths = new String[comments];
+        int[] depths = new int[comments];
+        List<Integer> open = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO bench_comments (id, article_id, parent_id, path, depth, content_html) "
+                    + "VALUES (?, 1, ?, ?, ?, '<p>benchmark comment</p>')")) {
+            for (int i = 0; i < comments; i++) {
+                long id = i + 1;
+                int parent = !open.isEmpty() && rng.nextBoolean() ? open.get(rng.nextInt(open.size())) : -1;
+                paths[i] = (parent >= 0 ? paths[parent] : "") + CommentPathGenerator.segment(id);
+                depths[i] = parent >= 0 ? depths[parent] + 1 : 0;
+                if (depths[i] < depth) {
+                    open.add(i);
+                }
+                ps.setLong(1, id);
+                if (parent >= 0) {
+                    ps.setLong(2, parent + 1);
+                } else {
+                    ps.setNull(2, Types.BIGINT);
+                }
+                ps.setString(3, paths[i]);
+                ps.setInt(4, depths[i]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.xssblog.backend.tools.bench;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 评论写入吞吐基准：加载整篇文章 vs 只更新评论数
+ *
+ * 在 JDBC 层复现 ArticleService.createComment 新旧两种流程：
+ * - find-by-id：SELECT 文章整行（与 findById 相同，含 content_html），INSERT 评论，评论数 +1
+ * - reference：评论数 +1（影响 0 行即文章不存在），INSERT 评论，不读取文章
+ *
+ * contentBytes 控制文章正文大小。默认使用嵌入式 H2；对 MySQL 测试时通过 -p url=... 指定：
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench=CommentWrite
+ * mvn -Pbench test-compile exec:exec -Dbench="CommentWrite -p url=jdbc:mysql://localhost:3306/blog -p user=root -p password=root"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CommentWriteBenchmark {
+
+    @Param({"find-by-id", "reference"})
+    public String flow;
+
+    @Param({"4096", "262144"})
+    public int contentBytes;
+
+    @Param({"32"})
+    public int articles;
+
+    @Param({"8"})
+    public int poolSize;
+
+    @Param({"jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"})
+    public String url;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private HikariDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        dataSource = new HikariDataSource(config);
+        String content = "<p>" + "x".repeat(Math.max(0, contentBytes - 7)) + "</p>";
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_comments");
+            statement.execute("DROP TABLE IF EXISTS bench_articles");
+            statement.execute("CREATE TABLE bench_articles ("
+                + "id BIGINT PRIMARY KEY, author_id BIGINT NOT NULL, title VARCHAR(200) NOT NULL, "
+                + "slug VARCHAR(160), excerpt VARCHAR(500), content_html LONGTEXT NOT NULL, "
+                + "likes_count INT NOT NULL DEFAULT 0, comments_count INT NOT NULL DEFAULT 0, "
+                + "published_at DATETIME, created_at DATETIME NOT NULL, updated_at DATETIME)");
+            statement.execute("CREATE TABLE bench_comments ("
+                + "id BIGINT PRIMARY KEY AUTO_INCREMENT, article_id BIGINT NOT NULL, user_id BIGINT NOT NULL, "
+                + "content_html TEXT NOT NULL, created_at DATETIME NOT NULL, "
+                + "FOREIGN KEY (article_id) REFERENCES bench_articles(id))");
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO bench_articles (id, author_id, title, slug, excerpt, content_html, published_at, created_at) "
+                        + "VALUES (?, 1, ?, ?, 'excerpt', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)")) {
+                for (int i = 1; i <= articles; i++) {
+                    ps.setLong(1, i);
+                    ps.setString(2, "Article " + i);
+                    ps.setString(3, "article-" + i);
+                    ps.setString(4, content);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_comments");
+            statement.execute("DROP TABLE IF EXISTS bench_articles");
+        }
+        dataSource.close();
+    }
+
+    /**
+     * @return true 表示评论已写入
+     */
+    @Benchmark
+    public boolean postComment() throws SQLException {
+        long articleId = ThreadLocalRandom.current().nextInt(articles) + 1;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                boolean created = "reference".equals(flow)
+                    ? postByReference(connection, articleId)
+                    : postAfterFindById(connection, articleId);
+                connection.commit();
+                return created;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static boolean postAfterFindById(Connection connection, long articleId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT id, author_id, title, slug, excerpt, content_html, likes_count, comments_count, "
+                    + "published_at, created_at, updated_at FROM bench_articles WHERE id = ?")) {
+            ps.setLong(1, articleId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                // 与 Hibernate 实体装载一样读出全部列
+                for (int column = 1; column <= 11; column++) {
+                    rs.getObject(column);
+                }
+            }
+        }
+        insertComment(connection, articleId);
+        incrementCommentsCount(connection, articleId);
+        return true;
+    }
+
+    private static boolean postByReference(Connection connection, long articleId) throws SQLException {
+        if (incrementCommentsCount(connection, articleId) == 0) {
+            return false;
+        }
+        insertComment(connection, articleId);
+        return true;
+    }
+
+    private static int incrementCommentsCount(Connection connection, long articleId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "UPDATE bench_articles SET comments_count = comments_count + 1 WHERE id = ?")) {
+            ps.setLong(1, articleId);
+            return ps.executeUpdate();
+        }
+    }
+
+    private static void insertComment(Connection connection, long articleId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO bench_comments (article_id, user_id, content_html, created_at) VALUES (?, 2, ?, ?)")) {
+            ps.setLong(1, articleId);
+            ps.setString(2, "<p>benchmark comment</p>");
+            ps.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.xssblog.backend.tools.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xssblog.backend.common.enums.ErrorCode;
+import com.xssblog.backend.common.exception.BusinessException;
+import com.xssblog.backend.common.exception.ResourceNotFoundException;
+import com.xssblog.backend.common.response.ErrorBodies;
+import com.xssblog.backend.common.response.ErrorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 404 洪水吞吐基准：带堆栈的异常 + Jackson 序列化 ErrorResponse vs 无堆栈异常 + 预序列化响应体
+ *
+ * 模拟扫描器请求随机 slug：在 depth 层调用栈深处抛出未找到异常，在栈顶生成响应体，
+ * depth 默认 120，接近 Tomcat + Spring MVC + 过滤器链下服务层的实际栈深。
+ * - legacy：原实现（BusinessException 公共构造函数记录堆栈，每次构造 ErrorResponse 并用 ObjectMapper 序列化）
+ * - prebuilt：ResourceNotFoundException 不记录堆栈，ErrorBodies 只追加 timestamp 和 path
+ *
+ * 日志不计入：限流后每秒每个错误码最多十余条，与请求量无关。
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench=ErrorPath
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ErrorPathBenchmark {
+
+    @Param({"legacy", "prebuilt"})
+    public String path;
+
+    @Param({"120"})
+    public int depth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Benchmark
+    public byte[] notFound() throws JsonProcessingException {
+        String slug = "wp-admin-" + ThreadLocalRandom.current().nextInt(1_000_000);
+        String uri = "/api/articles/slug/" + slug;
+        boolean legacy = "legacy".equals(path);
+        try {
+            lookup(slug, depth, legacy);
+            throw new IllegalStateException("unreachable");
+        } catch (BusinessException ex) {
+            if (legacy) {
+                return objectMapper.writeValueAsBytes(ErrorResponse.of(ex.getCode(), ex.getMessage(), uri));
+            }
+            return ErrorBodies.render(ex.getCode(), ex.getMessage(), uri);
+        }
+    }
+
+    /**
+     * 递归到指定深度后抛出未找到异常
+     */
+    private static void lookup(String slug, int remaining, boolean legacy) {
+        if (remaining > 0) {
+            lookup(slug, remaining - 1, legacy);
+            return;
+        }
+        if (legacy) {
+            throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Article with slug: " + slug);
+        }
+        throw new ResourceNotFoundException("Article with slug: " + slug);
+    }
+}
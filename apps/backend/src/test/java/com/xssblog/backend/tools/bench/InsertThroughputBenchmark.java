@@ -0,0 +1,178 @@
+package com.xssblog.backend.tools.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 评论插入吞吐基准：IDENTITY 主键 vs id_sequences 按块分配主键 + JDBC 批量插入
+ *
+ * 在 JDBC 层复现两种主键策略下 Hibernate 实际发出的语句：
+ * - identity：每行一条 INSERT 并回读自增主键（Hibernate 因此无法批量插入）
+ * - pooled：每 allocationSize 行在独立连接上分配一次 id 块（SELECT ... FOR UPDATE + UPDATE），
+ *   INSERT 按 batchSize 批量发送
+ *
+ * 默认使用嵌入式 H2；对 MySQL 测试时通过 -p url=... 指定（需带 rewriteBatchedStatements=true）：
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench=InsertThroughput
+ * mvn -Pbench test-compile exec:exec -Dbench="InsertThroughput -p url=jdbc:mysql://localhost:3306/blog?rewriteBatchedStatements=true -p user=root -p password=root"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InsertThroughputBenchmark {
+
+    /**
+     * 每次调用插入的行数（一个事务）
+     */
+    private static final int ROWS = 200;
+
+    @Param({"identity", "pooled"})
+    public String strategy;
+
+    @Param({"jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"})
+    public String url;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    @Param({"50"})
+    public int batchSize;
+
+    @Param({"50"})
+    public int allocationSize;
+
+    private Connection connection;
+    private Connection allocator;
+    private long nextId;
+    private long blockEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        allocator = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_comments");
+            statement.execute("CREATE TABLE bench_comments ("
+                + "id BIGINT PRIMARY KEY AUTO_INCREMENT, article_id BIGINT NOT NULL, user_id BIGINT NOT NULL, "
+                + "content_html TEXT, created_at DATETIME NOT NULL)");
+            statement.execute("DROP TABLE IF EXISTS bench_id_sequences");
+            statement.execute("CREATE TABLE bench_id_sequences ("
+                + "sequence_name VARCHAR(64) NOT NULL PRIMARY KEY, next_val BIGINT NOT NULL)");
+            statement.execute("INSERT INTO bench_id_sequences VALUES ('bench_comments', 1)");
+        }
+        connection.setAutoCommit(false);
+        allocator.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_comments");
+            statement.execute("DROP TABLE IF EXISTS bench_id_sequences");
+        }
+        connection.commit();
+        connection.close();
+        allocator.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertComments(Blackhole blackhole) throws SQLException {
+        if ("identity".equals(strategy)) {
+            insertWithIdentity(blackhole);
+        } else {
+            insertWithPooledIds();
+        }
+        connection.commit();
+    }
+
+    private void insertWithIdentity(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO bench_comments (article_id, user_id, content_html, created_at) VALUES (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ROWS; i++) {
+                bind(ps, 1, i);
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    keys.next();
+                    blackhole.consume(keys.getLong(1));
+                }
+            }
+        }
+    }
+
+    private void insertWithPooledIds() throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO bench_comments (id, article_id, user_id, content_html, created_at) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                ps.setLong(1, nextId());
+                bind(ps, 2, i);
+                ps.addBatch();
+                if ((i + 1) % batchSize == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * pooled-lo：块用完时在独立连接上取下一块，与 Hibernate TableGenerator 的行为一致
+     */
+    private long nextId() throws SQLException {
+        if (nextId == blockEnd) {
+            long lo;
+            try (PreparedStatement select = allocator.prepareStatement(
+                    "SELECT next_val FROM bench_id_sequences WHERE sequence_name = 'bench_comments' FOR UPDATE");
+                 ResultSet rs = select.executeQuery()) {
+                rs.next();
+                lo = rs.getLong(1);
+            }
+            try (PreparedStatement update = allocator.prepareStatement(
+                    "UPDATE bench_id_sequences SET next_val = ? WHERE sequence_name = 'bench_comments'")) {
+                update.setLong(1, lo + allocationSize);
+                update.executeUpdate();
+            }
+            allocator.commit();
+            nextId = lo;
+            blockEnd = lo + allocationSize;
+        }
+        return nextId++;
+    }
+
+    private static void bind(PreparedStatement ps, int index, int row) throws SQLException {
+        ps.setLong(index, 1 + row % 4);
+        ps.setLong(index + 1, 1 + row % 3);
+        ps.setString(index + 2, "benchmark comment " + row);
+        ps.setTimestamp(index + 3, new Timestamp(System.currentTimeMillis()));
+    }
+}
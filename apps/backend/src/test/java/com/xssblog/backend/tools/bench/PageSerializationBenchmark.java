@@ -0,0 +1,146 @@
+package com.xssblog.backend.tools.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xssblog.backend.common.response.PageResponse;
+import com.xssblog.backend.dto.ArticleDto;
+import com.xssblog.backend.dto.FeedbackDto;
+import com.xssblog.backend.dto.TagDto;
+import com.xssblog.backend.dto.UserDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分页响应序列化基准：直接序列化 PageImpl vs PageResponse
+ *
+ * 分别对应 ArticleController.getAllArticles（每页 10 篇文章）与 AdminController.getAllFeedbacks（每页 20 条反馈）。
+ * 每页字节数见结果中的 bytes 辅助计数（每次调用的平均值），每页分配量需加 GC profiler，看 gc.alloc.rate.norm：
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench="PageSerialization -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PageSerializationBenchmark {
+
+    @Param({"page-impl", "page-response"})
+    public String envelope;
+
+    /**
+     * 与 Spring Boot 自动配置一致的 ObjectMapper（注册 JavaTimeModule 等）
+     */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Object articles;
+    private Object feedbacks;
+
+    /**
+     * 每次调用输出的字节数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Bytes {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Page<ArticleDto> articlePage = new PageImpl<>(articles(10), PageRequest.of(0, 10), 137);
+        Page<FeedbackDto> feedbackPage = new PageImpl<>(feedbacks(20), PageRequest.of(0, 20), 512);
+        boolean pageImpl = "page-impl".equals(envelope);
+        articles = pageImpl ? articlePage : PageResponse.of(articlePage);
+        feedbacks = pageImpl ? feedbackPage : PageResponse.of(feedbackPage);
+    }
+
+    @Benchmark
+    public byte[] articlePage(Bytes counter) throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(articles);
+        counter.bytes += json.length;
+        return json;
+    }
+
+    @Benchmark
+    public byte[] feedbackPage(Bytes counter) throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(feedbacks);
+        counter.bytes += json.length;
+        return json;
+    }
+
+    static List<ArticleDto> articles(int count) {
+        List<ArticleDto> list = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < count; i++) {
+            UserDto author = new UserDto();
+            author.setId((long) i % 3 + 1);
+            author.setUsername("author" + i % 3);
+            author.setRole("USER");
+            author.setAvatarUrl("https://api.dicebear.com/7.x/avataaars/svg?seed=author" + i % 3);
+            author.setCreatedAt(now);
+            List<TagDto> tags = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                TagDto tag = new TagDto();
+                tag.setId((long) t + 1);
+                tag.setName("tag-" + t);
+                tag.setColor("#3b82f6");
+                tags.add(tag);
+            }
+            ArticleDto article = new ArticleDto();
+            article.setId((long) i + 1);
+            article.setTitle("Benchmark article " + i);
+            article.setSlug("benchmark-article-" + i);
+            article.setExcerpt("A short excerpt for benchmark article " + i + ", about the length the list page shows.");
+            article.setLikesCount(i * 7);
+            article.setCommentsCount(i * 3);
+            article.setPublishedAt(now.minusDays(i));
+            article.setCreatedAt(now.minusDays(i));
+            article.setAuthor(author);
+            article.setTags(tags);
+            list.add(article);
+        }
+        return list;
+    }
+
+    static List<FeedbackDto> feedbacks(int count) {
+        List<FeedbackDto> list = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < count; i++) {
+            FeedbackDto feedback = new FeedbackDto();
+            feedback.setId((long) i + 1);
+            feedback.setEmail("reader" + i + "@example.com");
+            feedback.setContentHtml("<p>Feedback message number " + i + " with a little HTML.</p>");
+            feedback.setStatus(i % 2 == 0 ? "UNREAD" : "READ");
+            feedback.setCreatedAt(now.minusHours(i));
+            list.add(feedback);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,180 @@
+package com.xssblog.backend.tools.bench;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 并发注册吞吐基准：先检查再插入 vs 直接插入依赖唯一约束
+ *
+ * 在 JDBC 层复现 AuthService.register 新旧两种流程，多个线程共享一个小连接池：
+ * - check-then-insert：事务内计算 BCrypt，existsByUsername + existsByEmail + INSERT 三次往返
+ * - optimistic：事务外计算 BCrypt，只有一条 INSERT，重复由唯一约束冲突判定
+ *
+ * duplicatePercent 控制使用已占用用户名的请求比例。默认使用嵌入式 H2；对 MySQL 测试时通过 -p url=... 指定：
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench=Registration
+ * mvn -Pbench test-compile exec:exec -Dbench="Registration -p bcryptStrength=10 -p url=jdbc:mysql://localhost:3306/blog -p user=root -p password=root"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(16)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RegistrationBenchmark {
+
+    /**
+     * 预先插入、用于制造冲突的用户名
+     */
+    private static final String TAKEN = "taken";
+
+    @Param({"check-then-insert", "optimistic"})
+    public String flow;
+
+    @Param({"0", "10"})
+    public int duplicatePercent;
+
+    @Param({"4"})
+    public int bcryptStrength;
+
+    @Param({"4"})
+    public int poolSize;
+
+    @Param({"jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"})
+    public String url;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private HikariDataSource dataSource;
+    private BCryptPasswordEncoder encoder;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        dataSource = new HikariDataSource(config);
+        encoder = new BCryptPasswordEncoder(bcryptStrength);
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_users");
+            statement.execute("CREATE TABLE bench_users ("
+                + "id BIGINT PRIMARY KEY AUTO_INCREMENT, username VARCHAR(32) NOT NULL UNIQUE, "
+                + "email VARCHAR(128) NOT NULL UNIQUE, password_hash VARCHAR(255) NOT NULL, created_at DATETIME NOT NULL)");
+            statement.execute("INSERT INTO bench_users (username, email, password_hash, created_at) "
+                + "VALUES ('" + TAKEN + "', '" + TAKEN + "@example.com', 'x', CURRENT_TIMESTAMP)");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_users");
+        }
+        dataSource.close();
+    }
+
+    /**
+     * @return true 表示注册成功，false 表示用户名或邮箱已被占用
+     */
+    @Benchmark
+    public boolean register() throws SQLException {
+        long n = sequence.incrementAndGet();
+        boolean duplicate = ThreadLocalRandom.current().nextInt(100) < duplicatePercent;
+        String username = duplicate ? TAKEN : "u" + n;
+        String email = "u" + n + "@example.com";
+        return "optimistic".equals(flow)
+            ? registerOptimistic(username, email)
+            : registerCheckThenInsert(username, email);
+    }
+
+    private boolean registerCheckThenInsert(String username, String email) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                String hash = encoder.encode("Passw0rd#2025");
+                if (exists(connection, "username", username) || exists(connection, "email", email)) {
+                    connection.rollback();
+                    return false;
+                }
+                insert(connection, username, email, hash);
+                connection.commit();
+                return true;
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // 检查与插入之间的竞争窗口
+                connection.rollback();
+                return false;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private boolean registerOptimistic(String username, String email) throws SQLException {
+        String hash = encoder.encode("Passw0rd#2025");
+        try (Connection connection = dataSource.getConnection()) {
+            insert(connection, username, email, hash);
+            return true;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            return false;
+        }
+    }
+
+    private static boolean exists(Connection connection, String column, String value) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT COUNT(*) FROM bench_users WHERE " + column + " = ?")) {
+            ps.setString(1, value);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1) > 0;
+            }
+        }
+    }
+
+    private static void insert(Connection connection, String username, String email, String hash) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO bench_users (username, email, password_hash, created_at) VALUES (?, ?, ?, ?)")) {
+            ps.setString(1, username);
+            ps.setString(2, email);
+            ps.setString(3, hash);
+            ps.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+            ps.executeUpdate();
+        }
+    }
+}
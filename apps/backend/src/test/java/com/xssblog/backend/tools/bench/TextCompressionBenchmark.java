@@ -0,0 +1,193 @@
+package com.xssblog.backend.tools.bench;
+
+import com.xssblog.backend.common.compression.CompressedText;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大文本压缩基准：CPU 开销 vs 数据库传输量
+ *
+ * 与 CompressedTextConverter 相同的编码方式，分别测量：
+ * - encode / decode：纯 CPU 开销（level=0 表示不压缩，作为基线）
+ * - read / write：经 JDBC 读写 article_bodies 形式的表，包含编解码与传输
+ * storedBytes 辅助计数为每次调用存储/传输的字节数。默认使用嵌入式 H2（几乎没有网络开销，压缩不占优）；
+ * 压缩的收益主要体现在真实数据库的网络与缓冲池上，对 MySQL 测试时通过 -p url=... 指定：
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench=TextCompression
+ * mvn -Pbench test-compile exec:exec -Dbench="TextCompression -p url=jdbc:mysql://localhost:3306/blog -p user=root -p password=root"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TextCompressionBenchmark {
+
+    /**
+     * Deflater 级别，0 表示不压缩
+     */
+    @Param({"0", "1", "6"})
+    public int level;
+
+    @Param({"4096", "65536", "262144"})
+    public int contentBytes;
+
+    @Param({"16"})
+    public int rows;
+
+    @Param({"jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"})
+    public String url;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private HikariDataSource dataSource;
+    private String html;
+    private String stored;
+
+    /**
+     * 每次调用存储或传输的字节数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Bytes {
+        public long storedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            storedBytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        html = html(contentBytes);
+        stored = encode(html);
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMaximumPoolSize(2);
+        dataSource = new HikariDataSource(config);
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_article_bodies");
+            statement.execute("CREATE TABLE bench_article_bodies (article_id BIGINT PRIMARY KEY, content_html LONGTEXT)");
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO bench_article_bodies (article_id, content_html) VALUES (?, ?)")) {
+                for (int i = 1; i <= rows; i++) {
+                    ps.setLong(1, i);
+                    ps.setString(2, stored);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_article_bodies");
+        }
+        dataSource.close();
+    }
+
+    @Benchmark
+    public String encode(Bytes counter) {
+        String value = encode(html);
+        counter.storedBytes += value.length();
+        return value;
+    }
+
+    @Benchmark
+    public String decode() {
+        return CompressedText.decompress(stored);
+    }
+
+    @Benchmark
+    public String read(Bytes counter) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                 "SELECT content_html FROM bench_article_bodies WHERE article_id = ?")) {
+            ps.setLong(1, ThreadLocalRandom.current().nextInt(rows) + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                String value = rs.getString(1);
+                counter.storedBytes += value.length();
+                return CompressedText.decompress(value);
+            }
+        }
+    }
+
+    @Benchmark
+    public int write(Bytes counter) throws SQLException {
+        String value = encode(html);
+        counter.storedBytes += value.length();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                 "UPDATE bench_article_bodies SET content_html = ? WHERE article_id = ?")) {
+            ps.setString(1, value);
+            ps.setLong(2, ThreadLocalRandom.current().nextInt(rows) + 1);
+            return ps.executeUpdate();
+        }
+    }
+
+    private String encode(String text) {
+        return level == 0 ? text : CompressedText.compress(text, 0, level);
+    }
+
+    /**
+     * 生成接近真实文章的 HTML（标题、段落、代码块，词汇有限，重复度与技术文章相近）
+     */
+    private static String html(int bytes) {
+        String[] words = {"XSS", "payload", "script", "sanitize", "escape", "attribute", "context", "browser",
+            "cookie", "session", "policy", "header", "input", "output", "encode", "render", "template", "DOM",
+            "event", "handler", "防御", "攻击", "过滤", "编码", "输出", "浏览器", "内容", "安全", "策略", "用户"};
+        SplittableRandom rng = new SplittableRandom(42);
+        StringBuilder html = new StringBuilder(bytes + 256);
+        int section = 0;
+        while (html.length() < bytes) {
+            html.append("<h2>Section ").append(++section).append("</h2>\n");
+            for (int p = 0; p < 3; p++) {
+                html.append("<p>");
+                int length = 30 + rng.nextInt(60);
+                for (int w = 0; w < length; w++) {
+                    html.append(words[rng.nextInt(words.length)]).append(' ');
+                }
+                html.append("</p>\n");
+            }
+            html.append("<pre><code>&lt;img src=x onerror=alert(").append(section).append(")&gt;</code></pre>\n");
+        }
+        return html.toString();
+    }
+}
@@ -0,0 +1,170 @@
+package com.xssblog.backend.tools.bench;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 首页时间线读取基准：按关注作者实时查询 vs 物化时间线
+ *
+ * 每个读者关注 following 个作者，每个作者 articlesPerAuthor 篇文章：
+ * - pull：SELECT ... WHERE author_id IN (关注的作者) ORDER BY published_at DESC LIMIT 20（写扩散之前的做法）
+ * - materialized：SELECT ... FROM timeline_entries WHERE user_id = ? ORDER BY published_at DESC LIMIT 20
+ *   （TimelineService 的写扩散结果，主键上的一段倒序范围）
+ * 两种方式读出的都是文章 ID 与发布时间，随后的批量加载相同，不计入。
+ * 默认使用嵌入式 H2；对 MySQL 测试时通过 -p url=... 指定：
+ * <pre>
+ * mvn -Pbench test-compile exec:exec -Dbench=Timeline
+ * mvn -Pbench test-compile exec:exec -Dbench="Timeline -p url=jdbc:mysql://localhost:3306/blog -p user=root -p password=root"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TimelineBenchmark {
+
+    @Param({"pull", "materialized"})
+    public String read;
+
+    @Param({"20", "200"})
+    public int following;
+
+    @Param({"50"})
+    public int articlesPerAuthor;
+
+    @Param({"16"})
+    public int readers;
+
+    @Param({"jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"})
+    public String url;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private HikariDataSource dataSource;
+    private int authors;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMaximumPoolSize(2);
+        dataSource = new HikariDataSource(config);
+        authors = following * 4;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            dropTables(statement);
+            statement.execute("CREATE TABLE bench_articles (id BIGINT PRIMARY KEY, author_id BIGINT NOT NULL, "
+                + "published_at DATETIME NOT NULL)");
+            statement.execute("CREATE INDEX idx_bench_articles_author_published ON bench_articles (author_id, published_at)");
+            statement.execute("CREATE TABLE bench_follows (follower_id BIGINT NOT NULL, followee_id BIGINT NOT NULL, "
+                + "PRIMARY KEY (follower_id, followee_id))");
+            statement.execute("CREATE TABLE bench_timeline_entries (user_id BIGINT NOT NULL, published_at DATETIME NOT NULL, "
+                + "article_id BIGINT NOT NULL, author_id BIGINT NOT NULL, PRIMARY KEY (user_id, published_at, article_id))");
+
+            SplittableRandom rng = new SplittableRandom(42);
+            LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO bench_articles (id, author_id, published_at) VALUES (?, ?, ?)")) {
+                long id = 0;
+                for (int author = 1; author <= authors; author++) {
+                    for (int i = 0; i < articlesPerAuthor; i++) {
+                        ps.setLong(1, ++id);
+                        ps.setLong(2, author);
+                        ps.setTimestamp(3, Timestamp.valueOf(base.minusMinutes(rng.nextInt(365 * 24 * 60))));
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+            }
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO bench_follows (follower_id, followee_id) VALUES (?, ?)")) {
+                for (int reader = 1; reader <= readers; reader++) {
+                    // 每个读者关注连续的一段作者，起点随读者错开
+                    for (int i = 0; i < following; i++) {
+                        ps.setLong(1, reader);
+                        ps.setLong(2, (reader * 7L + i) % authors + 1);
+                        ps.addBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+            // 与 TimelineService.fanOut 相同的写扩散结果
+            statement.execute("INSERT INTO bench_timeline_entries (user_id, published_at, article_id, author_id) "
+                + "SELECT f.follower_id, a.published_at, a.id, a.author_id "
+                + "FROM bench_follows f JOIN bench_articles a ON a.author_id = f.followee_id");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            dropTables(statement);
+        }
+        dataSource.close();
+    }
+
+    /**
+     * @return 最后一条的文章 ID
+     */
+    @Benchmark
+    public long firstPage() throws SQLException {
+        long reader = ThreadLocalRandom.current().nextInt(readers) + 1;
+        String sql = "materialized".equals(read)
+            ? "SELECT article_id, published_at FROM bench_timeline_entries WHERE user_id = ? "
+                + "ORDER BY published_at DESC, article_id DESC LIMIT 20"
+            : "SELECT id, published_at FROM bench_articles WHERE author_id IN "
+                + "(SELECT followee_id FROM bench_follows WHERE follower_id = ?) "
+                + "ORDER BY published_at DESC, id DESC LIMIT 20";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, reader);
+            long last = 0;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    last = rs.getLong(1);
+                    rs.getTimestamp(2);
+                }
+            }
+            return last;
+        }
+    }
+
+    private static void dropTables(Statement statement) throws SQLException {
+        statement.execute("DROP TABLE IF EXISTS bench_timeline_entries");
+        statement.execute("DROP TABLE IF EXISTS bench_follows");
+        statement.execute("DROP TABLE IF EXISTS bench_articles");
+    }
+}
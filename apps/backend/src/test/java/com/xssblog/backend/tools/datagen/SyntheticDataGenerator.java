@@ -0,0 +1,724 @@
+package com.xssblog.backend.tools.datagen;
+
+import com.xssblog.backend.entity.CommentPathGenerator;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 大规模合成数据生成器（压测用）
+ *
+ * 按生产规模生成用户、文章（正文大小可变）、标签关联（长尾分布）、评论、关注关系、首页时间线和反馈：
+ * - 默认规模：10 万用户、100 万文章、1000 万评论、每个用户约 20 个关注、100 万反馈
+ * - 时间线只为最近 --timeline-days 天发布的文章写扩散（与应用在发布时写入一致，不回填全部历史）
+ * - 通过 --scale 按比例缩放，例如 --scale=0.01 用于本地快速验证
+ *
+ * 生成方式：
+ * - 按固定大小分块，每块使用独立的 SplittableRandom（由 seed、实体类型、块序号派生），
+ *   因此多线程并行生成的结果与线程数、执行顺序无关，同一 seed 结果完全一致
+ * - 每块使用一个 JDBC 批量插入并单独提交
+ * - 生成期间关闭外键/唯一约束检查（MySQL: FOREIGN_KEY_CHECKS / UNIQUE_CHECKS，H2: REFERENTIAL_INTEGRITY）
+ * - 主键从 id_sequences 整段预留后显式写入（与应用的 Hibernate 主键分配共用一张表），无需回读自增 ID，
+ *   生成期间应用照常写入也不会发生主键冲突
+ *
+ * 运行示例（离线，嵌入式 H2 文件库）：
+ * <pre>
+ * mvn -Pdatagen test-compile exec:java -Dexec.args="--url=jdbc:h2:file:./target/loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE --init-schema --scale=0.01"
+ * </pre>
+ *
+ * 运行示例（MySQL，建议开启 rewriteBatchedStatements）：
+ * <pre>
+ * mvn -Pdatagen test-compile exec:java -Dexec.args="--url=jdbc:mysql://localhost:3306/blog?rewriteBatchedStatements=true --user=root --password=root"
+ * </pre>
+ */
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    /**
+     * 所有生成用户的统一密码哈希（明文 Admin#2025，与 V2__seed_data.sql 一致），避免为每个用户计算 BCrypt
+     */
+    private static final String PASSWORD_HASH = "$2a$10$ESPycVV/G4uHvDILZhw09uYW4c0Iwgj.Kn0dvynVdhGA5tOE6jddS";
+
+    private static final String[] TAG_NAMES = {
+        "JavaScript", "Vue.js", "Security", "XSS", "Tutorial", "DevOps", "Java", "Spring", "MySQL", "Redis",
+        "Kubernetes", "Docker", "Linux", "Go", "Rust", "Python", "CSS", "HTML", "TypeScript", "React",
+        "Performance", "Testing", "Architecture", "Networking", "Cryptography", "Frontend", "Backend",
+        "Database", "Cloud", "Career"
+    };
+
+    private static final String[] TAG_COLORS = {
+        "#F7DF1E", "#42B883", "#E74C3C", "#3498DB", "#95A5A6", "#9B59B6", "#E67E22", "#1ABC9C"
+    };
+
+    private static final String[] WORDS = {
+        "security", "script", "browser", "cookie", "token", "render", "server", "client", "request", "response",
+        "cache", "index", "query", "thread", "memory", "latency", "payload", "header", "policy", "escape",
+        "component", "router", "store", "deploy", "pipeline", "container", "cluster", "replica", "schema", "vector",
+        "攻击", "防御", "漏洞", "性能", "缓存", "数据库", "前端", "后端", "安全", "实践"
+    };
+
+    /**
+     * 实体类型，用于派生每个数据块的随机种子
+     */
+    private enum Entity { USERS, ARTICLES, COMMENTS, FEEDBACKS, FOLLOWS }
+
+    private final Options options;
+    private final ExecutorService executor;
+
+    public SyntheticDataGenerator(Options options) {
+        this.options = options;
+        this.executor = Executors.newFixedThreadPool(options.threads);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(options);
+        try {
+            generator.run();
+        } finally {
+            generator.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 执行完整的数据生成流程
+     */
+    public void run() throws Exception {
+        log.info("Generating dataset: {}", options);
+        if (options.initSchema) {
+            initSchema();
+        }
+
+        long userBase = reserveIds("users", options.users);
+        long articleBase = reserveIds("articles", options.articles);
+        long commentBase = reserveIds("comments", options.comments);
+        long feedbackBase = reserveIds("feedbacks", options.feedbacks);
+        long[] tagIds = ensureTags();
+
+        setConstraintChecks(false);
+        try {
+            phase("users", options.users, (chunk, from, to, rng) ->
+                insertUsers(userBase, from, to, rng));
+            phase("articles", options.articles, (chunk, from, to, rng) ->
+                insertArticles(articleBase, userBase, tagIds, from, to, rng));
+            phase("comments", options.comments, (chunk, from, to, rng) ->
+                insertComments(commentBase, articleBase, userBase, from, to, rng));
+            recountComments(articleBase);
+            phase("follows", options.users * options.followsPerUser, (chunk, from, to, rng) ->
+                insertFollows(userBase, from, to, rng));
+            recountFollows(userBase);
+            fanOutTimelines(articleBase);
+            phase("feedbacks", options.feedbacks, (chunk, from, to, rng) ->
+                insertFeedbacks(feedbackBase, from, to, rng));
+        } finally {
+            setConstraintChecks(true);
+        }
+        restartIdentities();
+        log.info("Dataset generation finished");
+    }
+
+    // ==================== 各实体的批量插入 ====================
+
+    private void insertUsers(long base, long from, long to, SplittableRandom rng) throws SQLException {
+        String sql = "INSERT INTO users (id, username, email, password_hash, role, avatar_url, bio, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, 'USER', ?, ?, ?, ?)";
+        try (Connection connection = connect(); PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (long i = from; i < to; i++) {
+                long id = base + i + 1;
+                String username = "user_" + id;
+                Timestamp createdAt = timestampWithinYears(rng, 3);
+                ps.setLong(1, id);
+                ps.setString(2, username);
+                ps.setString(3, username + "@load.test");
+                ps.setString(4, PASSWORD_HASH);
+                ps.setString(5, "https://api.dicebear.com/7.x/avataaars/svg?seed=" + username);
+                ps.setString(6, "<p>" + sentence(rng, 8 + rng.nextInt(24)) + "</p>");
+                ps.setTimestamp(7, createdAt);
+                ps.setTimestamp(8, createdAt);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private void insertArticles(long base, long userBase, long[] tagIds,
+                                long from, long to, SplittableRandom rng) throws SQLException {
+        String articleSql = "INSERT INTO articles (id, author_id, title, slug, excerpt, likes_count, "
+            + "published_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String bodySql = "INSERT INTO article_bodies (article_id, content_html) VALUES (?, ?)";
+        String tagSql = "INSERT INTO article_tags (article_id, tag_id) VALUES (?, ?)";
+        double[] tagCdf = zipfCdf(tagIds.length, 1.1);
+        try (Connection connection = connect();
+             PreparedStatement articles = connection.prepareStatement(articleSql);
+             PreparedStatement bodies = connection.prepareStatement(bodySql);
+             PreparedStatement tags = connection.prepareStatement(tagSql)) {
+            for (long i = from; i < to; i++) {
+                long id = base + i + 1;
+                String title = capitalize(sentence(rng, 3 + rng.nextInt(6)));
+                Timestamp publishedAt = timestampWithinYears(rng, 3);
+                articles.setLong(1, id);
+                // 作者分布偏斜：少数作者贡献大部分文章
+                articles.setLong(2, userBase + 1 + skewedIndex(rng, options.users, 2.0));
+                articles.setString(3, truncate(title, 120));
+                articles.setString(4, "post-" + id);
+                articles.setString(5, truncate(sentence(rng, 20 + rng.nextInt(20)), 240));
+                articles.setInt(6, (int) skewedIndex(rng, 5000, 4.0));
+                articles.setTimestamp(7, publishedAt);
+                articles.setTimestamp(8, publishedAt);
+                articles.setTimestamp(9, publishedAt);
+                articles.addBatch();
+                bodies.setLong(1, id);
+                bodies.setString(2, contentHtml(rng));
+                bodies.addBatch();
+
+                // 每篇文章 1-4 个标签，标签热度服从 Zipf 分布
+                int tagCount = 1 + rng.nextInt(4);
+                long[] chosen = new long[tagCount];
+                int chosenCount = 0;
+                for (int t = 0; t < tagCount; t++) {
+                    long tagId = tagIds[sampleCdf(tagCdf, rng.nextDouble())];
+                    if (!contains(chosen, chosenCount, tagId)) {
+                        chosen[chosenCount++] = tagId;
+                        tags.setLong(1, id);
+                        tags.setLong(2, tagId);
+                        tags.addBatch();
+                    }
+                }
+            }
+            articles.executeBatch();
+            bodies.executeBatch();
+            tags.executeBatch();
+            connection.commit();
+        }
+    }
+
+    /**
+     * 约 30% 的评论是对同一块中较早评论的回复（嵌套深度不超过 8，与 comment-thread.max-depth 默认值一致），
+     * 父评论总在回复之前插入；path / depth 规则与 CommentPathGenerator 相同，replies_count 在块内统计后回写
+     */
+    private void insertComments(long base, long articleBase, long userBase,
+                                long from, long to, SplittableRandom rng) throws SQLException {
+        String sql = "INSERT INTO comments (id, article_id, user_id, parent_id, path, depth, content_html, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        String repliesSql = "UPDATE comments SET replies_count = ? WHERE id = ?";
+        int size = (int) (to - from);
+        long[] articleIds = new long[size];
+        String[] paths = new String[size];
+        int[] depths = new int[size];
+        long[] createdAt = new long[size];
+        int[] replies = new int[size];
+        try (Connection connection = connect();
+             PreparedStatement ps = connection.prepareStatement(sql);
+             PreparedStatement repliesPs = connection.prepareStatement(repliesSql)) {
+            for (int k = 0; k < size; k++) {
+                long id = base + from + k + 1;
+                // 回复较近的评论，形成连续的讨论；父评论已达最大深度时改为顶层评论
+                int parent = k > 0 && rng.nextInt(10) < 3 ? k - 1 - rng.nextInt(Math.min(k, 200)) : -1;
+                if (parent >= 0 && depths[parent] >= 8) {
+                    parent = -1;
+                }
+                if (parent >= 0) {
+                    articleIds[k] = articleIds[parent];
+                    paths[k] = paths[parent] + CommentPathGenerator.segment(id);
+                    depths[k] = depths[parent] + 1;
+                    createdAt[k] = createdAt[parent] + rng.nextLong(3 * 24 * 3600_000L);
+                    replies[parent]++;
+                } else {
+                    // 评论集中在少数热门文章上
+                    articleIds[k] = articleBase + 1 + skewedIndex(rng, options.articles, 3.0);
+                    paths[k] = CommentPathGenerator.segment(id);
+                    depths[k] = 0;
+                    createdAt[k] = timestampWithinYears(rng, 3).getTime();
+                }
+                ps.setLong(1, id);
+                ps.setLong(2, articleIds[k]);
+                ps.setLong(3, userBase + 1 + rng.nextLong(options.users));
+                if (parent >= 0) {
+                    ps.setLong(4, base + from + parent + 1);
+                } else {
+                    ps.setNull(4, Types.BIGINT);
+                }
+                ps.setString(5, paths[k]);
+                ps.setInt(6, depths[k]);
+                ps.setString(7, sentence(rng, 5 + rng.nextInt(40)));
+                ps.setTimestamp(8, new Timestamp(createdAt[k]));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            for (int k = 0; k < size; k++) {
+                if (replies[k] > 0) {
+                    repliesPs.setInt(1, replies[k]);
+                    repliesPs.setLong(2, base + from + k + 1);
+                    repliesPs.addBatch();
+                }
+            }
+            repliesPs.executeBatch();
+            connection.commit();
+        }
+    }
+
+    /**
+     * 按文章 ID 区间并行回填 articles.comments_count（评论只落在本次生成的文章上）
+     */
+    private void recountComments(long articleBase) throws Exception {
+        long started = System.nanoTime();
+        updateByIdRange("UPDATE articles SET comments_count = "
+            + "(SELECT COUNT(*) FROM comments c WHERE c.article_id = articles.id) WHERE id > ? AND id <= ?",
+            articleBase, options.articles);
+        log.info("Recounted comments_count for {} articles in {} s", options.articles,
+            String.format("%.1f", (System.nanoTime() - started) / 1e9));
+    }
+
+    /**
+     * 每个用户关注 follows-per-user 个作者。被关注者比文章作者（指数 2.0）更集中，
+     * 头部少数作者的粉丝数超过写扩散阈值；同一用户重复抽到同一作者时由 INSERT IGNORE 跳过
+     */
+    private void insertFollows(long userBase, long from, long to, SplittableRandom rng) throws SQLException {
+        String sql = "INSERT IGNORE INTO user_follows (follower_id, followee_id, created_at) VALUES (?, ?, ?)";
+        try (Connection connection = connect(); PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (long i = from; i < to; i++) {
+                long follower = userBase + 1 + i / options.followsPerUser;
+                long followee = userBase + 1 + skewedIndex(rng, options.users, 3.0);
+                if (followee == follower) {
+                    followee = userBase + 1 + (followee - userBase) % options.users;
+                }
+                ps.setLong(1, follower);
+                ps.setLong(2, followee);
+                ps.setTimestamp(3, timestampWithinYears(rng, 3));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private void recountFollows(long userBase) throws Exception {
+        long started = System.nanoTime();
+        updateByIdRange("UPDATE users SET "
+            + "followers_count = (SELECT COUNT(*) FROM user_follows f WHERE f.followee_id = users.id), "
+            + "following_count = (SELECT COUNT(*) FROM user_follows f WHERE f.follower_id = users.id) "
+            + "WHERE id > ? AND id <= ?",
+            userBase, options.users);
+        log.info("Recounted follow counts for {} users in {} s", options.users,
+            String.format("%.1f", (System.nanoTime() - started) / 1e9));
+    }
+
+    /**
+     * 与 TimelineService.fanOut 相同的 INSERT ... SELECT，按文章 ID 区间并行执行
+     */
+    private void fanOutTimelines(long articleBase) throws Exception {
+        long started = System.nanoTime();
+        updateByIdRange("INSERT INTO timeline_entries (user_id, published_at, article_id, author_id) "
+            + "SELECT f.follower_id, a.published_at, a.id, a.author_id "
+            + "FROM articles a JOIN users u ON u.id = a.author_id JOIN user_follows f ON f.followee_id = a.author_id "
+            + "WHERE a.id > ? AND a.id <= ? AND a.published_at >= ? AND u.followers_count < ?",
+            articleBase, options.articles,
+            Timestamp.valueOf(BASE_TIME.minusDays(options.timelineDays)), options.fanOutThreshold);
+        log.info("Fanned out articles of the last {} days to follower timelines in {} s", options.timelineDays,
+            String.format("%.1f", (System.nanoTime() - started) / 1e9));
+    }
+
+    /**
+     * 按主键区间 (lower, upper] 分块并行执行一条语句，区间上下界为前两个参数，其后依次为 extra
+     */
+    private void updateByIdRange(String sql, long base, long count, Object... extra) throws Exception {
+        long chunkSize = 10_000;
+        List<Future<?>> futures = new ArrayList<>();
+        for (long from = base; from < base + count; from += chunkSize) {
+            long lower = from;
+            long upper = Math.min(from + chunkSize, base + count);
+            futures.add(executor.submit(() -> {
+                try (Connection connection = connect(); PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setLong(1, lower);
+                    ps.setLong(2, upper);
+                    for (int i = 0; i < extra.length; i++) {
+                        ps.setObject(3 + i, extra[i]);
+                    }
+                    ps.executeUpdate();
+                    connection.commit();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void insertFeedbacks(long base, long from, long to, SplittableRandom rng) throws SQLException {
+        String sql = "INSERT INTO feedbacks (id, email, content_html, status, created_at) VALUES (?, ?, ?, ?, ?)";
+        try (Connection connection = connect(); PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (long i = from; i < to; i++) {
+                long id = base + i + 1;
+                ps.setLong(1, id);
+                ps.setString(2, "feedback_" + id + "@load.test");
+                ps.setString(3, sentence(rng, 10 + rng.nextInt(60)));
+                ps.setString(4, rng.nextInt(4) == 0 ? "READ" : "NEW");
+                ps.setTimestamp(5, timestampWithinYears(rng, 1));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    // ==================== 分块并行执行 ====================
+
+    /**
+     * 单个数据块的生成逻辑
+     */
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(long chunk, long from, long to, SplittableRandom rng) throws Exception;
+    }
+
+    /**
+     * 将 total 行数据按 batchSize 分块并行写入
+     */
+    private void phase(String name, long total, ChunkWriter writer) throws Exception {
+        Entity entity = Entity.valueOf(name.toUpperCase());
+        long started = System.nanoTime();
+        long chunks = (total + options.batchSize - 1) / options.batchSize;
+        List<Future<?>> futures = new ArrayList<>();
+        for (long chunk = 0; chunk < chunks; chunk++) {
+            long from = chunk * options.batchSize;
+            long to = Math.min(total, from + options.batchSize);
+            long chunkIndex = chunk;
+            futures.add(executor.submit(() -> {
+                writer.write(chunkIndex, from, to, new SplittableRandom(chunkSeed(entity, chunkIndex)));
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Inserted {} {} in {} s ({} rows/s)", total, name,
+            String.format("%.1f", seconds), String.format("%.0f", total / Math.max(seconds, 1e-9)));
+    }
+
+    /**
+     * 由 seed、实体类型和块序号派生块种子（SplitMix64 混淆）
+     */
+    private long chunkSeed(Entity entity, long chunk) {
+        long z = options.seed + 0x9E3779B97F4A7C15L * (entity.ordinal() + 1) + 0xBF58476D1CE4E5B9L * chunk;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // ==================== 数据库辅助方法 ====================
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(options.url, options.user, options.password);
+        connection.setAutoCommit(false);
+        if (isMySql()) {
+            // 会话级别关闭约束检查，每个生成连接都需要设置
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+                statement.execute("SET UNIQUE_CHECKS = 0");
+            }
+        }
+        return connection;
+    }
+
+    private boolean isMySql() {
+        return options.url.startsWith("jdbc:mysql:");
+    }
+
+    /**
+     * H2 的引用完整性检查是数据库级别的开关，在生成前后统一切换
+     */
+    private void setConstraintChecks(boolean enabled) throws SQLException {
+        if (options.url.startsWith("jdbc:h2:")) {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("SET REFERENTIAL_INTEGRITY " + (enabled ? "TRUE" : "FALSE"));
+                connection.commit();
+            }
+        }
+    }
+
+    /**
+     * 显式写入主键后 H2 不会推进自增序列，需要手动重置（MySQL 会自动推进 AUTO_INCREMENT）
+     */
+    private void restartIdentities() throws SQLException {
+        if (!options.url.startsWith("jdbc:h2:")) {
+            return;
+        }
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (String table : new String[] {"users", "articles", "comments", "feedbacks"}) {
+                long next = maxId(table) + 1;
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+            }
+            connection.commit();
+        }
+    }
+
+    /**
+     * 从 id_sequences 预留 count 个连续主键（不低于 MAX(id) + 1），返回 base，生成的主键为 base + 1 .. base + count
+     */
+    private long reserveIds(String table, long count) throws SQLException {
+        long floor = maxId(table) + 1;
+        try (Connection connection = connect()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS id_sequences ("
+                    + "sequence_name VARCHAR(64) NOT NULL PRIMARY KEY, next_val BIGINT NOT NULL)");
+            }
+            Long current = null;
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT next_val FROM id_sequences WHERE sequence_name = ? FOR UPDATE")) {
+                select.setString(1, table);
+                try (ResultSet rs = select.executeQuery()) {
+                    if (rs.next()) {
+                        current = rs.getLong(1);
+                    }
+                }
+            }
+            long start = current == null ? floor : Math.max(current, floor);
+            String sql = current == null
+                ? "INSERT INTO id_sequences (next_val, sequence_name) VALUES (?, ?)"
+                : "UPDATE id_sequences SET next_val = ? WHERE sequence_name = ?";
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setLong(1, start + count);
+                ps.setString(2, table);
+                ps.executeUpdate();
+            }
+            connection.commit();
+            return start - 1;
+        }
+    }
+
+    private long maxId(String table) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * 确保标签存在并返回其 ID（按 TAG_NAMES 顺序）
+     */
+    private long[] ensureTags() throws SQLException {
+        long[] ids = new long[TAG_NAMES.length];
+        try (Connection connection = connect()) {
+            for (int i = 0; i < TAG_NAMES.length; i++) {
+                ids[i] = findTag(connection, TAG_NAMES[i]);
+                if (ids[i] == 0) {
+                    try (PreparedStatement ps = connection.prepareStatement(
+                            "INSERT INTO tags (name, color) VALUES (?, ?)")) {
+                        ps.setString(1, TAG_NAMES[i]);
+                        ps.setString(2, TAG_COLORS[i % TAG_COLORS.length]);
+                        ps.executeUpdate();
+                    }
+                    ids[i] = findTag(connection, TAG_NAMES[i]);
+                }
+            }
+            connection.commit();
+        }
+        return ids;
+    }
+
+    private long findTag(Connection connection, String name) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT id FROM tags WHERE name = ?")) {
+            ps.setString(1, name);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * 清空数据库并执行 db/migration 下的全部 Flyway 迁移（与应用启动时的表结构和演示数据一致）
+     */
+    private void initSchema() {
+        Flyway flyway = Flyway.configure()
+            .dataSource(options.url, options.user, options.password)
+            .locations("classpath:db/migration")
+            .cleanDisabled(false)
+            .load();
+        flyway.clean();
+        flyway.migrate();
+        log.info("Schema initialized from Flyway migrations");
+    }
+
+    // ==================== 随机数据辅助方法 ====================
+
+    /**
+     * 生成大小服从对数正态分布的 HTML 正文（中位数约 4KB，长尾可达数百 KB）
+     */
+    private static String contentHtml(SplittableRandom rng) {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - rng.nextDouble())) * Math.cos(2 * Math.PI * rng.nextDouble());
+        int targetLength = (int) Math.min(400_000, Math.max(200, Math.exp(Math.log(4000) + 0.9 * gaussian)));
+        StringBuilder html = new StringBuilder(targetLength + 256);
+        while (html.length() < targetLength) {
+            if (rng.nextInt(6) == 0) {
+                html.append("<h2>").append(capitalize(sentence(rng, 3 + rng.nextInt(4)))).append("</h2>");
+            }
+            html.append("<p>").append(capitalize(sentence(rng, 20 + rng.nextInt(60)))).append("</p>");
+            if (rng.nextInt(10) == 0) {
+                html.append("<pre><code>const ").append(WORDS[rng.nextInt(WORDS.length)])
+                    .append(" = fetch('/api/articles');</code></pre>");
+            }
+        }
+        return html.toString();
+    }
+
+    private static String sentence(SplittableRandom rng, int words) {
+        StringBuilder sb = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[rng.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private static String truncate(String text, int maxLength) {
+        return text.length() <= maxLength ? text : text.substring(0, maxLength);
+    }
+
+    private static Timestamp timestampWithinYears(SplittableRandom rng, int years) {
+        long seconds = rng.nextLong(years * 365L * 24 * 3600);
+        return Timestamp.valueOf(BASE_TIME.minusSeconds(seconds));
+    }
+
+    /**
+     * 固定的基准时间，保证同一 seed 在不同日期运行的结果一致
+     */
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    /**
+     * 偏斜采样：返回 [0, n) 中的下标，exponent 越大越集中于小下标
+     */
+    private static long skewedIndex(SplittableRandom rng, long n, double exponent) {
+        return Math.min(n - 1, (long) (n * Math.pow(rng.nextDouble(), exponent)));
+    }
+
+    private static double[] zipfCdf(int n, double s) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, s);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int sampleCdf(double[] cdf, double u) {
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean contains(long[] values, int count, long value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== 命令行参数 ====================
+
+    /**
+     * 生成参数（--key=value 形式）
+     */
+    static final class Options {
+        String url = "jdbc:h2:file:./target/loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+        String user = "sa";
+        String password = "";
+        long seed = 42;
+        long users = 100_000;
+        long articles = 1_000_000;
+        long comments = 10_000_000;
+        long feedbacks = 1_000_000;
+        long followsPerUser = 20;
+        int timelineDays = 30;
+        int fanOutThreshold = 10_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int batchSize = 1_000;
+        boolean initSchema = false;
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Unexpected argument: " + arg);
+                }
+                int eq = arg.indexOf('=');
+                values.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+            }
+            Options options = new Options();
+            double scale = Double.parseDouble(values.getOrDefault("scale", "1"));
+            options.url = values.getOrDefault("url", options.url);
+            options.user = values.getOrDefault("user", options.user);
+            options.password = values.getOrDefault("password", options.password);
+            options.seed = Long.parseLong(values.getOrDefault("seed", String.valueOf(options.seed)));
+            options.users = scaled(values, "users", options.users, scale);
+            options.articles = scaled(values, "articles", options.articles, scale);
+            options.comments = scaled(values, "comments", options.comments, scale);
+            options.feedbacks = scaled(values, "feedbacks", options.feedbacks, scale);
+            options.followsPerUser = Long.parseLong(
+                values.getOrDefault("follows-per-user", String.valueOf(options.followsPerUser)));
+            options.timelineDays = Integer.parseInt(values.getOrDefault("timeline-days", String.valueOf(options.timelineDays)));
+            options.fanOutThreshold = Integer.parseInt(
+                values.getOrDefault("fan-out-threshold", String.valueOf(options.fanOutThreshold)));
+            options.threads = Integer.parseInt(values.getOrDefault("threads", String.valueOf(options.threads)));
+            options.batchSize = Integer.parseInt(values.getOrDefault("batch-size", String.valueOf(options.batchSize)));
+            options.initSchema = Boolean.parseBoolean(values.getOrDefault("init-schema", "false"));
+            return options;
+        }
+
+        private static long scaled(Map<String, String> values, String key, long defaultValue, double scale) {
+            return values.containsKey(key)
+                ? Long.parseLong(values.get(key))
+                : Math.max(1, Math.round(defaultValue * scale));
+        }
+
+        @Override
+        public String toString() {
+            return "url=" + url + ", seed=" + seed + ", users=" + users + ", articles=" + articles
+                + ", comments=" + comments + ", followsPerUser=" + followsPerUser + ", feedbacks=" + feedbacks
+                + ", threads=" + threads + ", batchSize=" + batchSize;
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.xssblog.backend.tools.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 端到端 HTTP 压测工具
+ *
+ * 以开放模型（固定到达率）驱动正在运行的后端，按场景权重混合发送请求，
+ * 使用 HdrHistogram 统计各场景的延迟分位数，结果以 JSON 输出便于多次运行对比。
+ *
+ * 避免协调遗漏（coordinated omission）：
+ * - 每个请求的计划发送时间由到达率预先确定（t0 + i / rate），与响应快慢无关
+ * - 延迟从计划发送时间开始计算，服务端变慢时排队时间会如实计入
+ *
+ * 场景：
+ * - feed：匿名浏览文章列表
+ * - detail：文章详情 + 评论列表（两个请求串行，记录整体延迟）
+ * - login：登录风暴
+ * - comment：登录用户发表评论
+ * - feedback：匿名提交反馈
+ *
+ * 运行示例（先在本地启动后端，可配合 SyntheticDataGenerator 生成的数据）：
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dexec.args="--rate=300 --duration=60 --mix=feed:50,detail:30,login:5,comment:10,feedback:5"
+ * </pre>
+ */
+public class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    /**
+     * 延迟直方图可记录的最大值（微秒）
+     */
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    /**
+     * 压测场景
+     */
+    enum Scenario { FEED, DETAIL, LOGIN, COMMENT, FEEDBACK }
+
+    /**
+     * 单个场景的统计
+     */
+    static final class ScenarioStats {
+        final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+    }
+
+    private final Options options;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong saturated = new AtomicLong();
+    private final List<String> tokens = new ArrayList<>();
+
+    public LoadTestRunner(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(options.ioThreads))
+            .build();
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new ScenarioStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        LoadTestRunner runner = new LoadTestRunner(options);
+        runner.prepareTokens();
+        runner.run(options.warmupSeconds, false);
+        runner.resetStats();
+        runner.run(options.durationSeconds, true);
+        runner.writeReport();
+        System.exit(0);
+    }
+
+    /**
+     * 为评论场景预先登录一批用户，获取 JWT
+     */
+    void prepareTokens() throws Exception {
+        for (int i = 0; i < options.commentUsers; i++) {
+            String username = options.username(i);
+            HttpResponse<String> response = client.send(loginRequest(username), HttpResponse.BodyHandlers.ofString());
+            String token = extractToken(response);
+            if (token != null) {
+                tokens.add(token);
+            }
+        }
+        log.info("Prepared {} tokens for comment scenario", tokens.size());
+        if (tokens.isEmpty() && options.mix.containsKey(Scenario.COMMENT)) {
+            throw new IllegalStateException("No user could log in; comment scenario cannot run");
+        }
+    }
+
+    /**
+     * 以固定到达率运行指定时长
+     *
+     * @param seconds 运行时长（秒）
+     * @param record 是否为正式测量阶段
+     */
+    void run(int seconds, boolean record) throws Exception {
+        if (seconds <= 0) {
+            return;
+        }
+        log.info("{} phase: {} req/s for {} s", record ? "Measurement" : "Warm-up", options.rate, seconds);
+        SplittableRandom rng = new SplittableRandom(options.seed + (record ? 1 : 0));
+        Scenario[] wheel = options.scenarioWheel();
+        long intervalNanos = (long) (1e9 / options.rate);
+        long total = (long) options.rate * seconds;
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+
+        for (long i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = wheel[rng.nextInt(wheel.length)];
+            if (inFlight.get() >= options.maxInFlight) {
+                // 压测端自身已饱和：如实记为错误而不是推迟发送，避免掩盖服务端排队
+                saturated.incrementAndGet();
+                stats.get(scenario).errors.incrementAndGet();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            CompletableFuture<Boolean> future = execute(scenario, rng.split());
+            pending.add(future.whenComplete((ok, error) -> {
+                inFlight.decrementAndGet();
+                long latencyMicros = (System.nanoTime() - intendedStart) / 1_000;
+                ScenarioStats scenarioStats = stats.get(scenario);
+                scenarioStats.histogram.recordValue(Math.min(latencyMicros, MAX_LATENCY_MICROS));
+                if (error != null || !Boolean.TRUE.equals(ok)) {
+                    scenarioStats.errors.incrementAndGet();
+                }
+            }));
+            if (pending.size() >= 10_000) {
+                pending.removeIf(CompletableFuture::isDone);
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+            .handle((ignored, error) -> null)
+            .get(options.timeoutSeconds * 2L, TimeUnit.SECONDS);
+    }
+
+    void resetStats() {
+        stats.values().forEach(s -> {
+            s.histogram.reset();
+            s.errors.set(0);
+        });
+        saturated.set(0);
+    }
+
+    // ==================== 场景实现 ====================
+
+    private CompletableFuture<Boolean> execute(Scenario scenario, SplittableRandom rng) {
+        return switch (scenario) {
+            case FEED -> send(get("/api/articles?page=" + rng.nextInt(options.feedPages) + "&size=10"));
+            case DETAIL -> {
+                long articleId = 1 + rng.nextLong(options.maxArticleId);
+                yield send(get("/api/articles/" + articleId))
+                    .thenCompose(ok -> send(get("/api/articles/" + articleId + "/comments"))
+                        .thenApply(commentsOk -> ok && commentsOk));
+            }
+            case LOGIN -> send(loginRequest(options.username(rng.nextInt(options.loginUsers))));
+            case COMMENT -> {
+                long articleId = 1 + rng.nextLong(options.maxArticleId);
+                String token = tokens.get(rng.nextInt(tokens.size()));
+                yield send(json("/api/articles/" + articleId + "/comments",
+                    "{\"content\":\"load test comment " + rng.nextInt() + "\"}")
+                    // 与前端一致通过 access Cookie 认证：SECURE 模式只认 Cookie，VULN 模式同样接受
+                    .header("Cookie", "access=" + token)
+                    .build());
+            }
+            case FEEDBACK -> send(json("/api/feedback",
+                "{\"email\":\"load" + rng.nextInt(100_000) + "@load.test\",\"content\":\"load test feedback\"}")
+                .build());
+        };
+    }
+
+    private CompletableFuture<Boolean> send(HttpRequest request) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .thenApply(response -> response.statusCode() < 400);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(options.baseUrl + path))
+            .timeout(Duration.ofSeconds(options.timeoutSeconds))
+            .GET()
+            .build();
+    }
+
+    private HttpRequest.Builder json(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(options.baseUrl + path))
+            .timeout(Duration.ofSeconds(options.timeoutSeconds))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private HttpRequest loginRequest(String username) {
+        return json("/api/auth/login",
+            "{\"username\":\"" + username + "\",\"password\":\"" + options.loginPassword + "\"}")
+            .build();
+    }
+
+    /**
+     * SECURE 模式从 access Cookie 读取，VULN 模式从响应体的 accessToken 读取
+     */
+    private String extractToken(HttpResponse<String> response) throws Exception {
+        String cookieToken = response.headers().allValues("Set-Cookie").stream()
+            .filter(cookie -> cookie.startsWith("access="))
+            .map(cookie -> cookie.substring("access=".length(), cookie.indexOf(';') < 0 ? cookie.length() : cookie.indexOf(';')))
+            .findFirst()
+            .orElse(null);
+        if (cookieToken != null || response.statusCode() != 200 || response.body().isEmpty()) {
+            return cookieToken;
+        }
+        JsonNode node = objectMapper.readTree(response.body());
+        return node.path("accessToken").asText(null);
+    }
+
+    // ==================== 结果输出 ====================
+
+    void writeReport() throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("config", options.describe());
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<Scenario, ScenarioStats> entry : stats.entrySet()) {
+            ScenarioStats scenarioStats = entry.getValue();
+            if (scenarioStats.histogram.getTotalCount() == 0 && scenarioStats.errors.get() == 0) {
+                continue;
+            }
+            total.add(scenarioStats.histogram);
+            totalErrors += scenarioStats.errors.get();
+            scenarios.put(entry.getKey().name().toLowerCase(), summarize(scenarioStats.histogram, scenarioStats.errors.get()));
+        }
+        report.put("scenarios", scenarios);
+        report.put("total", summarize(total, totalErrors));
+        report.put("harnessSaturated", saturated.get());
+
+        String json = objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+        Path output = Path.of(options.output);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.writeString(output, json);
+        log.info("Load test report written to {}\n{}", output.toAbsolutePath(), json);
+    }
+
+    private static Map<String, Object> summarize(Histogram histogram, long errors) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("meanMs", round(histogram.getMean() / 1_000.0));
+        summary.put("p50Ms", millis(histogram, 50));
+        summary.put("p90Ms", millis(histogram, 90));
+        summary.put("p99Ms", millis(histogram, 99));
+        summary.put("p999Ms", millis(histogram, 99.9));
+        summary.put("maxMs", round(histogram.getMaxValue() / 1_000.0));
+        return summary;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / 1_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1_000) / 1_000.0;
+    }
+
+    // ==================== 命令行参数 ====================
+
+    /**
+     * 压测参数（--key=value 形式）
+     */
+    static final class Options {
+        String baseUrl = "http://localhost:8080";
+        int rate = 200;
+        int durationSeconds = 60;
+        int warmupSeconds = 10;
+        int timeoutSeconds = 10;
+        int maxInFlight = 2_000;
+        int ioThreads = 8;
+        long seed = 42;
+        long maxArticleId = 4;
+        int feedPages = 10;
+        String userPrefix = "";
+        long userOffset = 0;
+        int loginUsers = 1;
+        int commentUsers = 1;
+        String loginPassword = "Admin#2025";
+        String output = "target/loadtest/report.json";
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+                }
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+            Options options = new Options();
+            options.baseUrl = values.getOrDefault("base-url", options.baseUrl);
+            options.rate = Integer.parseInt(values.getOrDefault("rate", String.valueOf(options.rate)));
+            options.durationSeconds = Integer.parseInt(values.getOrDefault("duration", String.valueOf(options.durationSeconds)));
+            options.warmupSeconds = Integer.parseInt(values.getOrDefault("warmup", String.valueOf(options.warmupSeconds)));
+            options.timeoutSeconds = Integer.parseInt(values.getOrDefault("timeout", String.valueOf(options.timeoutSeconds)));
+            options.maxInFlight = Integer.parseInt(values.getOrDefault("max-in-flight", String.valueOf(options.maxInFlight)));
+            options.ioThreads = Integer.parseInt(values.getOrDefault("io-threads", String.valueOf(options.ioThreads)));
+            options.seed = Long.parseLong(values.getOrDefault("seed", String.valueOf(options.seed)));
+            options.maxArticleId = Long.parseLong(values.getOrDefault("max-article-id", String.valueOf(options.maxArticleId)));
+            options.feedPages = Integer.parseInt(values.getOrDefault("feed-pages", String.valueOf(options.feedPages)));
+            // 配合 SyntheticDataGenerator 生成的 user_N 账号：--user-prefix=user_ --user-offset=3 --login-users=100000
+            options.userPrefix = values.getOrDefault("user-prefix", options.userPrefix);
+            options.userOffset = Long.parseLong(values.getOrDefault("user-offset", String.valueOf(options.userOffset)));
+            options.loginUsers = Integer.parseInt(values.getOrDefault("login-users", String.valueOf(options.loginUsers)));
+            options.commentUsers = Integer.parseInt(values.getOrDefault("comment-users", String.valueOf(options.commentUsers)));
+            options.loginPassword = values.getOrDefault("password", options.loginPassword);
+            options.output = values.getOrDefault("output", options.output);
+            for (String part : values.getOrDefault("mix", "feed:50,detail:30,login:5,comment:10,feedback:5").split(",")) {
+                String[] kv = part.split(":");
+                options.mix.put(Scenario.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+            }
+            return options;
+        }
+
+        /**
+         * 用户名：未指定前缀时使用演示账号 alice，否则为 前缀 + (偏移 + 序号 + 1)
+         * 生成器的用户 ID 接在已有数据之后，例如已有 3 个演示用户时使用 --user-offset=3
+         */
+        String username(int index) {
+            return userPrefix.isEmpty() ? "alice" : userPrefix + (userOffset + index + 1);
+        }
+
+        /**
+         * 按权重展开的场景轮盘，用于 O(1) 随机选择场景
+         */
+        Scenario[] scenarioWheel() {
+            List<Scenario> wheel = new ArrayList<>();
+            mix.forEach((scenario, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    wheel.add(scenario);
+                }
+            });
+            if (wheel.isEmpty()) {
+                throw new IllegalArgumentException("Scenario mix is empty");
+            }
+            return wheel.toArray(Scenario[]::new);
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("baseUrl", baseUrl);
+            config.put("rate", rate);
+            config.put("durationSeconds", durationSeconds);
+            config.put("warmupSeconds", warmupSeconds);
+            config.put("seed", seed);
+            config.put("maxArticleId", maxArticleId);
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            mix.forEach((scenario, weight) -> weights.put(scenario.name().toLowerCase(), weight));
+            config.put("mix", weights);
+            return config;
+        }
+    }
+}
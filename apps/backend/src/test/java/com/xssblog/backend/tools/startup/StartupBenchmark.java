@@ -0,0 +1,239 @@
+package com.xssblog.backend.tools.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 冷启动基准：从启动 JVM 进程到 GET /api/articles 第一次返回 200 的耗时
+ *
+ * 对比三种启动方式（均需先执行 mvn -Pfast-start package）：
+ * - jar：普通可执行 jar（不启用 AOT）
+ * - aot：解压后的 jar + -Dspring.aot.enabled=true
+ * - aot-cds：在 aot 基础上加载训练运行生成的 CDS 归档（-XX:SharedArchiveFile）
+ *
+ * 每种方式启动 --runs 次，每次都是新进程，输出最小值/中位数/最大值，
+ * 同时记录日志中 "Started XSSBlogApplication in N seconds" 的 Spring 自身统计。
+ * 后端依赖的数据库需要提前启动。
+ *
+ * 运行示例：
+ * <pre>
+ * mvn -Pfast-start package -DskipTests
+ * mvn -Pstartup test-compile exec:java -Dexec.args="--runs=5 --modes=jar,aot,aot-cds"
+ * </pre>
+ */
+public class StartupBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupBenchmark.class);
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private final Options options;
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofMillis(500))
+        .build();
+
+    public StartupBenchmark(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new StartupBenchmark(Options.parse(args)).run();
+    }
+
+    /**
+     * 依次测量每种启动方式并输出 JSON 报告
+     */
+    public void run() throws Exception {
+        Map<String, Object> modes = new LinkedHashMap<>();
+        for (String mode : options.modes) {
+            List<String> command = command(mode);
+            if (command == null) {
+                continue;
+            }
+            List<Double> firstResponseMs = new ArrayList<>();
+            List<Double> startedSeconds = new ArrayList<>();
+            for (int run = 1; run <= options.runs; run++) {
+                Path logFile = Path.of(options.outputDir, mode + "-" + run + ".log");
+                Files.createDirectories(logFile.getParent());
+                Measurement measurement = measure(command, logFile);
+                log.info("{} run {}: first /api/articles response after {} ms (Spring reported {} s)",
+                    mode, run, measurement.firstResponseMs, measurement.startedSeconds);
+                firstResponseMs.add(measurement.firstResponseMs);
+                if (measurement.startedSeconds != null) {
+                    startedSeconds.add(measurement.startedSeconds);
+                }
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("command", String.join(" ", command));
+            summary.put("firstResponseMs", summarize(firstResponseMs));
+            summary.put("springStartedSeconds", summarize(startedSeconds));
+            modes.put(mode, summary);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("runs", options.runs);
+        report.put("modes", modes);
+        String json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+        Path output = Path.of(options.outputDir, "report.json");
+        Files.writeString(output, json);
+        log.info("Startup report written to {}\n{}", output.toAbsolutePath(), json);
+    }
+
+    /**
+     * 构造启动命令，所需文件不存在时跳过该方式
+     */
+    private List<String> command(String mode) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options.jvmArgs);
+        command.add("-Dserver.port=" + options.port);
+        String jar;
+        switch (mode) {
+            case "jar" -> jar = options.jar;
+            case "aot" -> {
+                jar = options.extractedJar;
+                command.add("-Dspring.aot.enabled=true");
+            }
+            case "aot-cds" -> {
+                jar = options.extractedJar;
+                if (!Files.exists(Path.of(options.archive))) {
+                    log.warn("Skipping {}: CDS archive {} not found (run mvn -Pfast-start package)", mode, options.archive);
+                    return null;
+                }
+                command.add("-Dspring.aot.enabled=true");
+                command.add("-XX:SharedArchiveFile=" + options.archive);
+            }
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        if (!Files.exists(Path.of(jar))) {
+            log.warn("Skipping {}: {} not found (run mvn -Pfast-start package)", mode, jar);
+            return null;
+        }
+        command.add("-jar");
+        command.add(jar);
+        return command;
+    }
+
+    private Measurement measure(List<String> command, Path logFile) throws Exception {
+        URI uri = URI.create("http://localhost:" + options.port + "/api/articles?page=0&size=1");
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(logFile.toFile())
+            .start();
+        try {
+            long deadline = started + TimeUnit.SECONDS.toNanos(options.timeoutSeconds);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Backend exited with code " + process.exitValue() + ", see " + logFile);
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        double elapsedMs = (System.nanoTime() - started) / 1e6;
+                        return new Measurement(round(elapsedMs), startedSeconds(logFile));
+                    }
+                } catch (IOException e) {
+                    // 端口尚未监听
+                }
+                Thread.sleep(options.pollMillis);
+            }
+            throw new IllegalStateException("Backend did not answer within " + options.timeoutSeconds + " s, see " + logFile);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static Double startedSeconds(Path logFile) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(logFile));
+        return matcher.find() ? Double.valueOf(matcher.group(1)) : null;
+    }
+
+    private static Map<String, Object> summarize(List<Double> values) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (values.isEmpty()) {
+            return summary;
+        }
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        summary.put("min", sorted[0]);
+        summary.put("median", sorted[sorted.length / 2]);
+        summary.put("max", sorted[sorted.length - 1]);
+        summary.put("values", values);
+        return summary;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    private record Measurement(double firstResponseMs, Double startedSeconds) {
+    }
+
+    // ==================== 命令行参数 ====================
+
+    static final class Options {
+        String jar = "target/xss-blog-backend-2.0.0.jar";
+        String extractedJar = "target/fast-start/xss-blog-backend-2.0.0.jar";
+        String archive = "target/fast-start/application.jsa";
+        List<String> modes = List.of("jar", "aot", "aot-cds");
+        List<String> jvmArgs = List.of();
+        int runs = 5;
+        int port = 18080;
+        int timeoutSeconds = 180;
+        int pollMillis = 20;
+        String outputDir = "target/startup";
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+                }
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+            Options options = new Options();
+            options.jar = values.getOrDefault("jar", options.jar);
+            options.extractedJar = values.getOrDefault("extracted-jar", options.extractedJar);
+            options.archive = values.getOrDefault("archive", options.archive);
+            if (values.containsKey("modes")) {
+                options.modes = Arrays.stream(values.get("modes").split(",")).map(String::trim).toList();
+            }
+            // 例如 --jvm-args=-Xmx512m,-XX:TieredStopAtLevel=1
+            if (values.containsKey("jvm-args")) {
+                options.jvmArgs = Arrays.stream(values.get("jvm-args").split(",")).map(String::trim).toList();
+            }
+            options.runs = Integer.parseInt(values.getOrDefault("runs", String.valueOf(options.runs)));
+            options.port = Integer.parseInt(values.getOrDefault("port", String.valueOf(options.port)));
+            options.timeoutSeconds = Integer.parseInt(values.getOrDefault("timeout", String.valueOf(options.timeoutSeconds)));
+            options.pollMillis = Integer.parseInt(values.getOrDefault("poll-millis", String.valueOf(options.pollMillis)));
+            options.outputDir = values.getOrDefault("output-dir", options.outputDir);
+            return options;
+        }
+    }
+}
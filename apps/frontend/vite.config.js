@@ -15,6 +15,14 @@ export default defineConfig({
       '/api': {
         target: 'http://localhost:8080',
         changeOrigin: true
+      },
+      '/snapshots': {
+        target: 'http://localhost:8080',
+        changeOrigin: true
+      },
+      '^/(feed|sitemap.*)\\.xml$': {
+        target: 'http://localhost:8080',
+        changeOrigin: true
       }
     }
   }